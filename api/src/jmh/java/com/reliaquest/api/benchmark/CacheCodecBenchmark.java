@@ -0,0 +1,75 @@
+package com.reliaquest.api.benchmark;
+
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.service.CacheCodec;
+import com.reliaquest.api.service.ValueCompressor;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Encoding and decoding the cached roster with each {@link CacheCodec}, plain and deflated the way
+ * {@code RawRedisCache} stores values above its compression threshold. The value sizes are printed when each
+ * trial starts.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class CacheCodecBenchmark {
+
+    @Param({"100", "10000", "100000", "1000000"})
+    private int size;
+
+    @Param({"json", "binary"})
+    private String codecName;
+
+    private List<Employee> roster;
+    private CacheCodec codec;
+    private final ValueCompressor compressor = new ValueCompressor(1, 1);
+    private byte[] value;
+    private byte[] deflated;
+
+    @Setup
+    public void setUp() throws IOException {
+        roster = Rosters.generate(size);
+        codec = CacheCodec.named(codecName);
+        value = codec.encodeEmployees(roster);
+        deflated = compressor.compress(value);
+        System.out.printf(
+                "%n%s roster of %d employees: %d bytes, %d deflated%n", codecName, size, value.length, deflated.length);
+    }
+
+    @Benchmark
+    public byte[] encode() throws IOException {
+        return codec.encodeEmployees(roster);
+    }
+
+    @Benchmark
+    public List<Employee> decode() throws IOException {
+        return codec.decodeEmployees(value);
+    }
+
+    @Benchmark
+    public byte[] encodeAndDeflate() throws IOException {
+        return compressor.compress(codec.encodeEmployees(roster));
+    }
+
+    @Benchmark
+    public List<Employee> inflateAndDecode() throws IOException {
+        return codec.decodeEmployees(compressor.decompress(deflated));
+    }
+}
@@ -0,0 +1,118 @@
+package com.reliaquest.api.benchmark;
+
+import com.reliaquest.api.controller.EmployeeController;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeInput;
+import com.reliaquest.api.service.EmployeeIndex;
+import com.reliaquest.api.service.EmployeeService;
+import java.lang.reflect.Field;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * The search, top ten and highest salary endpoints of {@link EmployeeController}, served from an already built
+ * {@link EmployeeIndex}, next to the full-roster stream computations they replaced ({@code *Scan}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class EmployeeAnalyticsBenchmark {
+
+    @Param({"100", "10000", "100000", "1000000"})
+    private int size;
+
+    private List<Employee> roster;
+    private String fragment;
+    private EmployeeController controller;
+
+    @Setup
+    public void setUp() throws ReflectiveOperationException {
+        roster = Rosters.generate(size);
+        fragment = Rosters.searchFragment(roster);
+        controller = new EmployeeController();
+        Field service = EmployeeController.class.getDeclaredField("employeeService");
+        service.setAccessible(true);
+        service.set(controller, new IndexOnlyEmployeeService(new EmployeeIndex(roster)));
+    }
+
+    @Benchmark
+    public ResponseEntity<List<Employee>> search() {
+        return controller.getEmployeesByNameSearch(fragment);
+    }
+
+    @Benchmark
+    public List<Employee> searchScan() {
+        return roster.stream()
+                .filter(employee -> employee.getEmployee_name().toLowerCase().contains(fragment.toLowerCase()))
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public ResponseEntity<List<String>> topTen() {
+        return controller.getTopTenHighestEarningEmployeeNames();
+    }
+
+    @Benchmark
+    public List<String> topTenScan() {
+        return roster.stream()
+                .sorted(Comparator.comparingInt(Employee::getEmployee_salary).reversed())
+                .limit(10)
+                .map(Employee::getEmployee_name)
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public ResponseEntity<Integer> highestSalary() {
+        return controller.getHighestSalaryOfEmployees();
+    }
+
+    @Benchmark
+    public int highestSalaryScan() {
+        return roster.stream().mapToInt(Employee::getEmployee_salary).max().orElse(0);
+    }
+
+    // Hands the controller a prebuilt index, so only the endpoint's own work is measured
+    private record IndexOnlyEmployeeService(EmployeeIndex index) implements EmployeeService {
+        @Override
+        public ResponseEntity<EmployeeIndex> getEmployeeIndex() {
+            return ResponseEntity.ok(index);
+        }
+
+        @Override
+        public ResponseEntity<List<Employee>> getAllEmployees() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public ResponseEntity<Employee> getEmployeeById(String id) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public ResponseEntity<Employee> createEmployee(EmployeeInput employeeInput) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public ResponseEntity<String> deleteEmployeeById(String id) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
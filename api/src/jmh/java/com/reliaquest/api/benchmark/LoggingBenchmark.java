@@ -0,0 +1,205 @@
+package com.reliaquest.api.benchmark;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.OutputStreamAppender;
+import com.reliaquest.api.config.RequestLogConfig;
+import com.reliaquest.api.config.RequestLogSampler;
+import com.reliaquest.api.controller.EmployeeController;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeInput;
+import com.reliaquest.api.service.EmployeeIndex;
+import com.reliaquest.api.service.EmployeeService;
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Field;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * {@code GET /api/v1/employees/{id}} and {@code GET /api/v1/employees/search/{searchString}} through the request log
+ * filter of {@link RequestLogConfig} and {@link EmployeeController}, over a service that answers from memory so only
+ * the application's own work, logging included, is measured. Logback is set up for each trial as one of two
+ * configurations, formatting to a discarding stream:
+ *
+ * <ul>
+ *   <li>{@code old}: {@code com.reliaquest.api} at debug, written on the request thread, every request logged at
+ *       info, as the controllers did before request lines were sampled.
+ *   <li>{@code new}: the defaults of application.yml and logback-spring.xml, info level, the same AsyncAppender, and
+ *       1% of requests logged.
+ * </ul>
+ *
+ * <p>Eight threads serve at once to stand in for concurrent requests; run with {@code -PjmhProfilers=gc} for
+ * allocation rates. An async appender at debug level would fill its queue at this rate and then discard lines.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@Threads(8)
+public class LoggingBenchmark {
+    private static final String PATTERN = "%d{yyyy-MM-dd'T'HH:mm:ss.SSSXXX} %5p --- [%t] %-40.40logger{39} : %m%n";
+    private static final int ROSTER_SIZE = 1000;
+
+    @Param({"old", "new"})
+    private String config;
+
+    private LoggerContext context;
+    private Filter requestLog;
+    private EmployeeController controller;
+    private List<Employee> roster;
+    private String fragment;
+
+    // One request and response per benchmark thread, reused across invocations like a servlet container's
+    @State(Scope.Thread)
+    public static class Exchange {
+        String id;
+        MockHttpServletRequest byId;
+        MockHttpServletResponse byIdResponse;
+        MockHttpServletRequest search;
+        MockHttpServletResponse searchResponse;
+
+        @Setup
+        public void setUp(LoggingBenchmark benchmark) {
+            id = benchmark.roster.get(ROSTER_SIZE / 2).getId();
+            byId = request("/api/v1/employees/" + id, "/api/v1/employees/{id}");
+            byIdResponse = new MockHttpServletResponse();
+            search = request(
+                    "/api/v1/employees/search/" + benchmark.fragment, "/api/v1/employees/search/{searchString}");
+            searchResponse = new MockHttpServletResponse();
+        }
+
+        private static MockHttpServletRequest request(String path, String route) {
+            MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+            request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, route);
+            return request;
+        }
+    }
+
+    @Setup
+    public void setUp() throws ReflectiveOperationException {
+        boolean old = config.equals("old");
+        context = (LoggerContext) LoggerFactory.getILoggerFactory();
+        context.reset();
+
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern(PATTERN);
+        encoder.start();
+        OutputStreamAppender<ILoggingEvent> console = new OutputStreamAppender<>();
+        console.setContext(context);
+        console.setName("console");
+        console.setEncoder(encoder);
+        console.setOutputStream(OutputStream.nullOutputStream());
+        console.start();
+
+        Appender<ILoggingEvent> root = console;
+        if (!old) { // As in logback-spring.xml
+            AsyncAppender async = new AsyncAppender();
+            async.setContext(context);
+            async.setName("async-console");
+            async.setQueueSize(8192);
+            async.setNeverBlock(true);
+            async.addAppender(console);
+            async.start();
+            root = async;
+        }
+        ch.qos.logback.classic.Logger rootLogger = context.getLogger(Logger.ROOT_LOGGER_NAME);
+        rootLogger.setLevel(Level.INFO);
+        rootLogger.addAppender(root);
+        context.getLogger("com.reliaquest.api").setLevel(old ? Level.DEBUG : Level.INFO);
+
+        roster = Rosters.generate(ROSTER_SIZE);
+        fragment = Rosters.searchFragment(roster);
+        requestLog = new RequestLogConfig().requestLogFilter(new RequestLogSampler(old ? 1 : 0.01, 1000));
+        controller = new EmployeeController();
+        Field service = EmployeeController.class.getDeclaredField("employeeService");
+        service.setAccessible(true);
+        service.set(controller, new InMemoryEmployeeService(new EmployeeIndex(roster)));
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.stop();
+    }
+
+    @Benchmark
+    public int getEmployeeById(Exchange exchange) throws IOException, ServletException {
+        return serve(exchange.byId, exchange.byIdResponse, () -> controller.getEmployeeById(exchange.id));
+    }
+
+    @Benchmark
+    public int search(Exchange exchange) throws IOException, ServletException {
+        return serve(exchange.search, exchange.searchResponse, () -> controller.getEmployeesByNameSearch(fragment));
+    }
+
+    // Runs the handler inside the request log filter, setting the response status the way the dispatcher would
+    private int serve(
+            MockHttpServletRequest request, MockHttpServletResponse response, Supplier<ResponseEntity<?>> handler)
+            throws IOException, ServletException {
+        FilterChain chain =
+                (req, res) -> response.setStatus(handler.get().getStatusCode().value());
+        requestLog.doFilter(request, response, chain);
+        return response.getStatus();
+    }
+
+    // Answers from a prebuilt index and roster, so no upstream or Redis work is timed
+    private record InMemoryEmployeeService(EmployeeIndex index) implements EmployeeService {
+        @Override
+        public ResponseEntity<EmployeeIndex> getEmployeeIndex() {
+            return ResponseEntity.ok(index);
+        }
+
+        @Override
+        public ResponseEntity<Employee> getEmployeeById(String id) {
+            Employee employee = index.get(id);
+            return employee != null
+                    ? ResponseEntity.ok(employee)
+                    : ResponseEntity.notFound().build();
+        }
+
+        @Override
+        public ResponseEntity<List<Employee>> getAllEmployees() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public ResponseEntity<Employee> createEmployee(EmployeeInput employeeInput) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public ResponseEntity<String> deleteEmployeeById(String id) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.reliaquest.api.benchmark;
+
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.service.BinaryCacheCodec;
+import com.reliaquest.api.service.RespCodec;
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * The Redis traffic of caching a roster: encoding the pipelined {@code SET} of every employee, decoding the
+ * {@code +OK} replies to that pipeline, and decoding the bulk reply that carries the whole cached roster.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class RespCodecBenchmark {
+
+    @Param({"100", "10000", "100000", "1000000"})
+    private int size;
+
+    private String[] keys;
+    private byte[][] values;
+    private ByteBuffer okReplies;
+    private ByteBuffer rosterReply;
+
+    @Setup
+    public void setUp() {
+        List<Employee> roster = Rosters.generate(size);
+        BinaryCacheCodec codec = new BinaryCacheCodec();
+        keys = new String[size];
+        values = new byte[size][];
+        for (int i = 0; i < size; i++) {
+            keys[i] = "employeeById:" + roster.get(i).getId();
+            values[i] = codec.encodeEmployee(roster.get(i));
+        }
+
+        okReplies = ByteBuffer.wrap("+OK\r\n".repeat(size).getBytes(StandardCharsets.US_ASCII));
+
+        byte[] value = codec.encodeEmployees(roster);
+        ByteArrayOutputStream reply = new ByteArrayOutputStream(value.length + 16);
+        reply.writeBytes(("$" + value.length + "\r\n").getBytes(StandardCharsets.US_ASCII));
+        reply.writeBytes(value);
+        reply.writeBytes("\r\n".getBytes(StandardCharsets.US_ASCII));
+        rosterReply = ByteBuffer.wrap(reply.toByteArray());
+    }
+
+    @Benchmark
+    public int encodeSetPipeline() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(size * 64);
+        for (int i = 0; i < size; i++) {
+            RespCodec.encodeCommand(out, "SET", keys[i], values[i], "PX", 900000L);
+        }
+        return out.size();
+    }
+
+    @Benchmark
+    public void decodePipelineReplies(Blackhole blackhole) {
+        okReplies.rewind();
+        for (int i = 0; i < size; i++) {
+            blackhole.consume(RespCodec.decode(okReplies));
+        }
+    }
+
+    @Benchmark
+    public Object decodeRosterReply() {
+        rosterReply.rewind();
+        return RespCodec.decode(rosterReply);
+    }
+}
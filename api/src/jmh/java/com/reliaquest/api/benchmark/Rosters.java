@@ -0,0 +1,43 @@
+package com.reliaquest.api.benchmark;
+
+import com.reliaquest.api.model.Employee;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+/** Rosters shaped like the mock server's: UUID ids, random names, a few dozen titles and a handful of email domains. */
+final class Rosters {
+    private Rosters() {}
+
+    static List<Employee> generate(int size) {
+        Random random = new Random(7); // Every benchmark sees the same roster for a given size
+        List<Employee> roster = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            String first = word(random);
+            String last = word(random);
+            roster.add(new Employee(
+                    new UUID(random.nextLong(), random.nextLong()).toString(),
+                    first + " " + last,
+                    30_000 + random.nextInt(200_000),
+                    18 + random.nextInt(50),
+                    "Title " + random.nextInt(40),
+                    first.toLowerCase() + "." + last.toLowerCase() + "@company" + random.nextInt(5) + ".com"));
+        }
+        return roster;
+    }
+
+    /** A five letter fragment of a name in the roster, in upper case, like a user's search. */
+    static String searchFragment(List<Employee> roster) {
+        String name = roster.get(roster.size() / 2).getEmployee_name();
+        return name.substring(1, 6).toUpperCase();
+    }
+
+    private static String word(Random random) {
+        StringBuilder word = new StringBuilder().append((char) ('A' + random.nextInt(26)));
+        for (int length = 4 + random.nextInt(6); length > 0; length--) {
+            word.append((char) ('a' + random.nextInt(26)));
+        }
+        return word.toString();
+    }
+}
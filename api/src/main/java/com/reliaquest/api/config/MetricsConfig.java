@@ -0,0 +1,168 @@
+package com.reliaquest.api.config;
+
+import com.reliaquest.api.service.AdaptiveRateLimiter;
+import com.reliaquest.api.service.EmployeeServiceImpl;
+import com.reliaquest.api.service.NearCache;
+import com.reliaquest.api.service.RawRedisCache;
+import com.reliaquest.api.service.RedisConnectionPool;
+import com.reliaquest.api.service.RequestHedger;
+import com.reliaquest.api.service.ValueCompressor;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.config.MeterFilter;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Publishes the counters the cache and upstream guards already keep (near cache, Redis pool, compression, hedging,
+ * rate limiting, upstream connection pool) as meters. They are read when metrics are scraped, so none of this adds
+ * work to a request. A component that is switched off reports NaN.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public MeterBinder employeeApiStatsMetrics(
+            ObjectProvider<RawRedisCache> rawRedisCache,
+            ObjectProvider<EmployeeServiceImpl> employeeService,
+            UpstreamPoolMonitor upstreamPoolMonitor) {
+        return registry -> {
+            RawRedisCache cache = rawRedisCache.getIfAvailable();
+            if (cache != null) {
+                bindNearCache(registry, cache::getNearCacheStats);
+                bindRedisPool(registry, cache::getPoolStats);
+                bindCompression(registry, cache::getCompressionStats);
+            }
+            EmployeeServiceImpl service = employeeService.getIfAvailable();
+            if (service != null) {
+                bindHedging(registry, service::getHedgeStats);
+                bindRateLimiter(registry, service::getRateLimiterStats);
+            }
+            bindUpstreamPool(registry, upstreamPoolMonitor::getPoolStats);
+        };
+    }
+
+    // employee.upstream.requests already times every upstream attempt with bounded tags, where the RestTemplate's own
+    // meter would tag each employee id's URL separately. Its observation still produces the client spans.
+    @Bean
+    public MeterFilter upstreamClientRequestsFilter() {
+        return MeterFilter.denyNameStartsWith("http.client.requests");
+    }
+
+    private static void bindNearCache(MeterRegistry registry, Supplier<NearCache.Stats> stats) {
+        gauge(registry, "employee.cache.near.size", "Entries held on-heap", stats, NearCache.Stats::size);
+        gauge(registry, "employee.cache.near.weight", "Serialized bytes held on-heap", stats, NearCache.Stats::weight);
+        counter(registry, "employee.cache.near.hits", "Near-cache hits", stats, NearCache.Stats::hits);
+        counter(registry, "employee.cache.near.misses", "Near-cache misses", stats, NearCache.Stats::misses);
+        counter(registry, "employee.cache.near.evictions", "Near-cache evictions", stats, NearCache.Stats::evictions);
+    }
+
+    private static void bindRedisPool(MeterRegistry registry, Supplier<RedisConnectionPool.PoolStats> stats) {
+        gauge(registry, "redis.pool.active", "Connections borrowed", stats, RedisConnectionPool.PoolStats::active);
+        gauge(registry, "redis.pool.idle", "Connections ready for reuse", stats, RedisConnectionPool.PoolStats::idle);
+        counter(registry, "redis.pool.borrow.timeouts", "Borrows that gave up waiting", stats, s -> s.borrowTimeouts());
+        counter(
+                registry,
+                "redis.pool.health.check.failures",
+                "Idle connections that failed their PING",
+                stats,
+                s -> s.healthCheckFailures());
+    }
+
+    private static void bindCompression(MeterRegistry registry, Supplier<ValueCompressor.Stats> stats) {
+        counter(
+                registry,
+                "employee.cache.compressed",
+                "Values stored deflated",
+                stats,
+                ValueCompressor.Stats::compressed);
+        counter(
+                registry,
+                "employee.cache.compression.saved.bytes",
+                "Bytes saved by deflating",
+                stats,
+                ValueCompressor.Stats::bytesSaved);
+    }
+
+    private static void bindHedging(MeterRegistry registry, Supplier<RequestHedger.Stats> stats) {
+        gauge(
+                registry,
+                "employee.upstream.hedge.delay.ms",
+                "Current hedge delay",
+                stats,
+                RequestHedger.Stats::hedgeDelayMs);
+        counter(registry, "employee.upstream.hedged", "Lookups that sent a hedged request", stats, s -> s.hedged());
+        counter(
+                registry,
+                "employee.upstream.hedge.wins",
+                "Hedged requests that answered first",
+                stats,
+                s -> s.hedgeWins());
+    }
+
+    private static void bindRateLimiter(MeterRegistry registry, Supplier<AdaptiveRateLimiter.Stats> stats) {
+        gauge(
+                registry,
+                "employee.upstream.rate.limit",
+                "Permitted requests per second",
+                stats,
+                AdaptiveRateLimiter.Stats::rate);
+        counter(registry, "employee.upstream.throttled", "429s received", stats, s -> s.throttled());
+        counter(
+                registry,
+                "employee.upstream.rate.limited",
+                "Calls rejected by the rate limiter",
+                stats,
+                s -> s.rejected());
+    }
+
+    private static void bindUpstreamPool(MeterRegistry registry, Supplier<UpstreamPoolMonitor.PoolStats> stats) {
+        gauge(
+                registry,
+                "employee.upstream.pool.leased",
+                "Connections in use",
+                stats,
+                UpstreamPoolMonitor.PoolStats::leased);
+        gauge(
+                registry,
+                "employee.upstream.pool.pending",
+                "Requests waiting for a connection",
+                stats,
+                UpstreamPoolMonitor.PoolStats::pending);
+        gauge(registry, "employee.upstream.pool.max", "Pool size", stats, UpstreamPoolMonitor.PoolStats::max);
+    }
+
+    private static <S> void gauge(
+            MeterRegistry registry,
+            String name,
+            String description,
+            Supplier<S> stats,
+            Function<S, ? extends Number> value) {
+        Gauge.builder(name, stats, read(value)).description(description).register(registry);
+    }
+
+    private static <S> void counter(
+            MeterRegistry registry,
+            String name,
+            String description,
+            Supplier<S> stats,
+            Function<S, ? extends Number> value) {
+        FunctionCounter.builder(name, stats, read(value))
+                .description(description)
+                .register(registry);
+    }
+
+    // Stats getters return null while the component is disabled
+    private static <S> ToDoubleFunction<Supplier<S>> read(Function<S, ? extends Number> value) {
+        return supplier -> {
+            S stats = supplier.get();
+            return stats != null ? value.apply(stats).doubleValue() : Double.NaN;
+        };
+    }
+}
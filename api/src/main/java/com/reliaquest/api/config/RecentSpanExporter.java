@@ -0,0 +1,121 @@
+package com.reliaquest.api.config;
+
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+
+/**
+ * Exports finished spans without a collector: the most recent ones are kept in memory and served at
+ * {@code /actuator/spans} (one trace at {@code /actuator/spans/{traceId}}), and each one is logged at debug level.
+ * Older spans are dropped once {@code capacity} are held.
+ */
+@Endpoint(id = "spans")
+public class RecentSpanExporter implements SpanExporter {
+    private static final Logger logger = LoggerFactory.getLogger(RecentSpanExporter.class);
+
+    private final int capacity;
+    private final ArrayDeque<RecentSpan> spans = new ArrayDeque<>();
+
+    /** A finished span; {@code parentSpanId} is null for the root of a trace. */
+    public record RecentSpan(
+            String traceId,
+            String spanId,
+            String parentSpanId,
+            String name,
+            String kind,
+            Instant start,
+            long durationMicros,
+            String status,
+            Map<String, String> attributes) {
+
+        static RecentSpan of(SpanData span) {
+            Map<String, String> attributes = new TreeMap<>();
+            span.getAttributes().forEach((key, value) -> attributes.put(key.getKey(), String.valueOf(value)));
+            return new RecentSpan(
+                    span.getTraceId(),
+                    span.getSpanId(),
+                    span.getParentSpanContext().isValid() ? span.getParentSpanId() : null,
+                    span.getName(),
+                    span.getKind().name(),
+                    Instant.ofEpochSecond(0, span.getStartEpochNanos()),
+                    (span.getEndEpochNanos() - span.getStartEpochNanos()) / 1000,
+                    span.getStatus().getStatusCode().name(),
+                    attributes);
+        }
+    }
+
+    public RecentSpanExporter(int capacity) {
+        this.capacity = capacity;
+    }
+
+    @Override
+    public CompletableResultCode export(Collection<SpanData> batch) {
+        for (SpanData data : batch) {
+            RecentSpan span = RecentSpan.of(data);
+            if (logger.isDebugEnabled()) {
+                logger.debug(
+                        "Span {} trace={} id={} parent={} {}us {} {}",
+                        span.name(),
+                        span.traceId(),
+                        span.spanId(),
+                        span.parentSpanId(),
+                        span.durationMicros(),
+                        span.status(),
+                        span.attributes());
+            }
+            if (capacity > 0) {
+                synchronized (spans) {
+                    if (spans.size() == capacity) {
+                        spans.removeFirst();
+                    }
+                    spans.addLast(span);
+                }
+            }
+        }
+        return CompletableResultCode.ofSuccess();
+    }
+
+    @Override
+    public CompletableResultCode flush() {
+        return CompletableResultCode.ofSuccess();
+    }
+
+    @Override
+    public CompletableResultCode shutdown() {
+        return CompletableResultCode.ofSuccess();
+    }
+
+    /** Recent spans, oldest first. */
+    @ReadOperation
+    public List<RecentSpan> spans() {
+        synchronized (spans) {
+            return new ArrayList<>(spans);
+        }
+    }
+
+    /** The recent spans of one trace, oldest first. */
+    @ReadOperation
+    public List<RecentSpan> trace(@Selector String traceId) {
+        List<RecentSpan> trace = new ArrayList<>();
+        synchronized (spans) {
+            for (RecentSpan span : spans) {
+                if (span.traceId().equals(traceId)) {
+                    trace.add(span);
+                }
+            }
+        }
+        return trace;
+    }
+}
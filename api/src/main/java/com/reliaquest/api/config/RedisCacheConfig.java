@@ -0,0 +1,93 @@
+package com.reliaquest.api.config;
+
+import com.reliaquest.api.service.RawRedisCache;
+import com.reliaquest.api.service.RedisCacheSettings;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.tracing.Tracer;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/** Builds the Redis cache shared by whichever employee service is active; Spring closes it on shutdown. */
+@Configuration
+public class RedisCacheConfig {
+
+    @Value("${reliaquest.api.redis-host}")
+    private String redisHost;
+
+    @Value("${reliaquest.api.redis-port}")
+    private int redisPort;
+
+    @Value("${reliaquest.api.redis-employees-ttl}")
+    private long redisEmployeesTtl;
+
+    @Value("${reliaquest.api.redis-employee-ttl}")
+    private long redisEmployeeTtl;
+
+    @Value("${reliaquest.api.redis-ttl-jitter}")
+    private double redisTtlJitter;
+
+    @Value("${reliaquest.api.redis-pool-max-size}")
+    private int redisPoolMaxSize;
+
+    @Value("${reliaquest.api.redis-pool-borrow-timeout}")
+    private long redisPoolBorrowTimeout;
+
+    @Value("${reliaquest.api.redis-pool-idle-timeout}")
+    private long redisPoolIdleTimeout;
+
+    @Value("${reliaquest.api.redis-pool-validation-interval}")
+    private long redisPoolValidationInterval;
+
+    @Value("${reliaquest.api.redis-timeout}")
+    private int redisTimeout;
+
+    @Value("${reliaquest.api.redis-async-writes}")
+    private boolean redisAsyncWrites;
+
+    @Value("${reliaquest.api.redis-codec}")
+    private String redisCodec;
+
+    @Value("${reliaquest.api.redis-compression-threshold}")
+    private int redisCompressionThreshold;
+
+    @Value("${reliaquest.api.redis-compression-level}")
+    private int redisCompressionLevel;
+
+    @Value("${reliaquest.api.near-cache-max-weight}")
+    private long nearCacheMaxWeight;
+
+    @Value("${reliaquest.api.near-cache-ttl}")
+    private long nearCacheTtl;
+
+    @Value("${reliaquest.api.near-cache-invalidation-channel}")
+    private String nearCacheInvalidationChannel;
+
+    @Value("${reliaquest.api.mode:servlet}")
+    private String mode;
+
+    @Bean
+    public RawRedisCache rawRedisCache(MeterRegistry meterRegistry, ObjectProvider<Tracer> tracer) {
+        RedisCacheSettings settings = new RedisCacheSettings();
+        settings.setTimeoutMs(redisTimeout);
+        settings.setEmployeesTtlMs(redisEmployeesTtl);
+        settings.setEmployeeTtlMs(redisEmployeeTtl);
+        settings.setTtlJitterRatio(redisTtlJitter);
+        settings.setPoolMaxSize(redisPoolMaxSize);
+        settings.setPoolBorrowTimeoutMs(redisPoolBorrowTimeout);
+        settings.setPoolIdleTimeoutMs(redisPoolIdleTimeout);
+        settings.setPoolValidationIntervalMs(redisPoolValidationInterval);
+        // The reactive service only ever uses the non-blocking methods, so it always needs the event-loop client
+        settings.setAsyncEnabled(redisAsyncWrites || "reactive".equals(mode));
+        settings.setCodec(redisCodec);
+        settings.setCompressionThresholdBytes(redisCompressionThreshold);
+        settings.setCompressionLevel(redisCompressionLevel);
+        settings.setNearCacheMaxWeight(nearCacheMaxWeight);
+        settings.setNearCacheTtlMs(nearCacheTtl);
+        settings.setInvalidationChannel(nearCacheInvalidationChannel);
+        RawRedisCache cache = new RawRedisCache(redisHost, redisPort, settings, meterRegistry);
+        tracer.ifAvailable(cache::setTracer);
+        return cache;
+    }
+}
@@ -0,0 +1,72 @@
+package com.reliaquest.api.config;
+
+import jakarta.servlet.Filter;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.web.reactive.HandlerMapping;
+import org.springframework.web.server.WebFilter;
+import reactor.core.publisher.SignalType;
+
+/**
+ * One line per sampled request in the {@code com.reliaquest.api.requests} log, replacing per-request info logging in
+ * the controllers. The line carries the matched route rather than the raw path, so employee ids stay out of it unless
+ * no route matched. The servlet filter logs before the request's span closes, so the line carries its trace id.
+ */
+@Configuration
+public class RequestLogConfig {
+
+    @Value("${reliaquest.api.request-log-sample-rate}")
+    private double sampleRate;
+
+    @Value("${reliaquest.api.request-log-slow-threshold}")
+    private long slowThresholdMs;
+
+    @Bean
+    public RequestLogSampler requestLogSampler() {
+        return new RequestLogSampler(sampleRate, slowThresholdMs);
+    }
+
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    public Filter requestLogFilter(RequestLogSampler sampler) {
+        return (request, response, chain) -> {
+            long startedAt = System.nanoTime();
+            boolean failed = true; // An exception escaping the chain becomes a 500 after this filter has returned
+            try {
+                chain.doFilter(request, response);
+                failed = false;
+            } finally {
+                HttpServletRequest http = (HttpServletRequest) request;
+                sampler.completed(
+                        http.getMethod(),
+                        http.getAttribute(
+                                org.springframework.web.servlet.HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE),
+                        http.getRequestURI(),
+                        failed ? 500 : ((HttpServletResponse) response).getStatus(),
+                        System.nanoTime() - startedAt);
+            }
+        };
+    }
+
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+    public WebFilter requestLogWebFilter(RequestLogSampler sampler) {
+        return (exchange, chain) -> {
+            long startedAt = System.nanoTime();
+            return chain.filter(exchange).doFinally(signal -> {
+                HttpStatusCode status = exchange.getResponse().getStatusCode();
+                sampler.completed(
+                        exchange.getRequest().getMethod().name(),
+                        exchange.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE),
+                        exchange.getRequest().getPath().value(),
+                        signal == SignalType.ON_ERROR ? 500 : status != null ? status.value() : 200,
+                        System.nanoTime() - startedAt);
+            });
+        };
+    }
+}
@@ -0,0 +1,50 @@
+package com.reliaquest.api.config;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Decides which finished requests get a line in the {@code com.reliaquest.api.requests} log. Server errors and requests
+ * slower than the threshold are always logged at warn; of the rest, a random {@code sampleRate} share is logged at
+ * info. A request that is not logged costs a comparison and at most one random number, nothing is allocated for it.
+ */
+public class RequestLogSampler {
+    private static final Logger logger = LoggerFactory.getLogger("com.reliaquest.api.requests");
+
+    private final double sampleRate;
+    private final long slowThresholdNanos;
+
+    /**
+     * @param sampleRate share of ordinary requests logged, 0 to 1
+     * @param slowThresholdMs requests at least this slow are always logged, 0 or less never counts a request as slow
+     */
+    public RequestLogSampler(double sampleRate, long slowThresholdMs) {
+        this.sampleRate = sampleRate;
+        this.slowThresholdNanos = slowThresholdMs > 0 ? TimeUnit.MILLISECONDS.toNanos(slowThresholdMs) : Long.MAX_VALUE;
+    }
+
+    /** Logs the request if it failed, was slow, or was sampled; {@code route} is the matched pattern when known. */
+    public void completed(String method, Object route, String path, int status, long elapsedNanos) {
+        if (status >= 500 || elapsedNanos >= slowThresholdNanos) {
+            if (logger.isWarnEnabled()) {
+                logger.warn(
+                        "{} {} status={} micros={}",
+                        method,
+                        route != null ? route : path,
+                        status,
+                        TimeUnit.NANOSECONDS.toMicros(elapsedNanos));
+            }
+        } else if (sampleRate > 0
+                && logger.isInfoEnabled()
+                && (sampleRate >= 1 || ThreadLocalRandom.current().nextDouble() < sampleRate)) {
+            logger.info(
+                    "{} {} status={} micros={}",
+                    method,
+                    route != null ? route : path,
+                    status,
+                    TimeUnit.NANOSECONDS.toMicros(elapsedNanos));
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.reliaquest.api.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Tracing is set up by Spring Boot from the Micrometer Tracing OpenTelemetry bridge: a span for every request served,
+ * W3C {@code traceparent} propagation, and the sampling rate from {@code management.tracing.*}. The services add spans
+ * for each upstream attempt and each Redis round trip. This registers the in-process exporter, so traces can be read
+ * without a collector.
+ */
+@Configuration
+public class TracingConfig {
+
+    @Value("${reliaquest.api.tracing-recent-spans}")
+    private int recentSpans;
+
+    @Bean
+    public RecentSpanExporter recentSpanExporter() {
+        return new RecentSpanExporter(recentSpans);
+    }
+}
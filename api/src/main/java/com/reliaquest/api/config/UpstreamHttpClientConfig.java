@@ -0,0 +1,143 @@
+package com.reliaquest.api.config;
+
+import io.micrometer.observation.ObservationRegistry;
+import io.netty.channel.ChannelOption;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.DefaultConnectionKeepAliveStrategy;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.resources.ConnectionProvider;
+
+/**
+ * HTTP client used for calls to the upstream employee API.
+ *
+ * <p>By default requests go through a pooled Apache HttpClient that keeps connections alive between calls, so a request
+ * only pays for connection setup when the pool has no idle connection to the upstream. Setting
+ * {@code reliaquest.api.http-client: jdk} switches to {@link java.net.http.HttpClient} instead, which negotiates HTTP/2
+ * through ALPN when the upstream is https and supports it, and otherwise manages its own HTTP/1.1 keep-alive
+ * connections. The JDK client has no pool stats, so it reports no upstream pool gauges. Either way the
+ * {@code spring.web.client.*} timeouts apply.
+ *
+ * <p>With {@code reliaquest.api.mode: reactive} the reactive service calls the upstream through a {@link WebClient}
+ * on a Reactor Netty connection pool sized by the same {@code http-pool-*} settings.
+ */
+@Configuration
+public class UpstreamHttpClientConfig {
+
+    @Value("${spring.web.client.connection-timeout}")
+    private long connectTimeout;
+
+    @Value("${spring.web.client.read-timeout}")
+    private long readTimeout;
+
+    @Value("${reliaquest.api.url}")
+    private String upstreamUrl;
+
+    @Value("${reliaquest.api.http-pool-max-total}")
+    private int poolMaxTotal;
+
+    @Value("${reliaquest.api.http-pool-max-per-route}")
+    private int poolMaxPerRoute;
+
+    @Value("${reliaquest.api.http-pool-acquire-timeout}")
+    private long poolAcquireTimeout;
+
+    @Value("${reliaquest.api.http-pool-idle-timeout}")
+    private long poolIdleTimeout;
+
+    // Observed like a Boot-built RestTemplate: a client span per request, with its trace context sent upstream
+    @Bean
+    public RestTemplate restTemplate(
+            ClientHttpRequestFactory upstreamRequestFactory, ObjectProvider<ObservationRegistry> observationRegistry) {
+        RestTemplate restTemplate = new RestTemplate(upstreamRequestFactory);
+        observationRegistry.ifAvailable(restTemplate::setObservationRegistry);
+        return restTemplate;
+    }
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = "reliaquest.api.http-client", havingValue = "apache", matchIfMissing = true)
+    public PoolingHttpClientConnectionManager upstreamConnectionManager() {
+        return PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(poolMaxTotal)
+                .setMaxConnPerRoute(poolMaxPerRoute)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.ofMilliseconds(connectTimeout))
+                        .setSocketTimeout(Timeout.ofMilliseconds(readTimeout))
+                        .setValidateAfterInactivity(TimeValue.ofSeconds(2)) // Catch connections the upstream dropped
+                        .build())
+                .build();
+    }
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = "reliaquest.api.http-client", havingValue = "apache", matchIfMissing = true)
+    public CloseableHttpClient upstreamHttpClient(PoolingHttpClientConnectionManager upstreamConnectionManager) {
+        return HttpClients.custom()
+                .setConnectionManager(upstreamConnectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.ofMilliseconds(poolAcquireTimeout))
+                        .setResponseTimeout(Timeout.ofMilliseconds(readTimeout))
+                        .build())
+                .setKeepAliveStrategy(DefaultConnectionKeepAliveStrategy.INSTANCE)
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.ofMilliseconds(poolIdleTimeout))
+                .disableAutomaticRetries() // EmployeeServiceImpl owns retries, don't multiply them
+                .build();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "reliaquest.api.http-client", havingValue = "apache", matchIfMissing = true)
+    public ClientHttpRequestFactory apacheRequestFactory(CloseableHttpClient upstreamHttpClient) {
+        return new HttpComponentsClientHttpRequestFactory(upstreamHttpClient);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "reliaquest.api.http-client", havingValue = "jdk")
+    public ClientHttpRequestFactory jdkRequestFactory() {
+        // Over plain http the JDK client would try h2c, adding an Upgrade header to requests that most upstreams
+        // ignore or reject, so HTTP/2 is only asked for where TLS can negotiate it
+        boolean tls = "https".equalsIgnoreCase(URI.create(upstreamUrl).getScheme());
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(tls ? HttpClient.Version.HTTP_2 : HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofMillis(connectTimeout))
+                .build();
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient);
+        requestFactory.setReadTimeout(Duration.ofMillis(readTimeout));
+        return requestFactory;
+    }
+
+    /** Non-blocking client for the reactive service; Reactor Netty pools and keeps alive its own connections. */
+    @Bean
+    @ConditionalOnProperty(name = "reliaquest.api.mode", havingValue = "reactive")
+    public WebClient upstreamWebClient(WebClient.Builder builder) {
+        ConnectionProvider connectionProvider = ConnectionProvider.builder("employee-api")
+                .maxConnections(poolMaxTotal)
+                .pendingAcquireTimeout(Duration.ofMillis(poolAcquireTimeout))
+                .maxIdleTime(Duration.ofMillis(poolIdleTimeout))
+                .build();
+        reactor.netty.http.client.HttpClient httpClient = reactor.netty.http.client.HttpClient.create(
+                        connectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) connectTimeout)
+                .responseTimeout(Duration.ofMillis(readTimeout));
+        return builder.clientConnector(new ReactorClientHttpConnector(httpClient))
+                .build();
+    }
+}
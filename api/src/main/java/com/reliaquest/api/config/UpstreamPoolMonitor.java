@@ -0,0 +1,30 @@
+package com.reliaquest.api.config;
+
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+/** Reports how busy the upstream connection pool is. Only the pooled Apache client has stats to report. */
+@Component
+public class UpstreamPoolMonitor {
+    private final PoolingHttpClientConnectionManager connectionManager;
+
+    /**
+     * Connections in use, requests waiting for one, idle connections ready for reuse and the pool size. Any
+     * {@code pending} means the pool is saturated and requests are queueing for a connection.
+     */
+    public record PoolStats(int leased, int pending, int available, int max) {}
+
+    public UpstreamPoolMonitor(ObjectProvider<PoolingHttpClientConnectionManager> connectionManager) {
+        this.connectionManager = connectionManager.getIfAvailable();
+    }
+
+    /** Returns null when the JDK client is in use. */
+    public PoolStats getPoolStats() {
+        if (connectionManager == null) {
+            return null;
+        }
+        org.apache.hc.core5.pool.PoolStats total = connectionManager.getTotalStats();
+        return new PoolStats(total.getLeased(), total.getPending(), total.getAvailable(), total.getMax());
+    }
+}
@@ -0,0 +1,115 @@
+package com.reliaquest.api.controller;
+
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeInput;
+import com.reliaquest.api.service.EmployeeIndex;
+import com.reliaquest.api.service.ReactiveEmployeeService;
+import java.util.List;
+import java.util.function.Function;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+/**
+ * Serves the {@link IEmployeeController} routes from WebFlux when {@code reliaquest.api.mode} is {@code reactive}.
+ * It can't implement that interface because every response here is a {@link Mono}, but paths and bodies are the same
+ * as {@link EmployeeController}. So are the status codes, except when the upstream is failing or throttling: the
+ * reactive service has no circuit breaker, concurrency limit or rate limiter yet, so it answers 500 once retries run
+ * out where the servlet service would shed the call with a 503.
+ */
+@RestController
+@ConditionalOnProperty(name = "reliaquest.api.mode", havingValue = "reactive")
+@RequestMapping("api/v1/employees")
+public class ReactiveEmployeeController {
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveEmployeeController.class);
+
+    @Autowired
+    private ReactiveEmployeeService employeeService;
+
+    @GetMapping
+    public Mono<ResponseEntity<List<Employee>>> getAllEmployees() {
+        return withAllEmployees("list", employees -> {
+            if (logger.isDebugEnabled()) {
+                logger.debug("Successfully retrieved {} employees", employees.size());
+            }
+            return employees;
+        });
+    }
+
+    @GetMapping("/search/{searchString}")
+    public Mono<ResponseEntity<List<Employee>>> getEmployeesByNameSearch(
+            @PathVariable("searchString") String searchString) {
+        logger.debug("Received GET request to search for employees by name: {}", searchString);
+        return withIndex("search", index -> {
+            List<Employee> filteredEmployees = index.searchByName(searchString);
+            if (logger.isDebugEnabled()) {
+                logger.debug("Returning {} employees matching the search criteria", filteredEmployees.size());
+            }
+            return filteredEmployees;
+        });
+    }
+
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<Employee>> getEmployeeById(@PathVariable("id") String id) {
+        logger.debug("Received GET request for employee with ID: {}", id);
+        return employeeService.getEmployeeById(id);
+    }
+
+    @GetMapping("/highestSalary")
+    public Mono<ResponseEntity<Integer>> getHighestSalaryOfEmployees() {
+        logger.debug("Received GET request for highest employee salary");
+        return withIndex("highest salary calculation", EmployeeIndex::getHighestSalary); // 0 when there are none
+    }
+
+    @GetMapping("/topTenHighestEarningEmployeeNames")
+    public Mono<ResponseEntity<List<String>>> getTopTenHighestEarningEmployeeNames() {
+        logger.debug("Received GET request for top 10 highest earning employee names");
+        return withIndex("top 10 salary calculation", index -> index.getTopEarnerNames(10));
+    }
+
+    @PostMapping
+    public Mono<ResponseEntity<Employee>> createEmployee(@RequestBody EmployeeInput employeeInput) {
+        logger.debug("Received POST request to create employee: {}", employeeInput.getName());
+        return employeeService.createEmployee(employeeInput);
+    }
+
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<String>> deleteEmployeeById(@PathVariable("id") String id) {
+        logger.debug("Received DELETE request for employee with ID: {}", id);
+        return employeeService.deleteEmployeeById(id);
+    }
+
+    // Applies the computation to the full list, or passes the service's error status through without a body
+    private <T> Mono<ResponseEntity<T>> withAllEmployees(String purpose, Function<List<Employee>, T> computation) {
+        return answer(employeeService.getAllEmployees(), purpose, computation);
+    }
+
+    // Reads the answer from the roster index, as EmployeeController does, rather than scanning the roster
+    private <T> Mono<ResponseEntity<T>> withIndex(String purpose, Function<EmployeeIndex, T> computation) {
+        return answer(employeeService.getEmployeeIndex(), purpose, computation);
+    }
+
+    private <S, T> Mono<ResponseEntity<T>> answer(
+            Mono<ResponseEntity<S>> source, String purpose, Function<S, T> computation) {
+        return source.map(response -> {
+            if (!response.getStatusCode().is2xxSuccessful() || response.getBody() == null) {
+                logger.warn("Failed to retrieve employees for {}. Status code: {}", purpose, response.getStatusCode());
+                return response.getStatusCode() == HttpStatus.INTERNAL_SERVER_ERROR
+                        ? ResponseEntity.internalServerError().build()
+                        : ResponseEntity.status(response.getStatusCode()).build();
+            }
+            return ResponseEntity.ok(computation.apply(response.getBody()));
+        });
+    }
+}
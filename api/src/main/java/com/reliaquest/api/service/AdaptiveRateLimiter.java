@@ -0,0 +1,185 @@
+package com.reliaquest.api.service;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Client-side rate limiter for the upstream API that learns how fast it may go.
+ *
+ * <p>Permits come from a token bucket refilled at the current rate, which follows AIMD: successful calls raise it by
+ * about one request per second every second, up to {@code maxRate}; a 429 halves it, down to {@code minRate}, at most
+ * once per second so a burst of 429s caused by the same overload only counts once. A Retry-After on the 429 also holds
+ * back every permit until it has passed.
+ *
+ * <p>Callers never block here: {@link #reserve(Priority, long)} takes a permit and returns how long the caller must
+ * wait before using it, or throws {@link RateLimitedException} without taking one when that wait would be longer than
+ * the priority allows or than the caller has left.
+ * Writes may wait longer than reads, so under pressure cache-miss reads are shed first while writes still get through.
+ */
+public class AdaptiveRateLimiter {
+    private static final Logger logger = LoggerFactory.getLogger(AdaptiveRateLimiter.class);
+    private static final double INCREASE_PER_SECOND = 1.0;
+    private static final double DECREASE_FACTOR = 0.5;
+    private static final long DECREASE_COOLDOWN_MS = 1000;
+
+    public enum Priority {
+        READ,
+        WRITE
+    }
+
+    /** Thrown by {@link #reserve(Priority, long)} when the request would have to wait too long for a permit. */
+    public static class RateLimitedException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        RateLimitedException(Priority priority, long waitMs) {
+            super("Rate limited, a " + priority + " permit is " + waitMs + "ms away");
+        }
+    }
+
+    /** Current permitted rate in requests per second, plus how often we were throttled and how many calls we shed. */
+    public record Stats(double rate, long throttled, long rejected) {}
+
+    private final double minRate;
+    private final double maxRate;
+    private final double burst;
+    private final long readMaxWaitMs;
+    private final long writeMaxWaitMs;
+    private final LongSupplier clock;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    // State below is guarded by the lock
+    private double rate;
+    private double storedPermits;
+    private double nextFreeAt; // When the next permit that isn't stored becomes available
+    private long lastDecreaseAt;
+
+    private final AtomicLong throttled = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+
+    public AdaptiveRateLimiter(double minRate, double maxRate, double burst, long readMaxWaitMs, long writeMaxWaitMs) {
+        this(minRate, maxRate, burst, readMaxWaitMs, writeMaxWaitMs, System::currentTimeMillis);
+    }
+
+    public AdaptiveRateLimiter(
+            double minRate, double maxRate, double burst, long readMaxWaitMs, long writeMaxWaitMs, LongSupplier clock) {
+        this.minRate = Math.max(0.001, Math.min(minRate, maxRate));
+        this.maxRate = maxRate;
+        this.burst = Math.max(1, burst);
+        this.readMaxWaitMs = readMaxWaitMs;
+        this.writeMaxWaitMs = writeMaxWaitMs;
+        this.clock = clock;
+        this.rate = maxRate; // Start optimistic, the first 429 brings us down
+        this.storedPermits = this.burst;
+        this.nextFreeAt = clock.getAsLong();
+        this.lastDecreaseAt = clock.getAsLong() - DECREASE_COOLDOWN_MS;
+    }
+
+    /** Takes a permit and returns how many milliseconds to wait before using it. */
+    public long reserve(Priority priority) {
+        return reserve(priority, Long.MAX_VALUE);
+    }
+
+    /**
+     * Like {@link #reserve(Priority)}, but also rejects when the wait is longer than {@code maxWaitMs}, the time the
+     * caller has left. A rejected call never takes the permit, so it doesn't push back the callers after it.
+     */
+    public long reserve(Priority priority, long maxWaitMs) {
+        lock.lock();
+        try {
+            long now = clock.getAsLong();
+            refill(now);
+            long waitMs = (long) Math.ceil(Math.max(0, nextFreeAt - now));
+            if (waitMs > Math.min(maxWaitMs, priority == Priority.WRITE ? writeMaxWaitMs : readMaxWaitMs)) {
+                rejected.incrementAndGet();
+                throw new RateLimitedException(priority, waitMs);
+            }
+            if (storedPermits >= 1) {
+                storedPermits -= 1;
+            } else {
+                nextFreeAt += 1000 / rate;
+            }
+            return waitMs;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Takes a permit only if one can be used right away, for optional calls that are skipped rather than delayed. A
+     * false return isn't counted as a rejection.
+     */
+    public boolean tryAcquire() {
+        lock.lock();
+        try {
+            long now = clock.getAsLong();
+            refill(now);
+            if (storedPermits >= 1) {
+                storedPermits -= 1;
+                return true;
+            }
+            if (nextFreeAt <= now) {
+                nextFreeAt += 1000 / rate;
+                return true;
+            }
+            return false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void onSuccess() {
+        lock.lock();
+        try {
+            // Additive increase: one success per 1/rate seconds at full speed, so roughly +1 req/s every second
+            rate = Math.min(maxRate, rate + INCREASE_PER_SECOND / rate);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Called on a 429; {@code retryAfterMs} is the upstream's Retry-After, or 0 if it didn't send one. */
+    public void onThrottled(long retryAfterMs) {
+        throttled.incrementAndGet();
+        lock.lock();
+        try {
+            long now = clock.getAsLong();
+            if (now - lastDecreaseAt >= DECREASE_COOLDOWN_MS) {
+                lastDecreaseAt = now;
+                rate = Math.max(minRate, rate * DECREASE_FACTOR);
+                logger.warn(
+                        "Upstream is rate limiting us, lowering permitted rate to {} req/s",
+                        Math.round(rate * 100) / 100.0);
+            }
+            storedPermits = 0;
+            if (retryAfterMs > 0) {
+                nextFreeAt = Math.max(nextFreeAt, now + retryAfterMs);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public double getRate() {
+        lock.lock();
+        try {
+            return rate;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public Stats getStats() {
+        return new Stats(getRate(), throttled.get(), rejected.get());
+    }
+
+    // Caller must hold the lock. Time nobody used turns into stored permits, up to the burst size.
+    private void refill(long now) {
+        if (now > nextFreeAt) {
+            storedPermits = Math.min(burst, storedPermits + (now - nextFreeAt) * rate / 1000);
+            nextFreeAt = now;
+        }
+    }
+}
@@ -0,0 +1,279 @@
+package com.reliaquest.api.service;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Non-blocking Redis client driven by a single event-loop thread.
+ *
+ * <p>Any number of threads may call {@link #send(Object...)} concurrently. Commands are queued, written to one
+ * {@link SocketChannel} in submission order (coalescing whatever is queued into a single write) and matched to their
+ * replies in FIFO order, which Redis guarantees on a single connection. Callers get a {@link CompletableFuture} and
+ * never block on socket I/O.
+ *
+ * <p>If the connection drops, every in-flight command fails and the loop reconnects with a capped backoff; commands
+ * submitted while disconnected fail fast instead of queueing up.
+ */
+class AsyncRedisClient implements Closeable {
+    private static final Logger logger = LoggerFactory.getLogger(AsyncRedisClient.class);
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+    private static final int MIN_READ_SPACE = 4 * 1024;
+    private static final long MAX_RECONNECT_DELAY_MS = 5000;
+
+    private final InetSocketAddress address;
+    private final long commandTimeoutMs;
+    private final Selector selector;
+    private final Thread eventLoop;
+    private final ConcurrentLinkedQueue<PendingCommand> submitted = new ConcurrentLinkedQueue<>();
+    private volatile boolean running = true;
+    private volatile boolean connected;
+
+    // State below is only touched by the event-loop thread
+    private final ArrayDeque<PendingCommand> awaitingReply = new ArrayDeque<>();
+    private final ArrayDeque<ByteBuffer> outgoing = new ArrayDeque<>();
+    private ByteBuffer readBuffer = ByteBuffer.allocate(READ_BUFFER_SIZE).flip();
+    private SocketChannel channel;
+    private long reconnectDelayMs = 100;
+    private long reconnectAt;
+
+    private record PendingCommand(byte[] encoded, CompletableFuture<Object> reply) {}
+
+    AsyncRedisClient(String host, int port, long commandTimeoutMs) throws IOException {
+        this.address = new InetSocketAddress(host, port);
+        this.commandTimeoutMs = commandTimeoutMs;
+        this.selector = Selector.open();
+        this.eventLoop = new Thread(this::runEventLoop, "redis-event-loop");
+        this.eventLoop.setDaemon(true);
+        this.eventLoop.start();
+    }
+
+    /** Queues a command; the returned future completes on the event-loop thread with the decoded reply. */
+    CompletableFuture<Object> send(Object... args) {
+        CompletableFuture<Object> reply = new CompletableFuture<>();
+        if (!running) {
+            reply.completeExceptionally(new IOException("Redis client is closed"));
+            return reply;
+        }
+        submitted.add(new PendingCommand(RespCodec.encodeCommand(args), reply));
+        selector.wakeup();
+        return reply.orTimeout(commandTimeoutMs, TimeUnit.MILLISECONDS);
+    }
+
+    // Only stable once the event loop has completed a reply, which is when tests look at it
+    int readBufferCapacity() {
+        return readBuffer.capacity();
+    }
+
+    boolean isConnected() {
+        return connected;
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        selector.wakeup();
+        try {
+            eventLoop.join(commandTimeoutMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void runEventLoop() {
+        while (running) {
+            try {
+                if (channel == null && System.currentTimeMillis() >= reconnectAt) {
+                    connect();
+                }
+                if (channel == null || connected) {
+                    drainSubmitted();
+                }
+
+                selector.select(channel == null ? Math.max(1, reconnectAt - System.currentTimeMillis()) : 1000);
+
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    if (!key.isValid()) {
+                        continue;
+                    }
+                    if (key.isConnectable()) {
+                        finishConnect(key);
+                    }
+                    if (key.isValid() && key.isReadable()) {
+                        read();
+                    }
+                    if (key.isValid() && key.isWritable()) {
+                        write(key);
+                    }
+                }
+            } catch (IOException | RuntimeException e) {
+                disconnect(e);
+            }
+        }
+        disconnect(new IOException("Redis client is closed"));
+        failSubmitted(new IOException("Redis client is closed"));
+        try {
+            selector.close();
+        } catch (IOException ignored) {
+            // Shutting down
+        }
+    }
+
+    private void connect() throws IOException {
+        channel = SocketChannel.open();
+        channel.configureBlocking(false);
+        channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+        channel.setOption(StandardSocketOptions.SO_KEEPALIVE, true);
+        if (channel.connect(address)) {
+            onConnected(channel.register(selector, SelectionKey.OP_READ));
+        } else {
+            channel.register(selector, SelectionKey.OP_CONNECT);
+        }
+    }
+
+    private void finishConnect(SelectionKey key) throws IOException {
+        if (channel.finishConnect()) {
+            key.interestOps(SelectionKey.OP_READ);
+            onConnected(key);
+        }
+    }
+
+    private void onConnected(SelectionKey key) {
+        connected = true;
+        reconnectDelayMs = 100;
+        logger.debug("Async Redis connection established to {}", address);
+        drainSubmitted();
+        updateWriteInterest(key);
+    }
+
+    // Moves newly submitted commands to the write queue; while disconnected they fail instead of piling up
+    private void drainSubmitted() {
+        if (!connected) {
+            if (channel == null) {
+                failSubmitted(new IOException("Redis is unavailable"));
+            }
+            return;
+        }
+        PendingCommand command;
+        boolean queued = false;
+        while ((command = submitted.poll()) != null) {
+            outgoing.add(ByteBuffer.wrap(command.encoded()));
+            awaitingReply.add(command);
+            queued = true;
+        }
+        if (queued) {
+            updateWriteInterest(channel.keyFor(selector));
+        }
+    }
+
+    private void write(SelectionKey key) throws IOException {
+        ByteBuffer[] buffers = outgoing.toArray(new ByteBuffer[0]);
+        channel.write(buffers); // Gathering write: everything queued goes out in as few syscalls as possible
+        while (!outgoing.isEmpty() && !outgoing.peek().hasRemaining()) {
+            outgoing.poll();
+        }
+        updateWriteInterest(key);
+    }
+
+    private void updateWriteInterest(SelectionKey key) {
+        if (key == null || !key.isValid()) {
+            return;
+        }
+        int ops = SelectionKey.OP_READ | (outgoing.isEmpty() ? 0 : SelectionKey.OP_WRITE);
+        if (key.interestOps() != ops) {
+            key.interestOps(ops);
+        }
+    }
+
+    private void read() throws IOException {
+        // The buffer stays in read mode between calls; undecoded bytes are only moved once little room is left
+        // behind them, so a multi-megabyte reply isn't copied again on every read
+        if (readBuffer.capacity() - readBuffer.limit() < MIN_READ_SPACE) {
+            if (readBuffer.remaining() > readBuffer.capacity() / 2) {
+                // A single reply fills most of the buffer, grow it instead of stalling
+                ByteBuffer larger = ByteBuffer.allocate(readBuffer.capacity() * 2);
+                larger.put(readBuffer).flip();
+                readBuffer = larger;
+            } else {
+                readBuffer.compact().flip();
+            }
+        }
+        int unreadFrom = readBuffer.position();
+        readBuffer.position(readBuffer.limit()).limit(readBuffer.capacity());
+        int read = channel.read(readBuffer);
+        readBuffer.limit(readBuffer.position()).position(unreadFrom);
+        if (read == -1) {
+            throw new IOException("Redis closed the connection");
+        }
+
+        Object reply;
+        while ((reply = RespCodec.decode(readBuffer)) != RespCodec.INCOMPLETE) {
+            PendingCommand command = awaitingReply.poll();
+            if (command == null) {
+                throw new IOException("Received a Redis reply with no command waiting for it");
+            }
+            shrinkReadBuffer();
+            command.reply().complete(reply); // No-op if the caller already timed out
+        }
+        if (!readBuffer.hasRemaining()) {
+            readBuffer.clear().flip(); // Everything was decoded, start again at the front without copying
+        }
+    }
+
+    // A buffer grown for one large reply goes back to the default size once what's left fits in it, rather than
+    // keeping the largest reply ever read for the life of the client
+    private void shrinkReadBuffer() {
+        if (readBuffer.capacity() > READ_BUFFER_SIZE && readBuffer.remaining() <= READ_BUFFER_SIZE - MIN_READ_SPACE) {
+            readBuffer = ByteBuffer.allocate(READ_BUFFER_SIZE).put(readBuffer).flip();
+        }
+    }
+
+    private void disconnect(Exception cause) {
+        if (channel != null) {
+            if (connected && running) {
+                logger.warn("Async Redis connection to {} lost: {}", address, cause.getMessage());
+            } else {
+                logger.debug("Async Redis connection to {} failed: {}", address, cause.getMessage());
+            }
+            try {
+                channel.close();
+            } catch (IOException ignored) {
+                // Already broken
+            }
+            channel = null;
+            reconnectAt = System.currentTimeMillis() + reconnectDelayMs;
+            reconnectDelayMs = Math.min(reconnectDelayMs * 2, MAX_RECONNECT_DELAY_MS);
+        } else {
+            reconnectAt = System.currentTimeMillis() + reconnectDelayMs;
+        }
+        connected = false;
+        outgoing.clear();
+        readBuffer = ByteBuffer.allocate(READ_BUFFER_SIZE).flip();
+        PendingCommand command;
+        while ((command = awaitingReply.poll()) != null) {
+            command.reply().completeExceptionally(cause);
+        }
+    }
+
+    private void failSubmitted(Exception cause) {
+        PendingCommand command;
+        while ((command = submitted.poll()) != null) {
+            command.reply().completeExceptionally(cause);
+        }
+    }
+}
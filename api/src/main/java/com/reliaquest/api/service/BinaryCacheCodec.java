@@ -0,0 +1,375 @@
+package com.reliaquest.api.service;
+
+import com.reliaquest.api.model.Employee;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Compact binary format for cached employees, several times smaller than JSON and parsed without a tokenizer.
+ *
+ * <p>Every value starts with a four byte header: {@link #MAGIC}, the format {@link #VERSION}, flags and whether the
+ * value is a list or a single employee. The magic byte never starts a JSON document (it isn't valid UTF-8), which is
+ * how {@link RawRedisCache} tells the formats apart. A reader rejects versions newer than its own, which surfaces as a
+ * cache miss rather than garbage while instances are being upgraded.
+ *
+ * <p>Numbers are varints (zigzag for the signed salary and age). Strings are a varint tag, then:
+ *
+ * <ul>
+ *   <li>{@code 0} - null
+ *   <li>{@code 1} - varint byte length and UTF-8 bytes
+ *   <li>{@code 2} - a canonical lowercase UUID as 16 bytes, for ids
+ *   <li>{@code 3 + n} - entry {@code n} of the value's string dictionary
+ * </ul>
+ *
+ * Emails are split at the last {@code @} into a local part and a domain. When a roster repeats titles or email
+ * domains, those repeated strings are written once in a dictionary after the header and referenced by index.
+ */
+public class BinaryCacheCodec implements CacheCodec {
+    public static final byte MAGIC = (byte) 0xFE;
+    public static final int VERSION = 1;
+
+    private static final int FLAG_DICTIONARY = 1;
+    private static final int KIND_LIST = 1;
+    private static final int KIND_EMPLOYEE = 2;
+
+    private static final int TAG_NULL = 0;
+    private static final int TAG_INLINE = 1;
+    private static final int TAG_UUID = 2;
+    private static final int TAG_DICTIONARY = 3;
+
+    private final boolean dictionaryEnabled;
+
+    public BinaryCacheCodec() {
+        this(true);
+    }
+
+    /** @param dictionaryEnabled write repeated titles and email domains once per list */
+    public BinaryCacheCodec(boolean dictionaryEnabled) {
+        this.dictionaryEnabled = dictionaryEnabled;
+    }
+
+    /** True when the value was written by this codec, of any version. */
+    public static boolean isBinary(byte[] value) {
+        return value.length > 0 && value[0] == MAGIC;
+    }
+
+    @Override
+    public byte[] encodeEmployees(List<Employee> employees) {
+        Map<String, Integer> dictionary = dictionaryEnabled ? buildDictionary(employees) : Map.of();
+        Writer out = new Writer(16 + employees.size() * 48);
+        writeHeader(out, dictionary.isEmpty() ? 0 : FLAG_DICTIONARY, KIND_LIST);
+        if (!dictionary.isEmpty()) {
+            writeVarint(out, dictionary.size());
+            for (String entry : dictionary.keySet()) { // Insertion order is index order
+                writeInline(out, entry);
+            }
+        }
+        writeVarint(out, employees.size());
+        for (Employee employee : employees) {
+            writeEmployee(out, employee, dictionary);
+        }
+        return out.toByteArray();
+    }
+
+    @Override
+    public List<Employee> decodeEmployees(byte[] value) throws IOException {
+        Reader reader = new Reader(value);
+        int flags = reader.readHeader(KIND_LIST);
+        String[] dictionary = new String[0];
+        if ((flags & FLAG_DICTIONARY) != 0) {
+            dictionary = new String[reader.readLength()];
+            for (int i = 0; i < dictionary.length; i++) {
+                dictionary[i] = reader.readInline();
+            }
+        }
+        int count = reader.readLength();
+        List<Employee> employees = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            employees.add(reader.readEmployee(dictionary));
+        }
+        reader.expectEnd();
+        return employees;
+    }
+
+    @Override
+    public byte[] encodeEmployee(Employee employee) {
+        Writer out = new Writer(64);
+        writeHeader(out, 0, KIND_EMPLOYEE);
+        writeEmployee(out, employee, Map.of());
+        return out.toByteArray();
+    }
+
+    @Override
+    public Employee decodeEmployee(byte[] value) throws IOException {
+        Reader reader = new Reader(value);
+        reader.readHeader(KIND_EMPLOYEE);
+        Employee employee = reader.readEmployee(new String[0]);
+        reader.expectEnd();
+        return employee;
+    }
+
+    // Titles and email domains that occur more than once, numbered in order of first occurrence
+    private static Map<String, Integer> buildDictionary(List<Employee> employees) {
+        Map<String, Integer> occurrences = new LinkedHashMap<>();
+        for (Employee employee : employees) {
+            if (employee.getEmployee_title() != null) {
+                occurrences.merge(employee.getEmployee_title(), 1, Integer::sum);
+            }
+            String domain = emailDomain(employee.getEmployee_email());
+            if (domain != null) {
+                occurrences.merge(domain, 1, Integer::sum);
+            }
+        }
+        Map<String, Integer> dictionary = new LinkedHashMap<>();
+        occurrences.forEach((entry, count) -> {
+            if (count > 1) {
+                dictionary.put(entry, dictionary.size());
+            }
+        });
+        return dictionary;
+    }
+
+    private static void writeHeader(Writer out, int flags, int kind) {
+        out.write(MAGIC);
+        out.write(VERSION);
+        out.write(flags);
+        out.write(kind);
+    }
+
+    private static void writeEmployee(Writer out, Employee employee, Map<String, Integer> dictionary) {
+        String id = employee.getId();
+        if (id == null || !writeUuid(out, id)) {
+            writeString(out, id, Map.of());
+        }
+        writeString(out, employee.getEmployee_name(), Map.of());
+        writeVarint(out, zigzag(employee.getEmployee_salary()));
+        writeVarint(out, zigzag(employee.getEmployee_age()));
+        writeString(out, employee.getEmployee_title(), dictionary);
+        String email = employee.getEmployee_email();
+        int at = email != null ? email.lastIndexOf('@') : -1;
+        if (at < 0) {
+            writeString(out, email, Map.of());
+            writeString(out, null, Map.of());
+        } else {
+            writeString(out, email.substring(0, at), Map.of());
+            writeString(out, email.substring(at + 1), dictionary);
+        }
+    }
+
+    private static String emailDomain(String email) {
+        int at = email != null ? email.lastIndexOf('@') : -1;
+        return at >= 0 ? email.substring(at + 1) : null;
+    }
+
+    // Titles and email domains are looked up in the dictionary, other strings are passed an empty one
+    private static void writeString(Writer out, String value, Map<String, Integer> dictionary) {
+        if (value == null) {
+            writeVarint(out, TAG_NULL);
+            return;
+        }
+        Integer index = dictionary.isEmpty() ? null : dictionary.get(value);
+        if (index != null) {
+            writeVarint(out, TAG_DICTIONARY + index);
+        } else {
+            writeVarint(out, TAG_INLINE);
+            writeInline(out, value);
+        }
+    }
+
+    // Writes a UUID in its 16 byte form if it is one in canonical lowercase form, the only form that reads back as is
+    private static boolean writeUuid(Writer out, String value) {
+        if (value.length() != 36) {
+            return false;
+        }
+        long high = 0;
+        long low = 0;
+        int digits = 0;
+        for (int i = 0; i < 36; i++) {
+            char c = value.charAt(i);
+            if (i == 8 || i == 13 || i == 18 || i == 23) {
+                if (c != '-') {
+                    return false;
+                }
+                continue;
+            }
+            int digit = c >= '0' && c <= '9' ? c - '0' : c >= 'a' && c <= 'f' ? c - 'a' + 10 : -1;
+            if (digit < 0) {
+                return false;
+            }
+            if (digits++ < 16) {
+                high = (high << 4) | digit;
+            } else {
+                low = (low << 4) | digit;
+            }
+        }
+        writeVarint(out, TAG_UUID);
+        writeLong(out, high);
+        writeLong(out, low);
+        return true;
+    }
+
+    private static void writeInline(Writer out, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarint(out, bytes.length);
+        out.writeBytes(bytes);
+    }
+
+    private static void writeLong(Writer out, long value) {
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            out.write((int) (value >>> shift));
+        }
+    }
+
+    private static void writeVarint(Writer out, int value) {
+        while ((value & ~0x7F) != 0) {
+            out.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+
+    private static int zigzag(int value) {
+        return (value << 1) ^ (value >> 31);
+    }
+
+    // Growable byte buffer; unlike ByteArrayOutputStream its writes aren't synchronized
+    private static final class Writer {
+        private byte[] bytes;
+        private int size;
+
+        Writer(int capacity) {
+            this.bytes = new byte[capacity];
+        }
+
+        void write(int b) {
+            if (size == bytes.length) {
+                bytes = Arrays.copyOf(bytes, size * 2);
+            }
+            bytes[size++] = (byte) b;
+        }
+
+        void writeBytes(byte[] more) {
+            if (bytes.length - size < more.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(size * 2, size + more.length));
+            }
+            System.arraycopy(more, 0, bytes, size, more.length);
+            size += more.length;
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(bytes, size);
+        }
+    }
+
+    private static final class Reader {
+        private final byte[] bytes;
+        private int position;
+
+        Reader(byte[] bytes) {
+            this.bytes = bytes;
+        }
+
+        // Returns the flags
+        int readHeader(int expectedKind) throws IOException {
+            if (bytes.length < 4 || bytes[0] != MAGIC) {
+                throw new IOException("Not a binary cache value");
+            }
+            if (bytes[1] != VERSION) {
+                throw new IOException("Unsupported binary cache format version " + bytes[1]);
+            }
+            if (bytes[3] != expectedKind) {
+                throw new IOException("Expected value kind " + expectedKind + " but found " + bytes[3]);
+            }
+            position = 4;
+            return bytes[2];
+        }
+
+        Employee readEmployee(String[] dictionary) throws IOException {
+            String id = readString(dictionary);
+            String name = readString(dictionary);
+            int salary = unzigzag(readVarint());
+            int age = unzigzag(readVarint());
+            String title = readString(dictionary);
+            String emailLocal = readString(dictionary);
+            String emailDomain = readString(dictionary);
+            String email = emailDomain != null ? emailLocal + "@" + emailDomain : emailLocal;
+            return new Employee(id, name, salary, age, title, email);
+        }
+
+        String readString(String[] dictionary) throws IOException {
+            int tag = readVarint();
+            switch (tag) {
+                case TAG_NULL:
+                    return null;
+                case TAG_INLINE:
+                    return readInline();
+                case TAG_UUID:
+                    return new UUID(readLong(), readLong()).toString();
+                default:
+                    int index = tag - TAG_DICTIONARY;
+                    if (index >= dictionary.length) {
+                        throw new IOException("Dictionary index " + index + " out of range");
+                    }
+                    return dictionary[index];
+            }
+        }
+
+        String readInline() throws IOException {
+            int length = readLength();
+            String value = new String(bytes, position, length, StandardCharsets.UTF_8);
+            position += length;
+            return value;
+        }
+
+        // A count or byte length, which can never exceed what's left of the value
+        int readLength() throws IOException {
+            int length = readVarint();
+            if (length < 0 || length > bytes.length - position) {
+                throw new IOException("Length " + length + " exceeds the value");
+            }
+            return length;
+        }
+
+        long readLong() throws IOException {
+            if (bytes.length - position < 8) {
+                throw new IOException("Truncated value");
+            }
+            long value = 0;
+            for (int i = 0; i < 8; i++) {
+                value = (value << 8) | (bytes[position++] & 0xFF);
+            }
+            return value;
+        }
+
+        int readVarint() throws IOException {
+            int value = 0;
+            for (int shift = 0; shift < 35; shift += 7) {
+                if (position >= bytes.length) {
+                    throw new IOException("Truncated value");
+                }
+                byte b = bytes[position++];
+                value |= (b & 0x7F) << shift;
+                if (b >= 0) {
+                    return value;
+                }
+            }
+            throw new IOException("Malformed varint");
+        }
+
+        void expectEnd() throws IOException {
+            if (position != bytes.length) {
+                throw new IOException((bytes.length - position) + " unexpected trailing bytes");
+            }
+        }
+
+        private static int unzigzag(int value) {
+            return (value >>> 1) ^ -(value & 1);
+        }
+    }
+}
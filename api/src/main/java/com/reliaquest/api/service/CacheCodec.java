@@ -0,0 +1,29 @@
+package com.reliaquest.api.service;
+
+import com.reliaquest.api.model.Employee;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Turns cached employees into Redis values and back. {@link RawRedisCache} writes with the configured codec but reads
+ * each value with the codec that wrote it, so instances can move to another codec one at a time.
+ */
+public interface CacheCodec {
+
+    byte[] encodeEmployees(List<Employee> employees) throws IOException;
+
+    List<Employee> decodeEmployees(byte[] value) throws IOException;
+
+    byte[] encodeEmployee(Employee employee) throws IOException;
+
+    Employee decodeEmployee(byte[] value) throws IOException;
+
+    /** The codec configured as {@code json} or {@code binary}. */
+    static CacheCodec named(String name) {
+        return switch (name) {
+            case "json" -> new JsonCacheCodec();
+            case "binary" -> new BinaryCacheCodec();
+            default -> throw new IllegalArgumentException("Unknown cache codec: " + name);
+        };
+    }
+}
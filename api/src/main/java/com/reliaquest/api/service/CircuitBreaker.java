@@ -0,0 +1,218 @@
+package com.reliaquest.api.service;
+
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Count-based circuit breaker for the upstream API.
+ *
+ * <p>While CLOSED, the outcome of the last {@code windowSize} calls is kept in a ring buffer. Once at least
+ * {@code minimumCalls} have been recorded and the share of failures reaches {@code failureRateThreshold}, the breaker
+ * OPENs and rejects every call for {@code openDurationMs}. After that it goes HALF_OPEN and lets
+ * {@code halfOpenCalls} trial calls through: if all of them succeed it closes again with an empty window, a single
+ * failure opens it for another full period.
+ */
+public class CircuitBreaker {
+    private static final Logger logger = LoggerFactory.getLogger(CircuitBreaker.class);
+
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    /** Thrown instead of calling upstream while the breaker is open. */
+    public static class OpenException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        OpenException(String name) {
+            super("Circuit breaker " + name + " is open");
+        }
+    }
+
+    private final String name;
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final long openDurationMs;
+    private final int halfOpenCalls;
+    private final LongSupplier clock;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    // State below is guarded by the lock
+    private final boolean[] failures; // Ring buffer of recent outcomes, true = failed
+    private int recorded;
+    private int next;
+    private int failureCount;
+    private State state = State.CLOSED;
+    private long openUntil;
+    private int halfOpenStarted;
+    private int halfOpenSucceeded;
+
+    public CircuitBreaker(
+            String name,
+            int windowSize,
+            int minimumCalls,
+            double failureRateThreshold,
+            long openDurationMs,
+            int halfOpenCalls) {
+        this(
+                name,
+                windowSize,
+                minimumCalls,
+                failureRateThreshold,
+                openDurationMs,
+                halfOpenCalls,
+                System::currentTimeMillis);
+    }
+
+    public CircuitBreaker(
+            String name,
+            int windowSize,
+            int minimumCalls,
+            double failureRateThreshold,
+            long openDurationMs,
+            int halfOpenCalls,
+            LongSupplier clock) {
+        this.name = name;
+        this.failures = new boolean[Math.max(1, windowSize)];
+        this.minimumCalls = Math.max(1, Math.min(minimumCalls, failures.length));
+        this.failureRateThreshold = failureRateThreshold;
+        this.openDurationMs = openDurationMs;
+        this.halfOpenCalls = Math.max(1, halfOpenCalls);
+        this.clock = clock;
+    }
+
+    /**
+     * Returns false if the call must not go upstream. Every granted permission must be followed by one outcome, or by
+     * {@link #releasePermission()} when the call ended without one.
+     */
+    public boolean tryAcquirePermission() {
+        lock.lock();
+        try {
+            if (state == State.OPEN) {
+                if (clock.getAsLong() < openUntil) {
+                    return false;
+                }
+                transitionTo(State.HALF_OPEN);
+            }
+            if (state == State.HALF_OPEN) {
+                if (halfOpenStarted >= halfOpenCalls) {
+                    return false; // Enough trial calls are already in flight
+                }
+                halfOpenStarted++;
+            }
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Whether {@link #tryAcquirePermission()} could currently grant a permission, without taking one. Lets a caller
+     * skip work it would do before the call, such as waiting for a rate limiter, when the breaker would reject it
+     * anyway.
+     */
+    public boolean isCallPermitted() {
+        lock.lock();
+        try {
+            if (state == State.OPEN) {
+                return clock.getAsLong() >= openUntil; // Half-open on the next acquire, with every trial slot free
+            }
+            return state == State.CLOSED || halfOpenStarted < halfOpenCalls;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void onSuccess() {
+        lock.lock();
+        try {
+            if (state == State.HALF_OPEN) {
+                if (++halfOpenSucceeded >= halfOpenCalls) {
+                    transitionTo(State.CLOSED);
+                }
+            } else if (state == State.CLOSED) {
+                record(false);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void onFailure() {
+        lock.lock();
+        try {
+            if (state == State.HALF_OPEN) {
+                transitionTo(State.OPEN);
+            } else if (state == State.CLOSED) {
+                record(true);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Hands back a permission whose call ended without reporting an outcome (an {@link Error}, or an exception thrown
+     * before the outcome was recorded), so a HALF_OPEN trial slot isn't lost and the breaker can't get stuck.
+     */
+    public void releasePermission() {
+        lock.lock();
+        try {
+            if (state == State.HALF_OPEN && halfOpenStarted > halfOpenSucceeded) {
+                halfOpenStarted--;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Current state; an OPEN breaker whose wait is over still reports OPEN until the next call asks for permission. */
+    public State getState() {
+        lock.lock();
+        try {
+            return state;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Caller must hold the lock. Opens the breaker once the window holds enough calls to judge the failure rate.
+    private void record(boolean failed) {
+        if (recorded == failures.length) {
+            if (failures[next]) {
+                failureCount--; // Oldest outcome drops out of the window
+            }
+        } else {
+            recorded++;
+        }
+        failures[next] = failed;
+        if (failed) {
+            failureCount++;
+        }
+        next = (next + 1) % failures.length;
+        if (recorded >= minimumCalls && (double) failureCount / recorded >= failureRateThreshold) {
+            transitionTo(State.OPEN);
+        }
+    }
+
+    // Caller must hold the lock
+    private void transitionTo(State newState) {
+        if (newState == State.OPEN) {
+            openUntil = clock.getAsLong() + openDurationMs;
+            logger.warn("Circuit breaker {} opened, rejecting calls for {}ms", name, openDurationMs);
+        } else if (newState == State.CLOSED) {
+            logger.info("Circuit breaker {} closed", name);
+        } else {
+            logger.debug("Circuit breaker {} half-open, allowing {} trial calls", name, halfOpenCalls);
+        }
+        state = newState;
+        recorded = 0;
+        next = 0;
+        failureCount = 0;
+        halfOpenStarted = 0;
+        halfOpenSucceeded = 0;
+    }
+}
@@ -0,0 +1,200 @@
+package com.reliaquest.api.service;
+
+import com.reliaquest.api.model.Employee;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory view of the employee roster that the analytic endpoints read instead of recomputing from the full list.
+ *
+ * <p>Employees are kept in a hash map by id, in roster order, so lookups by id are O(1). The best paid {@code k} are
+ * kept in a {@link TopK}, highest salary first with equal salaries in roster order, so the highest salary and the top
+ * earners are read without looking at the rest of the roster. Names are in a
+ * {@link TrigramIndex}, so a name search only checks the employees that share the query's trigrams. The index is built
+ * once from a fetched roster and then updated in place as employees are created and deleted. Employees without an id
+ * can't be tracked and are left out.
+ */
+public final class EmployeeIndex {
+    public static final int DEFAULT_TOP_EARNERS = 10;
+
+    // Highest salary first; equal salaries keep roster order, the same as a stable sort of the roster
+    private static final Comparator<Ranked> BY_SALARY_DESCENDING = Comparator.comparingInt(
+                    (Ranked ranked) -> ranked.employee().getEmployee_salary())
+            .reversed()
+            .thenComparingLong(Ranked::position);
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // State below is guarded by the lock
+    private final Map<String, Ranked> byId = new LinkedHashMap<>();
+    private final TopK<Ranked> topEarners;
+    private final TrigramIndex byName = new TrigramIndex();
+    private long nextPosition;
+    private List<Employee> source; // Roster the index was last built from
+    private long syncedAt;
+    private boolean loaded;
+
+    // An employee and its place in the roster, kept when the employee is replaced
+    private record Ranked(Employee employee, long position) {}
+
+    public EmployeeIndex() {
+        this(DEFAULT_TOP_EARNERS);
+    }
+
+    /** @param topEarners how many of the best paid employees are kept ranked, at least 1 */
+    public EmployeeIndex(int topEarners) {
+        this.topEarners = new TopK<>(topEarners, BY_SALARY_DESCENDING);
+    }
+
+    public EmployeeIndex(List<Employee> employees) {
+        this();
+        sync(employees);
+    }
+
+    /**
+     * Rebuilds the index from the roster, unless it is the very list the index was last built from (a near-cache hit
+     * hands out the same list), in which case the index is only marked as up to date.
+     */
+    public void sync(List<Employee> employees) {
+        lock.writeLock().lock();
+        try {
+            if (employees != source) {
+                byId.clear();
+                byName.clear();
+                nextPosition = 0;
+                for (Employee employee : employees) {
+                    if (employee.getId() != null) {
+                        Ranked ranked = byId.get(employee.getId());
+                        byId.put(
+                                employee.getId(),
+                                new Ranked(employee, ranked != null ? ranked.position() : nextPosition++));
+                        byName.put(employee.getId(), employee.getEmployee_name());
+                    }
+                }
+                topEarners.rebuild(byId.values()); // O(n log k), rather than ranking the whole roster
+                source = employees;
+            }
+            syncedAt = System.currentTimeMillis();
+            loaded = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Adds a new employee, or replaces the one with the same id. */
+    public void put(Employee employee) {
+        lock.writeLock().lock();
+        try {
+            add(employee);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean remove(String id) {
+        lock.writeLock().lock();
+        try {
+            Ranked removed = byId.remove(id);
+            if (removed != null) {
+                topEarners.remove(removed, byId.values());
+                byName.remove(id);
+            }
+            return removed != null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** True once the index has been built and was last synced with the roster less than {@code maxAgeMs} ago. */
+    public boolean isFresh(long maxAgeMs) {
+        lock.readLock().lock();
+        try {
+            return loaded && System.currentTimeMillis() - syncedAt < maxAgeMs;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Employee get(String id) {
+        lock.readLock().lock();
+        try {
+            Ranked ranked = byId.get(id);
+            return ranked != null ? ranked.employee() : null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return byId.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Highest salary in the roster, or 0 when it's empty. */
+    public int getHighestSalary() {
+        lock.readLock().lock();
+        try {
+            Ranked highest = topEarners.first();
+            return highest != null ? highest.employee().getEmployee_salary() : 0;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Names of the {@code k} best paid employees, highest salary first. Up to the number kept ranked this is a read of
+     * the top earners; a larger {@code k} ranks the roster for this call.
+     */
+    public List<String> getTopEarnerNames(int k) {
+        lock.readLock().lock();
+        try {
+            List<Ranked> best =
+                    k <= topEarners.getK() ? topEarners.top(k) : TopK.select(byId.values(), k, BY_SALARY_DESCENDING);
+            List<String> names = new ArrayList<>(best.size());
+            for (Ranked ranked : best) {
+                names.add(ranked.employee().getEmployee_name());
+            }
+            return names;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Employees whose name contains {@code searchString}, ignoring case, in roster order. */
+    public List<Employee> searchByName(String searchString) {
+        lock.readLock().lock();
+        try {
+            List<String> ids = byName.search(searchString);
+            List<Employee> matches = new ArrayList<>(ids.size());
+            for (String id : ids) {
+                matches.add(byId.get(id).employee());
+            }
+            return matches;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Caller must hold the write lock
+    private void add(Employee employee) {
+        if (employee.getId() == null) {
+            return;
+        }
+        Ranked previous = byId.get(employee.getId());
+        Ranked ranked = new Ranked(employee, previous != null ? previous.position() : nextPosition++);
+        byId.put(employee.getId(), ranked);
+        if (previous != null) {
+            topEarners.remove(previous, byId.values());
+        }
+        topEarners.offer(ranked);
+        byName.put(employee.getId(), employee.getEmployee_name());
+    }
+}
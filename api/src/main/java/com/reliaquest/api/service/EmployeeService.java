@@ -13,4 +13,7 @@ public interface EmployeeService {
     ResponseEntity<Employee> createEmployee(EmployeeInput employeeInput);
 
     ResponseEntity<String> deleteEmployeeById(String id);
+
+    /** Roster index for the search and salary endpoints, or the error status when the roster can't be loaded. */
+    ResponseEntity<EmployeeIndex> getEmployeeIndex();
 }
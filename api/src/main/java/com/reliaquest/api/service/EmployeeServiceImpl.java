@@ -3,11 +3,31 @@ package com.reliaquest.api.service;
 import com.reliaquest.api.model.ApiResponse;
 import com.reliaquest.api.model.Employee;
 import com.reliaquest.api.model.EmployeeInput;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongUnaryOperator;
+import java.util.function.Supplier;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
@@ -17,11 +37,12 @@ import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.HttpClientErrorException;
-import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.UriComponentsBuilder;
 
 @Service
+@ConditionalOnProperty(name = "reliaquest.api.mode", havingValue = "servlet", matchIfMissing = true)
 public class EmployeeServiceImpl implements EmployeeService {
     @Autowired
     private RestTemplate restTemplate;
@@ -35,19 +56,185 @@ public class EmployeeServiceImpl implements EmployeeService {
     @Value("${reliaquest.api.retry-initial-delay}")
     private int retryInitialDelay;
 
-    @Value("${reliaquest.api.redis-host}")
-    private String redisHost;
+    @Value("${reliaquest.api.retry-max-delay}")
+    private long retryMaxDelay;
 
-    @Value("${reliaquest.api.redis-port}")
-    private int redisPort;
+    @Value("${reliaquest.api.retry-jitter}")
+    private double retryJitter;
+
+    @Value("${reliaquest.api.retry-deadline}")
+    private long retryDeadline;
+
+    @Value("${reliaquest.api.circuit-breaker-window}")
+    private int circuitBreakerWindow;
+
+    @Value("${reliaquest.api.circuit-breaker-minimum-calls}")
+    private int circuitBreakerMinimumCalls;
+
+    @Value("${reliaquest.api.circuit-breaker-failure-rate}")
+    private double circuitBreakerFailureRate;
+
+    @Value("${reliaquest.api.circuit-breaker-open-duration}")
+    private long circuitBreakerOpenDuration;
+
+    @Value("${reliaquest.api.circuit-breaker-half-open-calls}")
+    private int circuitBreakerHalfOpenCalls;
+
+    @Value("${reliaquest.api.upstream-max-concurrency}")
+    private int upstreamMaxConcurrency;
+
+    @Value("${reliaquest.api.upstream-rate-limit-max}")
+    private double upstreamRateLimitMax;
+
+    @Value("${reliaquest.api.upstream-rate-limit-min}")
+    private double upstreamRateLimitMin;
+
+    @Value("${reliaquest.api.upstream-rate-limit-burst}")
+    private double upstreamRateLimitBurst;
+
+    @Value("${reliaquest.api.upstream-rate-limit-read-max-wait}")
+    private long upstreamRateLimitReadMaxWait;
+
+    @Value("${reliaquest.api.upstream-rate-limit-write-max-wait}")
+    private long upstreamRateLimitWriteMaxWait;
+
+    @Value("${reliaquest.api.hedge-percentile}")
+    private double hedgePercentile;
+
+    @Value("${reliaquest.api.hedge-min-delay}")
+    private long hedgeMinDelay;
+
+    @Value("${reliaquest.api.hedge-budget}")
+    private double hedgeBudget;
+
+    @Value("${reliaquest.api.employee-index-max-age}")
+    private long employeeIndexMaxAge;
+
+    @Value("${reliaquest.api.employees-soft-ttl}")
+    private long employeesSoftTtl;
+
+    @Value("${reliaquest.api.redis-fetch-lock-ttl}")
+    private long redisFetchLockTtl;
 
     private final Logger logger = LoggerFactory.getLogger(EmployeeServiceImpl.class);
 
+    private static final String EMPLOYEES_FLIGHT = "employees";
+    private static final long FETCH_LOCK_POLL_INTERVAL_MS = 50;
+
+    private final AtomicBoolean employeesRefreshInFlight = new AtomicBoolean();
+
+    // Concurrent cache misses for the same key share one upstream call instead of each making their own
+    private final SingleFlight<String, ResponseEntity<List<Employee>>> employeesFlight = new SingleFlight<>();
+    private final SingleFlight<String, ResponseEntity<Employee>> employeeFlight = new SingleFlight<>();
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    // One background refresh at a time. The thread exits once idle rather than staying parked in the executor, which
+    // in virtual mode would be a pooled virtual thread
+    private final ExecutorService refreshExecutor = new ThreadPoolExecutor(
+            0, 1, 1, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), threadFactory("employees-refresh"));
+
+    // Runs the second request of a hedged lookup, retries stay on the caller's thread. Null when hedging is disabled
+    private ExecutorService hedgeExecutor;
+
+    private final RetryScheduler retryScheduler = new RetryScheduler();
+
+    private CircuitBreaker circuitBreaker; // Null when disabled
+
+    private Semaphore upstreamLimiter; // Upstream calls allowed in flight at once, null when unlimited
+
+    private AdaptiveRateLimiter rateLimiter; // Shared by every upstream call, null when disabled
+
+    private RequestHedger requestHedger; // Hedges slow lookups by id, null when disabled
+
+    // Built from the roster, then updated in place by creates and deletes
+    private EmployeeIndex employeeIndex = new EmployeeIndex();
+
+    // Last list fetched from upstream, served while the upstream is unavailable and the cache has nothing
+    private volatile List<Employee> lastKnownEmployees;
+
     private RawRedisCache rawRedisCache;
 
+    private UpstreamMetrics upstreamMetrics = new UpstreamMetrics();
+
+    private Tracer tracer = Tracer.NOOP;
+
+    /*
+     * Threads for the two internal executors, the background refresh and the hedge. The flag is read when a thread is
+     * created, which is after injection, so with spring.threads.virtual.enabled both run their tasks on virtual threads
+     * like Tomcat does; otherwise on daemon platform threads. Retries have no executor, they sleep on the request
+     * thread.
+     */
+    private ThreadFactory threadFactory(String name) {
+        AtomicInteger count = new AtomicInteger();
+        return runnable -> {
+            String threadName = name + "-" + count.incrementAndGet();
+            if (virtualThreads) {
+                return Thread.ofVirtual().name(threadName).unstarted(runnable);
+            }
+            Thread thread = new Thread(runnable, threadName);
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    // Virtual threads are cheap to start and aren't meant to be pooled, so in that mode every task gets a new one
+    private ExecutorService taskExecutor(String name) {
+        return virtualThreads
+                ? Executors.newThreadPerTaskExecutor(threadFactory(name))
+                : Executors.newCachedThreadPool(threadFactory(name));
+    }
+
+    @PostConstruct
+    public void initUpstreamGuards() {
+        if (circuitBreakerWindow > 0) {
+            setCircuitBreaker(new CircuitBreaker(
+                    "employee-api",
+                    circuitBreakerWindow,
+                    circuitBreakerMinimumCalls,
+                    circuitBreakerFailureRate,
+                    circuitBreakerOpenDuration,
+                    circuitBreakerHalfOpenCalls));
+        }
+        setUpstreamMaxConcurrency(upstreamMaxConcurrency);
+        if (upstreamRateLimitMax > 0) {
+            setRateLimiter(new AdaptiveRateLimiter(
+                    upstreamRateLimitMin,
+                    upstreamRateLimitMax,
+                    upstreamRateLimitBurst,
+                    upstreamRateLimitReadMaxWait,
+                    upstreamRateLimitWriteMaxWait));
+        }
+        if (hedgePercentile > 0) {
+            hedgeExecutor = taskExecutor("upstream-hedge"); // Created here, once the virtual thread flag is injected
+            setRequestHedger(
+                    new RequestHedger("Get employee", hedgePercentile, hedgeMinDelay, hedgeBudget, hedgeExecutor));
+        }
+    }
+
     @Autowired
-    public void setRawRedisCache() {
-        this.rawRedisCache = new RawRedisCache(redisHost, redisPort);
+    public void setRawRedisCache(RawRedisCache rawRedisCache) {
+        this.rawRedisCache = rawRedisCache;
+    }
+
+    @Autowired(required = false)
+    public void setMeterRegistry(MeterRegistry meterRegistry) {
+        this.upstreamMetrics = new UpstreamMetrics(meterRegistry);
+    }
+
+    @Autowired(required = false)
+    public void setTracer(Tracer tracer) {
+        this.tracer = tracer;
+        retryScheduler.setTracer(tracer);
+    }
+
+    @PreDestroy
+    public void shutdownExecutors() {
+        refreshExecutor.shutdownNow();
+        if (hedgeExecutor != null) {
+            hedgeExecutor.shutdownNow();
+        }
     }
 
     public void setApiUrl(String apiUrl) {
@@ -62,66 +249,223 @@ public class EmployeeServiceImpl implements EmployeeService {
         this.retryInitialDelay = retryInitialDelay;
     }
 
+    public void setRetryMaxDelayMS(long retryMaxDelay) {
+        this.retryMaxDelay = retryMaxDelay;
+    }
+
+    public void setRetryDeadlineMS(long retryDeadline) {
+        this.retryDeadline = retryDeadline;
+    }
+
+    public void setCircuitBreaker(CircuitBreaker circuitBreaker) {
+        this.circuitBreaker = circuitBreaker;
+    }
+
+    public void setUpstreamMaxConcurrency(int upstreamMaxConcurrency) {
+        this.upstreamLimiter = upstreamMaxConcurrency > 0 ? new Semaphore(upstreamMaxConcurrency) : null;
+    }
+
+    public void setRateLimiter(AdaptiveRateLimiter rateLimiter) {
+        this.rateLimiter = rateLimiter;
+    }
+
+    public void setRequestHedger(RequestHedger requestHedger) {
+        this.requestHedger = requestHedger;
+    }
+
+    /** Hedge delay and how many lookups were hedged, or null when hedging is disabled. */
+    public RequestHedger.Stats getHedgeStats() {
+        RequestHedger hedger = requestHedger;
+        return hedger != null ? hedger.getStats() : null;
+    }
+
+    /** Current permitted upstream request rate, or null when rate limiting is disabled. */
+    public AdaptiveRateLimiter.Stats getRateLimiterStats() {
+        AdaptiveRateLimiter limiter = rateLimiter;
+        return limiter != null ? limiter.getStats() : null;
+    }
+
+    public void setEmployeeIndexMaxAge(long employeeIndexMaxAge) {
+        this.employeeIndexMaxAge = employeeIndexMaxAge;
+    }
+
+    /** Replaces the (not yet built) index with one that keeps this many top earners ranked. */
+    @Value("${reliaquest.api.top-earners-tracked:" + EmployeeIndex.DEFAULT_TOP_EARNERS + "}")
+    public void setTopEarnersTracked(int topEarnersTracked) {
+        this.employeeIndex = new EmployeeIndex(topEarnersTracked);
+    }
+
+    public void setEmployeesSoftTtl(long employeesSoftTtl) {
+        this.employeesSoftTtl = employeesSoftTtl;
+    }
+
+    public void setRedisFetchLockTtl(long redisFetchLockTtl) {
+        this.redisFetchLockTtl = redisFetchLockTtl;
+    }
+
     @Override
     public ResponseEntity<List<Employee>> getAllEmployees() {
-        ResponseEntity<List<Employee>> employees = geEmployeesFromCache();
-        if (employees != null
-                && (!employees.getBody().isEmpty())
-                && employees.getBody().size() != 0) {
-            return ResponseEntity.ok(employees.getBody());
+        RawRedisCache.CachedEmployees employees = getEmployeesEntryFromCache();
+        if (employees != null && !employees.employees().isEmpty()) {
+            if (isSoftExpired(employees)) {
+                // Serve what we have right away and let one background task go to the slow upstream
+                refreshEmployeesInBackground();
+            }
+            return ResponseEntity.ok(employees.employees());
         }
 
-        int delay = retryInitialDelay;
-        logger.debug("Making API call to {} to get all employees.", apiUrl);
+        ResponseEntity<List<Employee>> response = employeesFlight.execute(
+                EMPLOYEES_FLIGHT,
+                () -> loadWithFetchLock(
+                        RawRedisCache.EMPLOYEES_KEY, this::cachedEmployeesResponse, this::fetchAllEmployeesFromApi));
+
+        List<Employee> lastKnown = lastKnownEmployees;
+        if (response.getStatusCode() == HttpStatus.SERVICE_UNAVAILABLE && lastKnown != null) {
+            logger.warn("Employee API unavailable, serving the last known list of {} employees.", lastKnown.size());
+            return ResponseEntity.ok(lastKnown);
+        }
+        return response;
+    }
+
+    /*
+     * Answers from the index while it was synced with the roster less than employee-index-max-age ago; creates and
+     * deletes made here are applied to it in place. After that the roster is read again, usually from the cache, so
+     * changes made through other instances show up within the max age. Syncing with the same cached list is free.
+     */
+    @Override
+    public ResponseEntity<EmployeeIndex> getEmployeeIndex() {
+        if (employeeIndex.isFresh(employeeIndexMaxAge)) {
+            return ResponseEntity.ok(employeeIndex);
+        }
+        ResponseEntity<List<Employee>> employees = getAllEmployees();
+        if (!employees.getStatusCode().is2xxSuccessful() || employees.getBody() == null) {
+            return ResponseEntity.status(employees.getStatusCode()).build();
+        }
+        employeeIndex.sync(employees.getBody());
+        return ResponseEntity.ok(employeeIndex);
+    }
+
+    private ResponseEntity<List<Employee>> cachedEmployeesResponse() {
+        RawRedisCache.CachedEmployees employees = getEmployeesEntryFromCache();
+        return employees != null && !employees.employees().isEmpty() ? ResponseEntity.ok(employees.employees()) : null;
+    }
 
-        for (int attempt = 1; attempt <= retryMaxAttempts; attempt++) {
-            logger.debug("Attempt {} of Max Attempts {}.", attempt, retryMaxAttempts);
+    /*
+     * Coalesces a cache miss across instances. With the fetch lock enabled only the instance holding the Redis lock
+     * for this key calls upstream; the others poll the cache until the holder has written its result, and fall back
+     * to calling upstream themselves if that takes longer than the lock TTL.
+     */
+    private <T> ResponseEntity<T> loadWithFetchLock(
+            String key, Supplier<ResponseEntity<T>> cacheLookup, Supplier<ResponseEntity<T>> upstreamFetch) {
+        if (redisFetchLockTtl <= 0 || this.rawRedisCache == null) {
+            return upstreamFetch.get();
+        }
+
+        String token = UUID.randomUUID().toString();
+        long deadline = System.currentTimeMillis() + redisFetchLockTtl;
+        while (!rawRedisCache.tryLock(key, token, redisFetchLockTtl)) {
+            ResponseEntity<T> cached = cacheLookup.get();
+            if (cached != null) {
+                logger.debug("Another instance loaded {} while we waited for the fetch lock.", key);
+                return cached;
+            }
+            if (System.currentTimeMillis() >= deadline) {
+                logger.warn("Timed out waiting for the fetch lock on {}, calling the API directly.", key);
+                return upstreamFetch.get();
+            }
             try {
-                ResponseEntity<ApiResponse<List<Employee>>> response = restTemplate.exchange(
-                        apiUrl, HttpMethod.GET, null, new ParameterizedTypeReference<ApiResponse<List<Employee>>>() {});
-                logger.debug("API response status code: {}", response.getStatusCode());
-
-                if (!response.getStatusCode().is2xxSuccessful() || response.getBody() == null) {
-                    String errorMessage = "API request failed with status code: "
-                            + response.getStatusCode().value()
-                            + (response.getBody() != null
-                                    ? ", message: " + response.getBody().getStatus()
-                                    : "");
-                    logger.error(errorMessage);
-
-                    return ResponseEntity.status(response.getStatusCode()).body(null);
-                }
+                Thread.sleep(FETCH_LOCK_POLL_INTERVAL_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return upstreamFetch.get();
+            }
+        }
 
-                addEmployeesToCache(ResponseEntity.ok(response.getBody().getData()));
+        try {
+            ResponseEntity<T> cached =
+                    cacheLookup.get(); // The previous holder may have filled it just before releasing
+            return cached != null ? cached : upstreamFetch.get();
+        } finally {
+            rawRedisCache.unlock(key, token);
+        }
+    }
 
-                logger.debug(
-                        "Successfully retrieved {} employees from API",
-                        response.getBody().getData().size());
-                return ResponseEntity.ok(response.getBody().getData());
-            } catch (HttpServerErrorException | HttpClientErrorException.TooManyRequests e) {
-                if (attempt < retryMaxAttempts) {
-                    logger.warn("API call failed (attempt {}/{}), retrying in {}ms", attempt, retryMaxAttempts, delay);
-                    try {
-                        Thread.sleep(delay);
-                    } catch (InterruptedException ex) {
-                        Thread.currentThread().interrupt(); // Restore interrupted status
-                        logger.error("Thread interrupted during backoff", ex);
-                        return ResponseEntity.internalServerError().build();
+    private boolean isSoftExpired(RawRedisCache.CachedEmployees employees) {
+        return employeesSoftTtl > 0 && System.currentTimeMillis() - employees.writtenAt() >= employeesSoftTtl;
+    }
+
+    private void refreshEmployeesInBackground() {
+        if (!employeesRefreshInFlight.compareAndSet(false, true)) {
+            return; // Someone is already refreshing
+        }
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    logger.debug("Cached employee list is past its soft TTL, refreshing in the background.");
+                    // Joins a load that is already running for a concurrent miss instead of starting another
+                    ResponseEntity<List<Employee>> refreshed =
+                            employeesFlight.execute(EMPLOYEES_FLIGHT, this::refreshEmployees);
+                    if (!refreshed.getStatusCode().is2xxSuccessful()) {
+                        logger.warn(
+                                "Background refresh of employees failed with status {}, keep serving cached list",
+                                refreshed.getStatusCode());
                     }
-                    delay *= 2; // Exponential backoff
-                } else {
-                    logger.error("API call failed after {} attempts", retryMaxAttempts, e);
-                    return ResponseEntity.internalServerError().build();
+                } finally {
+                    employeesRefreshInFlight.set(false);
                 }
+            });
+        } catch (RejectedExecutionException e) {
+            employeesRefreshInFlight.set(false);
+        }
+    }
 
-            } catch (Exception e) {
-                logger.error("Error getting all employees from API", e);
-                return ResponseEntity.internalServerError().build();
-            }
+    // Soft-expired refresh: skip the upstream call if another instance holds the fetch lock, it's refreshing already
+    private ResponseEntity<List<Employee>> refreshEmployees() {
+        if (redisFetchLockTtl <= 0 || this.rawRedisCache == null) {
+            return fetchAllEmployeesFromApi();
         }
+        String token = UUID.randomUUID().toString();
+        if (!rawRedisCache.tryLock(RawRedisCache.EMPLOYEES_KEY, token, redisFetchLockTtl)) {
+            ResponseEntity<List<Employee>> cached = cachedEmployeesResponse();
+            return cached != null ? cached : fetchAllEmployeesFromApi();
+        }
+        try {
+            return fetchAllEmployeesFromApi();
+        } finally {
+            rawRedisCache.unlock(RawRedisCache.EMPLOYEES_KEY, token);
+        }
+    }
 
-        throw new IllegalStateException(
-                "This should never happen. Max attempts reached without a result or exception.");
+    // Calls the upstream API with retries and writes the result to the cache
+    private ResponseEntity<List<Employee>> fetchAllEmployeesFromApi() {
+        logger.debug("Making API call to {} to get all employees.", apiUrl);
+
+        UpstreamMetrics.Attempts attempts = upstreamMetrics.attempts(UpstreamMetrics.Endpoint.GET_ALL);
+        return callWithRetry("Get all employees", AdaptiveRateLimiter.Priority.READ, () -> {
+            ResponseEntity<ApiResponse<List<Employee>>> response = attempts.record(() -> restTemplate.exchange(
+                    apiUrl, HttpMethod.GET, null, new ParameterizedTypeReference<ApiResponse<List<Employee>>>() {}));
+            logger.debug("API response status code: {}", response.getStatusCode());
+
+            if (!response.getStatusCode().is2xxSuccessful() || response.getBody() == null) {
+                logger.error(
+                        "API request failed with status code: {}, message: {}",
+                        response.getStatusCode(),
+                        response.getBody() != null ? response.getBody().getStatus() : null);
+
+                return ResponseEntity.status(response.getStatusCode()).body(null);
+            }
+
+            addEmployeesToCache(ResponseEntity.ok(response.getBody().getData()));
+            lastKnownEmployees = response.getBody().getData();
+            employeeIndex.sync(response.getBody().getData());
+
+            if (logger.isDebugEnabled()) {
+                logger.debug(
+                        "Successfully retrieved {} employees from API",
+                        response.getBody().getData().size());
+            }
+            return ResponseEntity.ok(response.getBody().getData());
+        });
     }
 
     @Override
@@ -131,125 +475,153 @@ public class EmployeeServiceImpl implements EmployeeService {
             return ResponseEntity.ok(employee);
         }
 
-        int delay = retryInitialDelay;
+        ResponseEntity<Employee> response = employeeFlight.execute(
+                id,
+                () -> loadWithFetchLock(
+                        RawRedisCache.EMPLOYEE_BY_ID_PREFIX + id,
+                        () -> {
+                            Employee cached = geEmployeeFromCache(id);
+                            return cached != null ? ResponseEntity.ok(cached) : null;
+                        },
+                        () -> fetchEmployeeFromApi(id)));
+
+        List<Employee> lastKnown = lastKnownEmployees;
+        if (response.getStatusCode() == HttpStatus.SERVICE_UNAVAILABLE && lastKnown != null) {
+            for (Employee known : lastKnown) {
+                if (id.equals(known.getId())) {
+                    logger.warn("Employee API unavailable, serving last known copy of employee {}.", id);
+                    return ResponseEntity.ok(known);
+                }
+            }
+        }
+        return response;
+    }
 
+    // Calls the upstream API with retries and writes the employee to the cache
+    private ResponseEntity<Employee> fetchEmployeeFromApi(String id) {
         logger.debug("Getting employee by ID: {}", id);
 
-        for (int attempt = 1; attempt <= retryMaxAttempts; attempt++) {
-            try {
-                String employeeUrl =
-                        UriComponentsBuilder.fromHttpUrl(apiUrl).pathSegment(id).toUriString();
+        UpstreamMetrics.Attempts attempts = upstreamMetrics.attempts(UpstreamMetrics.Endpoint.GET_BY_ID);
+        return callWithRetry("Get employee " + id, AdaptiveRateLimiter.Priority.READ, () -> {
+            String employeeUrl =
+                    UriComponentsBuilder.fromHttpUrl(apiUrl).pathSegment(id).toUriString();
 
-                logger.debug("Making API call to: {}", employeeUrl);
+            logger.debug("Making API call to: {}", employeeUrl);
 
-                ResponseEntity<ApiResponse<Employee>> response = restTemplate.exchange(
-                        employeeUrl, HttpMethod.GET, null, new ParameterizedTypeReference<ApiResponse<Employee>>() {});
+            // A GET is idempotent, so a slow one may be raced by an identical second request
+            ResponseEntity<ApiResponse<Employee>> response = attempts.record(() -> hedged(() -> restTemplate.exchange(
+                    employeeUrl, HttpMethod.GET, null, new ParameterizedTypeReference<ApiResponse<Employee>>() {})));
 
-                logger.debug(
-                        "API response status code: {}", response.getStatusCode().value());
+            logger.debug("API response status code: {}", response.getStatusCode());
 
-                if (response.getStatusCode() == HttpStatus.NOT_FOUND) {
-                    logger.warn("Employee not found for ID: {}", id);
+            if (response.getStatusCode() == HttpStatus.NOT_FOUND) {
+                logger.warn("Employee not found for ID: {}", id);
 
-                    return ResponseEntity.notFound().build(); // Return 404 Not Found
-                } else if (!response.getStatusCode().is2xxSuccessful() || response.getBody() == null) {
-                    String errorMessage = "API request failed for ID: " + id + ", status code: "
-                            + response.getStatusCode().value()
-                            + (response.getBody() != null
-                                    ? ", message: " + response.getBody().getStatus()
-                                    : "");
-                    logger.error(errorMessage);
+                return ResponseEntity.notFound().build(); // Return 404 Not Found
+            } else if (!response.getStatusCode().is2xxSuccessful() || response.getBody() == null) {
+                logger.error(
+                        "API request failed for ID: {}, status code: {}, message: {}",
+                        id,
+                        response.getStatusCode(),
+                        response.getBody() != null ? response.getBody().getStatus() : null);
 
-                    return ResponseEntity.status(response.getStatusCode()).build();
-                }
+                return ResponseEntity.status(response.getStatusCode()).build();
+            }
 
-                ResponseEntity<Employee> employeeResponse =
-                        new ResponseEntity<>(response.getBody().getData(), response.getStatusCode());
-                addEmployeeToCache(employeeResponse);
+            ResponseEntity<Employee> employeeResponse =
+                    new ResponseEntity<>(response.getBody().getData(), response.getStatusCode());
+            addEmployeeToCache(employeeResponse);
 
-                logger.debug(
-                        "Successfully retrieved employee id: {}",
-                        response.getBody().getData().getId());
-                return ResponseEntity.ok(response.getBody().getData());
-            } catch (HttpServerErrorException
-                    | HttpClientErrorException.TooManyRequests e) { // Catch only the retryable exception
-                if (attempt < retryMaxAttempts) {
-                    logger.warn("API call failed (attempt {}/{}), retrying in {}ms", attempt, retryMaxAttempts, delay);
-                    try {
-                        Thread.sleep(delay);
-                    } catch (InterruptedException ex) {
-                        Thread.currentThread().interrupt(); // Restore interrupted status
-                        logger.error("Thread interrupted during backoff", ex);
-                        return ResponseEntity.internalServerError().build();
-                    }
-                    delay *= 2; // Exponential backoff
-                } else {
-                    logger.error("API call failed after {} attempts", retryMaxAttempts, e);
-                    return ResponseEntity.internalServerError().build();
+            logger.debug(
+                    "Successfully retrieved employee id: {}",
+                    response.getBody().getData().getId());
+            return ResponseEntity.ok(response.getBody().getData());
+        });
+    }
+
+    /*
+     * The first request already holds the attempt's concurrency slot, rate limiter permit and breaker permission. The
+     * hedge is only sent if it can have its own right away: the breaker would let it through, a concurrency slot is
+     * free and a rate limiter permit is usable now. It then reports its outcome to the breaker and the limiter like any
+     * other request. Nothing is held between admitting the hedge and starting it, so a hedge cancelled before it runs
+     * leaks nothing; one that loses the race for the concurrency slot fails fast and the first request carries on.
+     */
+    private <T> ResponseEntity<T> hedged(Callable<ResponseEntity<T>> call) throws Exception {
+        RequestHedger hedger = requestHedger;
+        if (hedger == null) {
+            return call.call();
+        }
+        Semaphore concurrencyLimiter = upstreamLimiter;
+        CircuitBreaker breaker = circuitBreaker;
+        AdaptiveRateLimiter limiter = rateLimiter;
+        Callable<ResponseEntity<T>> guardedHedge = guarded(call);
+        Callable<ResponseEntity<T>> hedge = () -> {
+            if (concurrencyLimiter != null && !concurrencyLimiter.tryAcquire()) {
+                throw new IllegalStateException("No upstream concurrency slot left for the hedge");
+            }
+            try {
+                return guardedHedge.call();
+            } finally {
+                if (concurrencyLimiter != null) {
+                    concurrencyLimiter.release();
                 }
-            } catch (Exception e) {
-                logger.error("Error getting employee by ID: " + id, e);
-                return ResponseEntity.internalServerError().build();
             }
-        }
+        };
+        return hedger.execute(inCurrentSpan(call), inCurrentSpan(hedge), () -> {
+            if (breaker != null && !breaker.isCallPermitted()) {
+                return false;
+            }
+            if (concurrencyLimiter != null && concurrencyLimiter.availablePermits() == 0) {
+                return false;
+            }
+            return limiter == null || limiter.tryAcquire();
+        });
+    }
 
-        throw new IllegalStateException(
-                "This should never happen. Max attempts reached without a result or exception.");
+    // The hedger runs calls on its own threads; their client spans still belong under the attempt that made them
+    @SuppressWarnings("try")
+    private <T> Callable<T> inCurrentSpan(Callable<T> call) {
+        Span span = tracer.currentSpan();
+        if (span == null) {
+            return call;
+        }
+        return () -> {
+            try (Tracer.SpanInScope ignoredScope = tracer.withSpan(span)) {
+                return call.call();
+            }
+        };
     }
 
     @Override
     public ResponseEntity<Employee> createEmployee(EmployeeInput employeeInput) {
-        int delay = retryInitialDelay;
-        for (int attempt = 1; attempt <= retryMaxAttempts; attempt++) {
-            try {
-                HttpHeaders headers = new HttpHeaders();
-                headers.setContentType(MediaType.APPLICATION_JSON);
+        UpstreamMetrics.Attempts attempts = upstreamMetrics.attempts(UpstreamMetrics.Endpoint.CREATE);
+        return callWithRetry("Create employee", AdaptiveRateLimiter.Priority.WRITE, () -> {
+            HttpHeaders headers = new HttpHeaders();
+            headers.setContentType(MediaType.APPLICATION_JSON);
 
-                HttpEntity<EmployeeInput> request = new HttpEntity<>(employeeInput, headers);
+            HttpEntity<EmployeeInput> request = new HttpEntity<>(employeeInput, headers);
 
-                logger.debug("Calling external API to create employee at URL: {}", apiUrl);
-                ResponseEntity<ApiResponse<Employee>> response = restTemplate.exchange(
-                        apiUrl, HttpMethod.POST, request, new ParameterizedTypeReference<ApiResponse<Employee>>() {});
+            logger.debug("Calling external API to create employee at URL: {}", apiUrl);
+            ResponseEntity<ApiResponse<Employee>> response = attempts.record(() -> restTemplate.exchange(
+                    apiUrl, HttpMethod.POST, request, new ParameterizedTypeReference<ApiResponse<Employee>>() {}));
 
-                if (!response.getStatusCode().is2xxSuccessful() || response.getBody() == null) {
-                    logger.warn("Received non-2xx status code from API: {}", response.getStatusCode());
-                    return new ResponseEntity<>(response.getStatusCode());
-                }
-
-                ResponseEntity<Employee> employee =
-                        new ResponseEntity<>(response.getBody().getData(), response.getStatusCode());
+            if (!response.getStatusCode().is2xxSuccessful() || response.getBody() == null) {
+                logger.warn("Received non-2xx status code from API: {}", response.getStatusCode());
+                return new ResponseEntity<>(response.getStatusCode());
+            }
 
-                removeEmployeesFromCache();
-                addEmployeeToCache(employee);
+            ResponseEntity<Employee> employee =
+                    new ResponseEntity<>(response.getBody().getData(), response.getStatusCode());
 
-                logger.debug(
-                        "Successfully created employee id: {}",
-                        response.getBody().getData().getId());
-                return (employee);
-            } catch (HttpServerErrorException
-                    | HttpClientErrorException.TooManyRequests e) { // Catch only the retryable exception
-                if (attempt < retryMaxAttempts) {
-                    logger.warn("API call failed (attempt {}/{}), retrying in {}ms", attempt, retryMaxAttempts, delay);
-                    try {
-                        Thread.sleep(delay);
-                    } catch (InterruptedException ex) {
-                        Thread.currentThread().interrupt();
-                        logger.error("Thread interrupted during backoff", ex);
-                        return ResponseEntity.internalServerError().build();
-                    }
-                    delay *= 2; // Exponential backoff
-                } else {
-                    logger.error("API call failed after {} attempts", retryMaxAttempts, e);
-                    return ResponseEntity.internalServerError().build();
-                }
-            } catch (Exception e) {
-                logger.error("Exception during createEmployee: {}", e.getMessage(), e);
-                return ResponseEntity.internalServerError().build();
-            }
-        }
+            removeEmployeesFromCache();
+            addEmployeeToCache(employee);
+            employeeIndex.put(employee.getBody());
 
-        throw new IllegalStateException(
-                "This should never happen. Max attempts reached without a result or exception.");
+            logger.debug(
+                    "Successfully created employee id: {}",
+                    response.getBody().getData().getId());
+            return (employee);
+        });
     }
 
     public static boolean hasDuplicateName(List<Employee> allEmployees, String employeeName) {
@@ -277,66 +649,151 @@ public class EmployeeServiceImpl implements EmployeeService {
             return new ResponseEntity<>("Employee not found", HttpStatus.CONFLICT);
         }
 
-        int delay = retryInitialDelay;
-        for (int attempt = 1; attempt <= retryMaxAttempts; attempt++) {
+        UpstreamMetrics.Attempts attempts = upstreamMetrics.attempts(UpstreamMetrics.Endpoint.DELETE);
+        return callWithRetry("Delete employee " + employeeName, AdaptiveRateLimiter.Priority.WRITE, () -> {
+            logger.debug("Deleting employee with name: {}", employeeName);
+
+            HttpHeaders headers = new HttpHeaders();
+            headers.setContentType(MediaType.APPLICATION_JSON);
+
+            String requestBodyJson = String.format("{\"name\": \"%s\"}", employeeName);
+            HttpEntity<String> requestEntity = new HttpEntity<>(requestBodyJson, headers);
+
+            logger.debug("Calling API to delete employee at URL: {}", apiUrl);
+            ResponseEntity<ApiResponse<String>> deleteResponse = attempts.record(() -> restTemplate.exchange(
+                    apiUrl,
+                    HttpMethod.DELETE,
+                    requestEntity,
+                    new ParameterizedTypeReference<ApiResponse<String>>() {}));
+
+            if (deleteResponse.getStatusCode() == HttpStatus.NOT_FOUND) {
+                logger.warn("Employee not found for deletion (API response): {}", employeeName);
+                return new ResponseEntity<>("Employee not found", HttpStatus.NOT_FOUND);
+            } else if (!deleteResponse.getStatusCode().is2xxSuccessful()) {
+                logger.warn(
+                        "Failed to delete employee. API Status: {}, Response Body: {}",
+                        deleteResponse.getStatusCode(),
+                        deleteResponse.getBody());
+                return new ResponseEntity<>(deleteResponse.getBody().getStatus(), deleteResponse.getStatusCode());
+            }
+            String deleteStatus = deleteResponse.getBody().getData(); // Get the status of the deletion
+            if (deleteStatus.equals("true")) {
+                logger.info("Successfully deleted employee: {}", employeeName);
+                removeEmployeeFromCache(employeeId); // Evict from by ID cache
+                removeEmployeesFromCache(); // Evict all employees list from cache
+                employeeIndex.remove(employeeId);
+                return ResponseEntity.ok(employeeName); // Return the name directly
+            } else {
+                logger.error("API Endpoint did not return true");
+                return ResponseEntity.internalServerError().build();
+            }
+        });
+    }
+
+    /*
+     * Runs an upstream call through the shared retry scheduler. The synchronous EmployeeService contract means the caller
+     * waits for the final result anyway, so every attempt runs on the caller's thread and it sleeps through the backoff
+     * delays; the deadline budget bounds that wait. The sleep is only cheap on virtual request threads, on platform
+     * threads it holds a Tomcat thread for the whole wait. Anything that isn't a successful or handled response turns
+     * into a 500, as before. Calls over the concurrency limit, calls rejected by an open circuit breaker and calls the
+     * rate limiter can't fit in, whether past its own max wait or past the retry deadline, fail fast with a 503 instead
+     * of queueing up.
+     */
+    private <T> ResponseEntity<T> callWithRetry(
+            String operation, AdaptiveRateLimiter.Priority priority, Callable<ResponseEntity<T>> call) {
+        Semaphore concurrencyLimiter = upstreamLimiter;
+        if (concurrencyLimiter != null && !concurrencyLimiter.tryAcquire()) {
+            logger.warn("Too many concurrent calls to the employee API, shedding {}", operation);
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+
+        RetryScheduler.Policy policy = new RetryScheduler.Policy(
+                retryMaxAttempts, retryInitialDelay, retryMaxDelay, retryJitter, retryDeadline);
+        try {
+            return retryScheduler.call(operation, policy, guarded(call), admission(priority));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt(); // Restore interrupted status
+            logger.error("Thread interrupted while waiting for {}", operation, e);
+            return ResponseEntity.internalServerError().build();
+        } catch (CircuitBreaker.OpenException
+                | AdaptiveRateLimiter.RateLimitedException
+                | RetryScheduler.NotAdmittedException e) {
+            logger.warn("{} rejected: {}", operation, e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        } catch (RetryScheduler.RetriesExhaustedException e) {
+            logger.error(e.getMessage(), e.getCause());
+            return ResponseEntity.internalServerError().build();
+        } catch (Exception e) {
+            logger.error("Error during {}: {}", operation, e.getMessage(), e);
+            return ResponseEntity.internalServerError().build();
+        } finally {
+            if (concurrencyLimiter != null) {
+                concurrencyLimiter.release();
+            }
+        }
+    }
+
+    // Runs before each attempt: an open breaker rejects the call before it takes a rate limiter permit or waits for
+    // one, and the limiter only hands out a permit whose wait fits in what's left of the retry deadline
+    private LongUnaryOperator admission(AdaptiveRateLimiter.Priority priority) {
+        CircuitBreaker breaker = circuitBreaker;
+        AdaptiveRateLimiter limiter = rateLimiter;
+        if (breaker == null && limiter == null) {
+            return null;
+        }
+        return remainingMs -> {
+            if (breaker != null && !breaker.isCallPermitted()) {
+                throw new CircuitBreaker.OpenException("employee-api");
+            }
+            return limiter != null ? limiter.reserve(priority, remainingMs) : 0;
+        };
+    }
+
+    // Each attempt, retries included, asks the breaker first and reports back whether the upstream itself failed.
+    // The rate limiter learns from the same outcomes: successes raise the permitted rate, 429s cut it.
+    private <T> Callable<ResponseEntity<T>> guarded(Callable<ResponseEntity<T>> call) {
+        CircuitBreaker breaker = circuitBreaker;
+        AdaptiveRateLimiter limiter = rateLimiter;
+        if (breaker == null && limiter == null) {
+            return call;
+        }
+        return () -> {
+            if (breaker != null && !breaker.tryAcquirePermission()) {
+                throw new CircuitBreaker.OpenException("employee-api");
+            }
+            boolean outcomeRecorded = false;
             try {
-                logger.debug("Deleting employee with name: {}", employeeName);
-
-                HttpHeaders headers = new HttpHeaders();
-                headers.setContentType(MediaType.APPLICATION_JSON);
-
-                String requestBodyJson = String.format("{\"name\": \"%s\"}", employeeName);
-                HttpEntity<String> requestEntity = new HttpEntity<>(requestBodyJson, headers);
-
-                logger.debug("Calling API to delete employee at URL: {}", apiUrl);
-                ResponseEntity<ApiResponse<String>> deleteResponse = restTemplate.exchange(
-                        apiUrl,
-                        HttpMethod.DELETE,
-                        requestEntity,
-                        new ParameterizedTypeReference<ApiResponse<String>>() {});
-
-                if (deleteResponse.getStatusCode() == HttpStatus.NOT_FOUND) {
-                    logger.warn("Employee not found for deletion (API response): {}", employeeName);
-                    return new ResponseEntity<>("Employee not found", HttpStatus.NOT_FOUND);
-                } else if (!deleteResponse.getStatusCode().is2xxSuccessful()) {
-                    logger.warn(
-                            "Failed to delete employee. API Status: {}, Response Body: {}",
-                            deleteResponse.getStatusCode(),
-                            deleteResponse.getBody());
-                    return new ResponseEntity<>(deleteResponse.getBody().getStatus(), deleteResponse.getStatusCode());
+                ResponseEntity<T> response = call.call();
+                if (breaker != null) {
+                    breaker.onSuccess();
+                    outcomeRecorded = true;
+                }
+                if (limiter != null) {
+                    limiter.onSuccess();
+                }
+                return response;
+            } catch (Exception e) {
+                if (Thread.currentThread().isInterrupted()) {
+                    throw e; // Cancelled, such as a hedge that lost the race; says nothing about the upstream
                 }
-                String deleteStatus = deleteResponse.getBody().getData(); // Get the status of the deletion
-                if (deleteStatus.equals("true")) {
-                    logger.info("Successfully deleted employee: {}", employeeName);
-                    removeEmployeeFromCache(employeeId); // Evict from by ID cache
-                    removeEmployeesFromCache(); // Evict all employees list from cache
-                    return ResponseEntity.ok(employeeName); // Return the name directly
-                } else {
-                    logger.error("API Endpoint did not return true");
-                    return ResponseEntity.internalServerError().build();
+                if (limiter != null && e instanceof HttpClientErrorException.TooManyRequests) {
+                    limiter.onThrottled(RetryScheduler.retryAfterMs(e));
                 }
-            } catch (HttpServerErrorException | HttpClientErrorException.TooManyRequests e) {
-                if (attempt < retryMaxAttempts) {
-                    logger.warn("API call failed (attempt {}/{}), retrying in {}ms", attempt, retryMaxAttempts, delay);
-                    try {
-                        Thread.sleep(delay);
-                    } catch (InterruptedException ex) {
-                        Thread.currentThread().interrupt();
-                        logger.error("Thread interrupted during backoff", ex);
-                        return ResponseEntity.internalServerError().build();
+                if (breaker != null) {
+                    if (RetryScheduler.isRetryable(e) || e instanceof ResourceAccessException) {
+                        breaker.onFailure(); // 5xx, 429, timeouts and connection errors
+                    } else {
+                        breaker.onSuccess(); // The upstream answered, the problem is on our side or the request's
                     }
-                    delay *= 2; // Exponential backoff
-                } else {
-                    logger.error("API call failed after {} attempts", retryMaxAttempts, e);
-                    return ResponseEntity.internalServerError().build();
+                    outcomeRecorded = true;
+                }
+                throw e;
+            } finally {
+                if (breaker != null && !outcomeRecorded) {
+                    breaker.releasePermission(); // An Error, or a failure before the outcome was recorded
                 }
-            } catch (Exception e) {
-                logger.error("Exception during deleteEmployeeById: {}", e.getMessage(), e);
-                return ResponseEntity.internalServerError().build();
             }
-        }
-        throw new IllegalStateException(
-                "This should never happen. Max attempts reached without a result or exception.");
+        };
     }
 
     @Override
@@ -357,13 +814,28 @@ public class EmployeeServiceImpl implements EmployeeService {
         return rawRedisCache.getEmployeesFromCache();
     }
 
+    public RawRedisCache.CachedEmployees getEmployeesEntryFromCache() {
+        if (this.rawRedisCache == null) {
+            return null;
+        }
+        logger.debug("Checking cache for the list of all employees.");
+        return rawRedisCache.getEmployeesEntryFromCache();
+    }
+
     public void addEmployeesToCache(ResponseEntity<List<Employee>> employees) {
         if (this.rawRedisCache == null) {
             return;
         }
-        logger.debug(
-                "Adding list of all {} employees to cache.", employees.getBody().size());
-        rawRedisCache.addEmployeesToCache(employees);
+        if (logger.isDebugEnabled()) {
+            logger.debug(
+                    "Adding list of all {} employees to cache.",
+                    employees.getBody().size());
+        }
+        if (rawRedisCache.isAsyncEnabled()) {
+            rawRedisCache.addEmployeesToCacheAsync(employees); // Fire-and-forget, don't hold the request for Redis
+        } else {
+            rawRedisCache.addEmployeesToCache(employees);
+        }
     }
 
     public void removeEmployeesFromCache() {
@@ -371,7 +843,12 @@ public class EmployeeServiceImpl implements EmployeeService {
             return;
         }
         logger.debug("Evicting list of all employee from cache.");
-        rawRedisCache.removeEmployeesFromCache();
+        if (rawRedisCache.isAsyncEnabled()) {
+            // Same connection as any queued async writes, so the eviction can't be overtaken by an older SET
+            rawRedisCache.removeEmployeesFromCacheAsync().join();
+        } else {
+            rawRedisCache.removeEmployeesFromCache();
+        }
     }
 
     public Employee geEmployeeFromCache(String employeeId) {
@@ -389,7 +866,11 @@ public class EmployeeServiceImpl implements EmployeeService {
         logger.debug(
                 "Adding employee ID {} to cache.",
                 employeeResponseEntity.getBody().getId());
-        rawRedisCache.addEmployeeToCache(employeeResponseEntity);
+        if (rawRedisCache.isAsyncEnabled()) {
+            rawRedisCache.addEmployeeToCacheAsync(employeeResponseEntity); // Fire-and-forget
+        } else {
+            rawRedisCache.addEmployeeToCache(employeeResponseEntity);
+        }
     }
 
     public void removeEmployeeFromCache(String employeeId) {
@@ -397,6 +878,10 @@ public class EmployeeServiceImpl implements EmployeeService {
             return;
         }
         logger.debug("Evicting employee with ID {} from employeeByIDCache", employeeId);
-        rawRedisCache.removeEmployeeFromCache(employeeId);
+        if (rawRedisCache.isAsyncEnabled()) {
+            rawRedisCache.removeEmployeeFromCacheAsync(employeeId).join();
+        } else {
+            rawRedisCache.removeEmployeeFromCache(employeeId);
+        }
     }
 }
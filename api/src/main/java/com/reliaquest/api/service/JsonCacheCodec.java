@@ -0,0 +1,34 @@
+package com.reliaquest.api.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.model.Employee;
+import java.io.IOException;
+import java.util.List;
+
+/** Employees as Jackson JSON, the format every cached value had before {@link BinaryCacheCodec}. */
+public class JsonCacheCodec implements CacheCodec {
+    private static final TypeReference<List<Employee>> EMPLOYEE_LIST = new TypeReference<>() {};
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Override
+    public byte[] encodeEmployees(List<Employee> employees) throws IOException {
+        return objectMapper.writeValueAsBytes(employees);
+    }
+
+    @Override
+    public List<Employee> decodeEmployees(byte[] value) throws IOException {
+        return objectMapper.readValue(value, EMPLOYEE_LIST);
+    }
+
+    @Override
+    public byte[] encodeEmployee(Employee employee) throws IOException {
+        return objectMapper.writeValueAsBytes(employee);
+    }
+
+    @Override
+    public Employee decodeEmployee(byte[] value) throws IOException {
+        return objectMapper.readValue(value, Employee.class);
+    }
+}
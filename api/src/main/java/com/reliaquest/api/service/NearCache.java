@@ -0,0 +1,220 @@
+package com.reliaquest.api.service;
+
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+
+/**
+ * Bounded on-heap cache that sits in front of Redis.
+ *
+ * <p>Reads are a lookup in a {@link ConcurrentHashMap} and never take a lock. Once the summed weight (the serialized
+ * size of the values) exceeds the configured maximum, writers evict expired entries first, taken in expiry order from
+ * a priority queue, and then approximately least-recently-used ones: entries sit in a FIFO queue and one read since
+ * it last reached the head gives an entry a second chance (the CLOCK algorithm). Either way an eviction costs
+ * amortized O(log n), not a scan of the cache. Expired entries are also dropped lazily on read.
+ */
+public class NearCache<K, V> {
+    private final long maxWeight;
+    private final long defaultTtlMs;
+    private final LongSupplier clock;
+    private final ConcurrentHashMap<K, Node<K, V>> entries = new ConcurrentHashMap<>();
+
+    // Writers only. Both queues may still hold nodes that were replaced or removed; those are skipped when reached
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final ArrayDeque<Node<K, V>> clockQueue = new ArrayDeque<>();
+    private final PriorityQueue<Node<K, V>> expiryQueue =
+            new PriorityQueue<>(Comparator.comparingLong(Node::expiresAt));
+    private long weight;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    private static final class Node<K, V> {
+        private final K key;
+        private V value; // Cleared once removed, so a node still queued doesn't hold on to a large value
+        private final long weight;
+        private final long expiresAt;
+        private volatile boolean referenced; // Read since the CLOCK hand last passed
+        private boolean removed; // Guarded by writeLock
+
+        Node(K key, V value, long weight, long expiresAt) {
+            this.key = key;
+            this.value = value;
+            this.weight = weight;
+            this.expiresAt = expiresAt;
+        }
+
+        long expiresAt() {
+            return expiresAt;
+        }
+    }
+
+    public record Stats(long size, long weight, long hits, long misses, long evictions) {}
+
+    public NearCache(long maxWeight, long defaultTtlMs) {
+        this(maxWeight, defaultTtlMs, System::currentTimeMillis);
+    }
+
+    public NearCache(long maxWeight, long defaultTtlMs, LongSupplier clock) {
+        this.maxWeight = maxWeight;
+        this.defaultTtlMs = defaultTtlMs;
+        this.clock = clock;
+    }
+
+    public V get(K key) {
+        Node<K, V> node = entries.get(key);
+        if (node == null) {
+            misses.incrementAndGet();
+            return null;
+        }
+        if (node.expiresAt <= clock.getAsLong()) {
+            writeLock.lock();
+            try {
+                unlink(node);
+            } finally {
+                writeLock.unlock();
+            }
+            misses.incrementAndGet();
+            return null;
+        }
+        V value = node.value;
+        if (value == null) { // Removed while we were reading it
+            misses.incrementAndGet();
+            return null;
+        }
+        if (!node.referenced) {
+            node.referenced = true; // Skip the volatile write when the flag is already set
+        }
+        hits.incrementAndGet();
+        return value;
+    }
+
+    public void put(K key, V value, long weight) {
+        put(key, value, weight, defaultTtlMs);
+    }
+
+    public void put(K key, V value, long weight, long ttlMs) {
+        if (weight > maxWeight || ttlMs <= 0) {
+            invalidate(key); // Never cache something that would evict everything else, but don't keep an old copy
+            return;
+        }
+        Node<K, V> node = new Node<>(key, value, weight, clock.getAsLong() + ttlMs);
+        writeLock.lock();
+        try {
+            Node<K, V> replaced = entries.put(key, node);
+            if (replaced != null) {
+                unlink(replaced);
+            }
+            clockQueue.addLast(node);
+            expiryQueue.add(node);
+            this.weight += weight;
+            evictToFit();
+            dropRemovedNodes();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public void invalidate(K key) {
+        Node<K, V> node = entries.get(key);
+        if (node == null) {
+            return;
+        }
+        writeLock.lock();
+        try {
+            node = entries.get(key);
+            if (node != null) {
+                unlink(node);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    // Scans every entry, meant for rare bulk invalidations rather than the write path
+    public void invalidateIf(Predicate<? super K> keyFilter) {
+        writeLock.lock();
+        try {
+            for (Node<K, V> node : entries.values()) {
+                if (keyFilter.test(node.key)) {
+                    unlink(node);
+                }
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public void invalidateAll() {
+        writeLock.lock();
+        try {
+            entries.clear();
+            clockQueue.clear();
+            expiryQueue.clear();
+            weight = 0;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public Stats getStats() {
+        writeLock.lock();
+        try {
+            return new Stats(entries.size(), weight, hits.get(), misses.get(), evictions.get());
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    // Caller must hold the lock
+    private void unlink(Node<K, V> node) {
+        if (!node.removed) {
+            node.removed = true;
+            node.value = null;
+            entries.remove(node.key, node);
+            weight -= node.weight;
+        }
+    }
+
+    // Caller must hold the lock. Expired entries go first, then the ones not read since the hand last passed them.
+    private void evictToFit() {
+        long now = clock.getAsLong();
+        Node<K, V> soonest;
+        while ((soonest = expiryQueue.peek()) != null && (soonest.removed || soonest.expiresAt <= now)) {
+            unlink(expiryQueue.poll());
+        }
+        while (weight > maxWeight) {
+            Node<K, V> eldest = clockQueue.pollFirst();
+            if (eldest == null) {
+                break;
+            }
+            if (eldest.removed) {
+                continue;
+            }
+            if (eldest.referenced) {
+                eldest.referenced = false;
+                clockQueue.addLast(eldest);
+                continue;
+            }
+            unlink(eldest);
+            evictions.incrementAndGet();
+        }
+    }
+
+    // Caller must hold the lock. Rebuilds the queues once removed nodes outnumber live ones, amortized O(1) per put.
+    private void dropRemovedNodes() {
+        int live = entries.size();
+        if (clockQueue.size() > 2 * live + 64) {
+            clockQueue.removeIf(node -> node.removed);
+        }
+        if (expiryQueue.size() > 2 * live + 64) {
+            expiryQueue.removeIf(node -> node.removed);
+        }
+    }
+}
@@ -1,71 +1,263 @@
 package com.reliaquest.api.service;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.reliaquest.api.model.Employee;
-import java.io.BufferedReader;
+import com.reliaquest.api.service.RedisCacheMetrics.Client;
+import com.reliaquest.api.service.RedisCacheMetrics.Family;
+import com.reliaquest.api.service.RedisCacheMetrics.Result;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import java.io.Closeable;
 import java.io.IOException;
-import java.io.InputStream;
-import java.io.InputStreamReader;
-import java.io.OutputStream;
-import java.net.Socket;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.ResponseEntity;
 
-public class RawRedisCache {
+public class RawRedisCache implements Closeable {
     private static final Logger logger = LoggerFactory.getLogger(RawRedisCache.class);
-    private final String host;
-    private final int port;
-    private final ObjectMapper objectMapper = new ObjectMapper();
+    private static final int PIPELINE_BATCH_SIZE = 1000; // Commands written per flush when caching a roster
+
+    static final String EMPLOYEES_KEY = "employees";
+    static final String EMPLOYEE_BY_ID_PREFIX = "employeeById:";
+    // Invalidation message that stands for every employeeById key, published once after a full refresh
+    static final String EMPLOYEE_BY_ID_FAMILY = EMPLOYEE_BY_ID_PREFIX + "*";
+    static final String LOCK_PREFIX = "lock:";
+
+    // Deletes the lock only if it still holds our token, so an expired lock re-acquired by someone else is left alone
+    private static final String RELEASE_LOCK_SCRIPT =
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end";
+
+    /** The cached list of all employees together with when it was written to the cache. */
+    public record CachedEmployees(List<Employee> employees, long writtenAt) {}
+
+    private final CacheCodec codec; // Writes new values; reads use whichever codec wrote the value
+    private final CacheCodec jsonReader = new JsonCacheCodec();
+    private final CacheCodec binaryReader = new BinaryCacheCodec();
+    private final ValueCompressor compressor;
+    private final RedisConnectionPool connectionPool;
+    private final AsyncRedisClient asyncClient;
+    private final NearCache<String, Object> nearCache; // In-process L1 in front of Redis, null when disabled
+    private final String instanceId = UUID.randomUUID().toString();
+    private final long employeesTtlMs;
+    private final long employeeTtlMs;
+    private final double ttlJitterRatio;
+    private final String invalidationChannel; // Null when cross-instance invalidation is disabled
+    private final RedisInvalidationSubscriber invalidationSubscriber;
+    private final RedisCacheMetrics metrics;
+    private Tracer tracer = Tracer.NOOP;
 
     public RawRedisCache(String host, int port) {
-        this.host = host;
-        this.port = port;
+        this(host, port, new RedisCacheSettings());
+    }
+
+    public RawRedisCache(String host, int port, RedisCacheSettings settings) {
+        this(host, port, settings, new CompositeMeterRegistry()); // A composite with no registries records nothing
+    }
+
+    /** Like {@link #RawRedisCache(String, int, RedisCacheSettings)}, recording lookups and Redis latency to a registry. */
+    public RawRedisCache(String host, int port, RedisCacheSettings settings, MeterRegistry meterRegistry) {
+        this.metrics = new RedisCacheMetrics(meterRegistry);
+        this.connectionPool = new RedisConnectionPool(
+                host,
+                port,
+                settings.getPoolMaxSize(),
+                settings.getPoolBorrowTimeoutMs(),
+                settings.getPoolIdleTimeoutMs(),
+                settings.getPoolValidationIntervalMs(),
+                settings.getTimeoutMs(),
+                this::ping);
+        this.codec = CacheCodec.named(settings.getCodec());
+        this.compressor = new ValueCompressor(settings.getCompressionThresholdBytes(), settings.getCompressionLevel());
+        this.asyncClient = settings.isAsyncEnabled() ? startAsyncClient(host, port, settings.getTimeoutMs()) : null;
+        this.employeesTtlMs = settings.getEmployeesTtlMs();
+        this.employeeTtlMs = settings.getEmployeeTtlMs();
+        this.ttlJitterRatio = settings.getTtlJitterRatio();
+        this.nearCache = settings.getNearCacheMaxWeight() > 0
+                ? new NearCache<>(settings.getNearCacheMaxWeight(), settings.getNearCacheTtlMs())
+                : null;
+
+        boolean invalidationEnabled = settings.getInvalidationChannel() != null
+                && !settings.getInvalidationChannel().isBlank();
+        this.invalidationChannel = invalidationEnabled ? settings.getInvalidationChannel() : null;
+        this.invalidationSubscriber = invalidationEnabled && nearCache != null
+                ? new RedisInvalidationSubscriber(
+                        host,
+                        port,
+                        settings.getTimeoutMs(),
+                        invalidationChannel,
+                        instanceId,
+                        this::onRemoteInvalidation,
+                        nearCache::invalidateAll) // Messages may have been missed while we were not subscribed
+                : null;
+    }
+
+    /** Traces every round trip to Redis as a child of the span current when it was sent. */
+    public void setTracer(Tracer tracer) {
+        this.tracer = tracer;
     }
 
+    // Caches the full list and every individual employee, written as pipelined batches instead of one round trip each
     public void addEmployeesToCache(ResponseEntity<List<Employee>> employees) {
-        String key = "employees";
-        String value = serializeEmployees(employees.getBody()); // Serialize the List<Employee>
+        byte[] value = serializeEmployees(employees.getBody()); // Serialize the List<Employee>
+        if (value == null) {
+            return;
+        }
 
-        if (value != null) {
-            sendCommand(key, value, "SET");
+        List<Object[]> commands = new ArrayList<>(Math.min(employees.getBody().size() + 1, PIPELINE_BATCH_SIZE));
+        commands.add(setCommand(EMPLOYEES_KEY, value, employeesTtlMs));
+        if (invalidationChannel != null) {
+            commands.add(publishInvalidation(EMPLOYEES_KEY));
+        }
+        for (Employee employee : employees.getBody()) {
+            if (employee.getId() == null) {
+                continue;
+            }
+            byte[] employeeValue = serializeEmployee(employee);
+            if (employeeValue != null) {
+                commands.add(setCommand(EMPLOYEE_BY_ID_PREFIX + employee.getId(), employeeValue, employeeTtlMs));
+                putInNearCache(employee, employeeValue.length);
+            }
+            if (commands.size() == PIPELINE_BATCH_SIZE) {
+                sendPipeline(commands);
+                commands = new ArrayList<>(PIPELINE_BATCH_SIZE);
+            }
+        }
+        if (invalidationChannel != null) {
+            commands.add(publishInvalidation(EMPLOYEE_BY_ID_FAMILY)); // After the SETs, so nobody re-reads an old copy
         }
+        if (!commands.isEmpty()) {
+            sendPipeline(commands);
+        }
+        // After the employees, so their puts can't evict the roster as the least recently used entry
+        putInNearCache(
+                new CachedEmployees(Collections.unmodifiableList(employees.getBody()), System.currentTimeMillis()),
+                value.length);
     }
 
     public ResponseEntity<List<Employee>> getEmployeesFromCache() {
-        String key = "employees";
-        String value = sendCommand(key, null, "GET");
+        CachedEmployees cached = getEmployeesEntryFromCache();
+        return cached != null ? ResponseEntity.ok(cached.employees()) : null;
+    }
 
-        if (value != null) {
-            List<Employee> employees = deserializeEmployees(value);
-            if (employees != null) {
-                return ResponseEntity.ok(employees);
-            }
+    /** Like {@link #getEmployeesFromCache()}, but also says when the list was written so callers can judge its age. */
+    public CachedEmployees getEmployeesEntryFromCache() {
+        CachedEmployees cached = getEmployeesFromNearCache();
+        if (cached != null) {
+            metrics.lookup(Family.EMPLOYEES, Result.NEAR_HIT);
+            return cached;
         }
-        return null;
+
+        List<Object> replies =
+                sendPipeline(List.of(new Object[] {"GET", EMPLOYEES_KEY}, new Object[] {"PTTL", EMPLOYEES_KEY}));
+        if (replies.size() != 2) {
+            metrics.lookup(Family.EMPLOYEES, Result.ERROR);
+            return null;
+        }
+        return countLookup(Family.EMPLOYEES, replies.get(0), decodeEmployees(replies.get(0), replies.get(1)));
     }
 
     public void removeEmployeesFromCache() {
-        String key = "employees";
-        sendCommand(key, null, "DEL");
+        invalidateNearCache(EMPLOYEES_KEY);
+        sendWrite("DEL", EMPLOYEES_KEY);
     }
 
-    private String serializeEmployees(List<Employee> employees) {
+    // A Redis read found nothing stored (miss), a readable value (hit), or a value it could not decode (error)
+    private <T> T countLookup(Family family, Object reply, T decoded) {
+        metrics.lookup(family, decoded != null ? Result.HIT : reply == null ? Result.MISS : Result.ERROR);
+        return decoded;
+    }
+
+    // Deserializes a Redis GET reply and remembers the result in the near cache
+    private CachedEmployees decodeEmployees(Object reply, Object pttlReply) {
+        byte[] bytes = reply instanceof byte[] stored ? decompress(stored) : null;
+        if (bytes == null) {
+            return null;
+        }
+        List<Employee> employees = deserializeEmployees(bytes);
+        if (employees == null) {
+            return null;
+        }
+        CachedEmployees cached =
+                new CachedEmployees(Collections.unmodifiableList(employees), estimateWrittenAt(pttlReply));
+        putInNearCache(cached, bytes.length);
+        return cached;
+    }
+
+    // Redis only knows the remaining TTL, so the write time is derived from it; the roster's TTL is never jittered
+    private long estimateWrittenAt(Object pttlReply) {
+        long now = System.currentTimeMillis();
+        if (employeesTtlMs > 0 && pttlReply instanceof Long remainingMs && remainingMs >= 0) {
+            return Math.min(now, now - (employeesTtlMs - remainingMs));
+        }
+        return now; // No expiry configured, the age is unknown
+    }
+
+    private Employee decodeEmployee(Object reply) {
+        byte[] bytes = reply instanceof byte[] stored ? decompress(stored) : null;
+        if (bytes == null) {
+            return null;
+        }
+        Employee employee = deserializeEmployee(bytes);
+        if (employee != null) {
+            putInNearCache(employee, bytes.length);
+        }
+        return employee;
+    }
+
+    private CachedEmployees getEmployeesFromNearCache() {
+        return nearCache != null ? (CachedEmployees) nearCache.get(EMPLOYEES_KEY) : null;
+    }
+
+    private Employee getEmployeeFromNearCache(String employeeId) {
+        return nearCache != null ? (Employee) nearCache.get(EMPLOYEE_BY_ID_PREFIX + employeeId) : null;
+    }
+
+    private void putInNearCache(CachedEmployees employees, long serializedSize) {
+        if (nearCache != null) {
+            nearCache.put(EMPLOYEES_KEY, employees, serializedSize);
+        }
+    }
+
+    private void putInNearCache(Employee employee, long serializedSize) {
+        if (nearCache != null && employee.getId() != null) {
+            nearCache.put(EMPLOYEE_BY_ID_PREFIX + employee.getId(), employee, serializedSize);
+        }
+    }
+
+    private void invalidateNearCache(String key) {
+        if (nearCache != null) {
+            nearCache.invalidate(key);
+        }
+    }
+
+    public NearCache.Stats getNearCacheStats() {
+        return nearCache != null ? nearCache.getStats() : null;
+    }
+
+    public ValueCompressor.Stats getCompressionStats() {
+        return compressor.getStats();
+    }
+
+    private byte[] serializeEmployees(List<Employee> employees) {
         try {
-            return objectMapper.writeValueAsString(employees);
-        } catch (JsonProcessingException e) {
+            return codec.encodeEmployees(employees);
+        } catch (IOException e) {
             logger.error("Error serializing employees: {}", e.getMessage());
             return null;
         }
     }
 
-    private List<Employee> deserializeEmployees(String employeesJson) {
+    private List<Employee> deserializeEmployees(byte[] value) {
         try {
-            return objectMapper.readValue(employeesJson, new TypeReference<List<Employee>>() {});
-        } catch (JsonProcessingException e) {
+            return readerFor(value).decodeEmployees(value);
+        } catch (IOException e) {
             logger.error("Error deserializing employees: {}", e.getMessage());
             return null;
         }
@@ -73,108 +265,382 @@ public class RawRedisCache {
 
     public void addEmployeeToCache(ResponseEntity<Employee> employeeResponseEntity) {
         String employeeId = employeeResponseEntity.getBody().getId();
-        String key = "employeeById:" + employeeId;
-        String value = serializeEmployee(employeeResponseEntity.getBody());
+        byte[] value = serializeEmployee(employeeResponseEntity.getBody());
 
         if (value == null) { // Serialization failed
             return;
         }
 
-        sendCommand(key, value, "SET");
+        putInNearCache(employeeResponseEntity.getBody(), value.length);
+        sendWrite(setCommand(EMPLOYEE_BY_ID_PREFIX + employeeId, value, employeeTtlMs));
     }
 
     public Employee getEmployeeFromCache(String employeeId) {
-        String key = "employeeById:" + employeeId;
-        String value = sendCommand(key, null, "GET");
+        Employee cached = getEmployeeFromNearCache(employeeId);
+        if (cached != null) {
+            metrics.lookup(Family.EMPLOYEE_BY_ID, Result.NEAR_HIT);
+            return cached;
+        }
 
-        return value != null ? deserializeEmployee(value) : null;
+        List<Object> replies =
+                sendPipeline(List.<Object[]>of(new Object[] {"GET", EMPLOYEE_BY_ID_PREFIX + employeeId}));
+        if (replies.isEmpty()) {
+            metrics.lookup(Family.EMPLOYEE_BY_ID, Result.ERROR);
+            return null;
+        }
+        return countLookup(Family.EMPLOYEE_BY_ID, replies.get(0), decodeEmployee(replies.get(0)));
     }
 
     public void removeEmployeeFromCache(String employeeId) {
-        String key = "employeeById:" + employeeId;
-        sendCommand(key, null, "DEL");
+        invalidateNearCache(EMPLOYEE_BY_ID_PREFIX + employeeId);
+        sendWrite("DEL", EMPLOYEE_BY_ID_PREFIX + employeeId);
+    }
+
+    /**
+     * Tries to take a short-lived lock shared by all instances (SET NX PX). The lock expires on its own after
+     * {@code ttlMs} so a crashed holder can't block everyone. Returns true when Redis can't be reached: the lock only
+     * saves upstream calls, it must never stop us from serving.
+     */
+    public boolean tryLock(String name, String token, long ttlMs) {
+        List<Object> replies =
+                sendPipeline(List.<Object[]>of(new Object[] {"SET", LOCK_PREFIX + name, token, "NX", "PX", ttlMs}));
+        if (replies.isEmpty()) {
+            return true;
+        }
+        return "OK".equals(replies.get(0));
+    }
+
+    public void unlock(String name, String token) {
+        sendCommand("EVAL", RELEASE_LOCK_SCRIPT, "1", LOCK_PREFIX + name, token);
     }
 
-    private String serializeEmployee(Employee employee) {
+    private byte[] serializeEmployee(Employee employee) {
         try {
-            return objectMapper.writeValueAsString(employee);
-        } catch (JsonProcessingException e) {
+            return codec.encodeEmployee(employee);
+        } catch (IOException e) {
             logger.error("Error serializing employee: {}", e.getMessage());
             return null;
         }
     }
 
-    private Employee deserializeEmployee(String employeeJson) {
+    private Employee deserializeEmployee(byte[] value) {
         try {
-            return objectMapper.readValue(employeeJson, Employee.class);
-        } catch (JsonProcessingException e) {
+            return readerFor(value).decodeEmployee(value);
+        } catch (IOException e) {
             logger.error("Error deserializing employee: {}", e.getMessage());
             return null;
         }
     }
 
-    private String sendCommand(String key, String value, String commandType) { // SET, GET, DEL
-        try (Socket socket = new Socket(host, port);
-                OutputStream os = socket.getOutputStream();
-                InputStream is = socket.getInputStream();
-                BufferedReader reader = new BufferedReader(new InputStreamReader(is))) {
+    // Null when the value is corrupt, which is treated as a cache miss
+    private byte[] decompress(byte[] stored) {
+        try {
+            return compressor.decompress(stored);
+        } catch (IOException e) {
+            logger.error("Error decompressing cached value: {}", e.getMessage());
+            return null;
+        }
+    }
 
-            String command;
-            String response;
+    // Values written before a codec switch, or by instances not yet switched, stay readable
+    private CacheCodec readerFor(byte[] value) {
+        return BinaryCacheCodec.isBinary(value) ? binaryReader : jsonReader;
+    }
 
-            if ("SET".equals(commandType)) {
-                command = "*3\r\n$3\r\nSET\r\n$" + key.length() + "\r\n" + key + "\r\n$" + value.length() + "\r\n"
-                        + value + "\r\n";
-                os.write(command.getBytes());
-                os.flush();
-                response = reader.readLine();
-                logger.debug("SET Response: " + response);
+    // SET with a PX expiry, compressing large values; a TTL of 0 or less keeps the key until it is evicted explicitly
+    private Object[] setCommand(String key, byte[] value, long ttlMs) {
+        value = compressor.compress(value);
+        if (ttlMs <= 0) {
+            return new Object[] {"SET", key, value};
+        }
+        // The roster is a single key with nothing to spread, and its age is read back from its exact TTL
+        long expiryMs = EMPLOYEES_KEY.equals(key) ? ttlMs : jitter(ttlMs);
+        return new Object[] {"SET", key, value, "PX", expiryMs};
+    }
 
-            } else if ("GET".equals(commandType)) {
-                command = "*2\r\n$3\r\nGET\r\n$" + key.length() + "\r\n" + key + "\r\n";
-                os.write(command.getBytes());
-                os.flush();
+    // Spreads expiry by +/- the jitter ratio so the employeeById keys written together don't all expire together
+    private long jitter(long ttlMs) {
+        if (ttlJitterRatio <= 0) {
+            return ttlMs;
+        }
+        long spread = (long) (ttlMs * ttlJitterRatio);
+        return Math.max(1, ttlMs + ThreadLocalRandom.current().nextLong(-spread, spread + 1));
+    }
 
-                String responseLine = reader.readLine(); // Read the response line ($<length>)
+    // Writes a key and, when cross-instance invalidation is on, tells the other instances in the same flush
+    private void sendWrite(Object... command) {
+        if (invalidationChannel == null) {
+            sendCommand(command);
+        } else {
+            sendPipeline(List.of(command, publishInvalidation((String) command[1])));
+        }
+    }
 
-                if (responseLine != null && responseLine.startsWith("$")) {
-                    int valueLength = Integer.parseInt(responseLine.substring(1)); // Get the length
+    private Object[] publishInvalidation(String key) {
+        return new Object[] {"PUBLISH", invalidationChannel, RedisInvalidationSubscriber.formatMessage(instanceId, key)
+        };
+    }
 
-                    if (valueLength > 0) {
-                        char[] buffer = new char[valueLength];
-                        int charsRead = reader.read(buffer, 0, valueLength); // Read the value
+    // Called by the subscriber when another instance changed a key
+    private void onRemoteInvalidation(String key) {
+        logger.debug("Evicting {} from near cache, changed by another instance", key);
+        if (EMPLOYEE_BY_ID_FAMILY.equals(key)) {
+            if (nearCache != null) {
+                nearCache.invalidateIf(cached -> cached.startsWith(EMPLOYEE_BY_ID_PREFIX));
+            }
+            return;
+        }
+        invalidateNearCache(key);
+    }
 
-                        if (charsRead == valueLength) {
-                            reader.readLine(); // Consume the remaining CRLF
-                            return new String(buffer); // Return the actual value
-                        } else {
-                            logger.error("Error reading value from Redis: Short read");
-                        }
-                    } else if (valueLength == -1) {
-                        logger.debug("Key not found in Redis");
-                    }
+    private Object sendCommand(Object... command) {
+        List<Object> replies = sendPipeline(List.<Object[]>of(command));
+        return replies.isEmpty() ? null : replies.get(0);
+    }
 
-                } else {
-                    logger.error("Invalid Redis response: {}", responseLine);
+    // Sends all commands on one pooled connection with a single flush; replies come back in command order
+    private List<Object> sendPipeline(List<Object[]> commands) {
+        Span span = commandSpan(Client.POOLED, commands.get(0)[0], commands.size());
+        RedisConnection connection;
+        try {
+            connection = connectionPool.borrow();
+        } catch (IOException e) {
+            span.error(e).end();
+            logger.error("Error communicating with Redis: {}", e.getMessage());
+            return List.of();
+        }
+
+        long startedAt = System.nanoTime();
+        try {
+            List<Object> replies = connection.pipeline(commands);
+            metrics.command(Client.POOLED, commands.get(0)[0], startedAt);
+            span.end();
+            connectionPool.release(connection);
+
+            boolean debug = logger.isDebugEnabled();
+            for (int i = 0; i < replies.size(); i++) {
+                Object reply = replies.get(i);
+                if (reply instanceof RespCodec.ErrorReply error) {
+                    logger.error("Redis {} failed: {}", commands.get(i)[0], error.message());
+                    replies.set(i, null);
+                } else if (debug) {
+                    logger.debug("{} Response: {}", commands.get(i)[0], reply instanceof byte[] ? "<value>" : reply);
                 }
-            } else if ("DEL".equals(commandType)) {
-                command = "*2\r\n$3\r\nDEL\r\n$" + key.length() + "\r\n" + key + "\r\n";
-                os.write(command.getBytes());
-                os.flush();
-                response = reader.readLine();
-                logger.debug("DEL Response: " + response);
-
-            } else if ("PING".equals(commandType)) {
-                command = "*1\r\n$4\r\nPING\r\n";
-                os.write(command.getBytes());
-                os.flush();
-                response = reader.readLine();
-                logger.debug("PING Response: " + response);
             }
-
+            return replies;
         } catch (IOException e) {
+            span.error(e).end();
+            connectionPool.invalidate(connection); // Stream state is unknown, never hand this socket out again
             logger.error("Error communicating with Redis: {}", e.getMessage());
+            return List.of();
+        }
+    }
+
+    public boolean isAsyncEnabled() {
+        return asyncClient != null;
+    }
+
+    /*
+     * Non-blocking variants. They run on the async client's event loop (or complete immediately with the blocking
+     * result when the async transport is disabled) and never complete exceptionally: Redis failures are logged and
+     * surface as a cache miss, just like the blocking methods.
+     */
+
+    public CompletableFuture<Void> addEmployeesToCacheAsync(ResponseEntity<List<Employee>> employees) {
+        if (asyncClient == null) {
+            addEmployeesToCache(employees);
+            return CompletableFuture.completedFuture(null);
+        }
+        byte[] value = serializeEmployees(employees.getBody());
+        if (value == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        // Everything queued before the event loop wakes up is coalesced into one write
+        Span span = commandSpan(Client.ASYNC, "SET", employees.getBody().size() + 3);
+        long startedAt = System.nanoTime();
+        List<CompletableFuture<Object>> replies =
+                new ArrayList<>(employees.getBody().size() + 3);
+        replies.add(asyncClient.send(setCommand(EMPLOYEES_KEY, value, employeesTtlMs)));
+        if (invalidationChannel != null) {
+            replies.add(asyncClient.send(publishInvalidation(EMPLOYEES_KEY)));
+        }
+        for (Employee employee : employees.getBody()) {
+            byte[] employeeValue = employee.getId() != null ? serializeEmployee(employee) : null;
+            if (employeeValue != null) {
+                replies.add(asyncClient.send(
+                        setCommand(EMPLOYEE_BY_ID_PREFIX + employee.getId(), employeeValue, employeeTtlMs)));
+                putInNearCache(employee, employeeValue.length);
+            }
+        }
+        if (invalidationChannel != null) {
+            replies.add(asyncClient.send(publishInvalidation(EMPLOYEE_BY_ID_FAMILY)));
+        }
+        // After the employees, so their puts can't evict the roster as the least recently used entry
+        putInNearCache(
+                new CachedEmployees(Collections.unmodifiableList(employees.getBody()), System.currentTimeMillis()),
+                value.length);
+        return CompletableFuture.allOf(replies.toArray(new CompletableFuture<?>[0]))
+                .handle((ignored, error) -> {
+                    metrics.command(Client.ASYNC, "SET", startedAt);
+                    endSpan(span, error);
+                    return logAsyncFailure("SET", error);
+                });
+    }
+
+    public CompletableFuture<ResponseEntity<List<Employee>>> getEmployeesFromCacheAsync() {
+        CachedEmployees cached = getEmployeesFromNearCache();
+        if (cached != null) {
+            metrics.lookup(Family.EMPLOYEES, Result.NEAR_HIT);
+            return CompletableFuture.completedFuture(ResponseEntity.ok(cached.employees()));
+        }
+        if (asyncClient == null) {
+            return CompletableFuture.completedFuture(getEmployeesFromCache());
+        }
+        // Parsing the roster is CPU work, keep it off the event-loop thread
+        Span span = commandSpan(Client.ASYNC, "GET", 2);
+        long startedAt = System.nanoTime();
+        return asyncClient
+                .send("GET", EMPLOYEES_KEY)
+                .thenCombine(asyncClient.send("PTTL", EMPLOYEES_KEY), (value, pttl) -> new Object[] {value, pttl})
+                .whenComplete((replies, error) -> {
+                    metrics.command(Client.ASYNC, "GET", startedAt);
+                    endSpan(span, error);
+                })
+                .thenApplyAsync(replies -> {
+                    CachedEmployees employees =
+                            countLookup(Family.EMPLOYEES, replies[0], decodeEmployees(replies[0], replies[1]));
+                    return employees != null ? ResponseEntity.ok(employees.employees()) : null;
+                })
+                .exceptionally(error -> {
+                    metrics.lookup(Family.EMPLOYEES, Result.ERROR);
+                    logAsyncFailure("GET", error);
+                    return null;
+                });
+    }
+
+    public CompletableFuture<Void> removeEmployeesFromCacheAsync() {
+        invalidateNearCache(EMPLOYEES_KEY);
+        return sendAsync("DEL", EMPLOYEES_KEY);
+    }
+
+    public CompletableFuture<Void> addEmployeeToCacheAsync(ResponseEntity<Employee> employeeResponseEntity) {
+        byte[] value = serializeEmployee(employeeResponseEntity.getBody());
+        if (value == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        putInNearCache(employeeResponseEntity.getBody(), value.length);
+        return sendAsync(setCommand(
+                EMPLOYEE_BY_ID_PREFIX + employeeResponseEntity.getBody().getId(), value, employeeTtlMs));
+    }
+
+    public CompletableFuture<Employee> getEmployeeFromCacheAsync(String employeeId) {
+        Employee cached = getEmployeeFromNearCache(employeeId);
+        if (cached != null) {
+            metrics.lookup(Family.EMPLOYEE_BY_ID, Result.NEAR_HIT);
+            return CompletableFuture.completedFuture(cached);
+        }
+        if (asyncClient == null) {
+            return CompletableFuture.completedFuture(getEmployeeFromCache(employeeId));
+        }
+        Span span = commandSpan(Client.ASYNC, "GET", 1);
+        long startedAt = System.nanoTime();
+        return asyncClient
+                .send("GET", EMPLOYEE_BY_ID_PREFIX + employeeId)
+                .whenComplete((reply, error) -> {
+                    metrics.command(Client.ASYNC, "GET", startedAt);
+                    endSpan(span, error);
+                })
+                .thenApplyAsync(reply -> countLookup(Family.EMPLOYEE_BY_ID, reply, decodeEmployee(reply)))
+                .exceptionally(error -> {
+                    metrics.lookup(Family.EMPLOYEE_BY_ID, Result.ERROR);
+                    logAsyncFailure("GET", error);
+                    return null;
+                });
+    }
+
+    public CompletableFuture<Void> removeEmployeeFromCacheAsync(String employeeId) {
+        invalidateNearCache(EMPLOYEE_BY_ID_PREFIX + employeeId);
+        return sendAsync("DEL", EMPLOYEE_BY_ID_PREFIX + employeeId);
+    }
+
+    private CompletableFuture<Void> sendAsync(Object... command) {
+        if (asyncClient == null) {
+            sendWrite(command);
+            return CompletableFuture.completedFuture(null);
+        }
+        Span span = commandSpan(Client.ASYNC, command[0], invalidationChannel != null ? 2 : 1);
+        long startedAt = System.nanoTime();
+        CompletableFuture<Object> reply = asyncClient.send(command);
+        if (invalidationChannel != null) {
+            reply = reply.thenCombine(
+                    asyncClient.send(publishInvalidation((String) command[1])), (write, ignored) -> write);
+        }
+        return reply.handle((result, error) -> {
+            metrics.command(Client.ASYNC, command[0], startedAt);
+            endSpan(span, error);
+            if (result instanceof RespCodec.ErrorReply errorReply) {
+                logger.error("Redis {} failed: {}", command[0], errorReply.message());
+            }
+            return logAsyncFailure(String.valueOf(command[0]), error);
+        });
+    }
+
+    // Named after the (first) command; keys are left out since they carry employee ids
+    private Span commandSpan(Client client, Object command, int commands) {
+        return tracer.nextSpan()
+                .name((String) command)
+                .tag("db.system", "redis")
+                .tag("redis.client", client == Client.POOLED ? "pooled" : "async")
+                .tag("redis.commands", commands)
+                .start();
+    }
+
+    private static void endSpan(Span span, Throwable error) {
+        if (error != null) {
+            span.error(error);
+        }
+        span.end();
+    }
+
+    private Void logAsyncFailure(String commandType, Throwable error) {
+        if (error != null) {
+            logger.error("Error communicating with Redis ({}): {}", commandType, error.getMessage());
         }
         return null;
     }
+
+    private static AsyncRedisClient startAsyncClient(String host, int port, int timeoutMs) {
+        try {
+            return new AsyncRedisClient(host, port, timeoutMs);
+        } catch (IOException e) {
+            logger.error("Unable to start async Redis client, falling back to blocking I/O: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    // Health check used by the pool before handing out a connection that has been sitting idle
+    private boolean ping(RedisConnection connection) {
+        try {
+            return "PONG".equals(connection.execute("PING"));
+        } catch (IOException e) {
+            logger.debug("Redis health check failed: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    public RedisConnectionPool.PoolStats getPoolStats() {
+        return connectionPool.getStats();
+    }
+
+    @Override
+    public void close() {
+        if (invalidationSubscriber != null) {
+            invalidationSubscriber.close();
+        }
+        if (asyncClient != null) {
+            asyncClient.close();
+        }
+        connectionPool.close();
+    }
 }
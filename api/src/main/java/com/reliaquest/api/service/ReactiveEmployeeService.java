@@ -0,0 +1,21 @@
+package com.reliaquest.api.service;
+
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeInput;
+import java.util.List;
+import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Mono;
+
+/** Non-blocking counterpart of {@link EmployeeService}, with the same responses for the same upstream behaviour. */
+public interface ReactiveEmployeeService {
+    Mono<ResponseEntity<List<Employee>>> getAllEmployees();
+
+    Mono<ResponseEntity<Employee>> getEmployeeById(String id);
+
+    Mono<ResponseEntity<Employee>> createEmployee(EmployeeInput employeeInput);
+
+    Mono<ResponseEntity<String>> deleteEmployeeById(String id);
+
+    /** Roster index for the search and salary endpoints, or the error status when the roster can't be loaded. */
+    Mono<ResponseEntity<EmployeeIndex>> getEmployeeIndex();
+}
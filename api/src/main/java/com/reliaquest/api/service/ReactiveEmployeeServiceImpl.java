@@ -0,0 +1,399 @@
+package com.reliaquest.api.service;
+
+import com.reliaquest.api.model.ApiResponse;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeInput;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.retry.Retry;
+import reactor.util.retry.RetryBackoffSpec;
+
+/**
+ * Reactive implementation of the employee service, active with {@code reliaquest.api.mode: reactive}.
+ *
+ * <p>Nothing here blocks an event-loop thread: the upstream is called through {@link WebClient}, Redis through the
+ * event-loop client of {@link RawRedisCache}, and retries wait on Reactor's timer. If the async Redis client is turned
+ * off, the cache calls fall back to blocking pooled commands and run on {@link Schedulers#boundedElastic()} instead.
+ * Concurrent cache misses for the same key share one upstream call, as in {@link EmployeeServiceImpl}.
+ *
+ * <p>Known gap: the circuit breaker, the upstream concurrency limit and the adaptive rate limiter only guard the
+ * servlet service. Here a failing or throttling upstream is retried until the retry deadline and then answered with a
+ * 500, where the servlet service would shed the call with a 503 or serve the last known roster.
+ */
+@Service
+@ConditionalOnProperty(name = "reliaquest.api.mode", havingValue = "reactive")
+public class ReactiveEmployeeServiceImpl implements ReactiveEmployeeService {
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveEmployeeServiceImpl.class);
+
+    private WebClient webClient;
+
+    private RawRedisCache rawRedisCache;
+
+    @Value("${reliaquest.api.url}")
+    private String apiUrl;
+
+    @Value("${reliaquest.api.retry-max-attempts}")
+    private int retryMaxAttempts;
+
+    @Value("${reliaquest.api.retry-initial-delay}")
+    private long retryInitialDelay;
+
+    @Value("${reliaquest.api.retry-max-delay}")
+    private long retryMaxDelay;
+
+    @Value("${reliaquest.api.retry-jitter}")
+    private double retryJitter;
+
+    @Value("${reliaquest.api.retry-deadline}")
+    private long retryDeadline;
+
+    @Value("${reliaquest.api.employee-index-max-age}")
+    private long employeeIndexMaxAge;
+
+    private EmployeeIndex employeeIndex = new EmployeeIndex();
+
+    // Upstream loads in flight by cache key, shared by every request that misses the cache for that key meanwhile
+    private final Map<String, Mono<?>> inFlight = new ConcurrentHashMap<>();
+
+    private UpstreamMetrics upstreamMetrics = new UpstreamMetrics();
+
+    @Autowired
+    public void setWebClient(WebClient webClient) {
+        this.webClient = webClient;
+    }
+
+    @Autowired
+    public void setRawRedisCache(RawRedisCache rawRedisCache) {
+        this.rawRedisCache = rawRedisCache;
+    }
+
+    @Autowired(required = false)
+    public void setMeterRegistry(MeterRegistry meterRegistry) {
+        this.upstreamMetrics = new UpstreamMetrics(meterRegistry);
+    }
+
+    public void setApiUrl(String apiUrl) {
+        this.apiUrl = apiUrl;
+    }
+
+    public void setRetryMaxAttempts(int retryMaxAttempts) {
+        this.retryMaxAttempts = retryMaxAttempts;
+    }
+
+    public void setRetryInitialDelayMS(long retryInitialDelay) {
+        this.retryInitialDelay = retryInitialDelay;
+    }
+
+    public void setEmployeeIndexMaxAge(long employeeIndexMaxAge) {
+        this.employeeIndexMaxAge = employeeIndexMaxAge;
+    }
+
+    /** Replaces the (not yet built) index with one that keeps this many top earners ranked. */
+    @Value("${reliaquest.api.top-earners-tracked:" + EmployeeIndex.DEFAULT_TOP_EARNERS + "}")
+    public void setTopEarnersTracked(int topEarnersTracked) {
+        this.employeeIndex = new EmployeeIndex(topEarnersTracked);
+    }
+
+    @Override
+    public Mono<ResponseEntity<List<Employee>>> getAllEmployees() {
+        return getEmployeesFromCache()
+                .switchIfEmpty(coalesce(RawRedisCache.EMPLOYEES_KEY, this::fetchAllEmployeesFromApi));
+    }
+
+    /*
+     * Same as EmployeeServiceImpl: answers from the index while it was synced with the roster less than
+     * employee-index-max-age ago, with creates and deletes made here applied in place, and otherwise syncs it with the
+     * roster, usually read from the cache. Syncing with the same near-cached list is free.
+     */
+    @Override
+    public Mono<ResponseEntity<EmployeeIndex>> getEmployeeIndex() {
+        if (employeeIndex.isFresh(employeeIndexMaxAge)) {
+            return Mono.just(ResponseEntity.ok(employeeIndex));
+        }
+        return getAllEmployees().map(employees -> {
+            if (!employees.getStatusCode().is2xxSuccessful() || employees.getBody() == null) {
+                return ResponseEntity.status(employees.getStatusCode()).<EmployeeIndex>build();
+            }
+            employeeIndex.sync(employees.getBody());
+            return ResponseEntity.ok(employeeIndex);
+        });
+    }
+
+    private Mono<ResponseEntity<List<Employee>>> fetchAllEmployeesFromApi() {
+        logger.debug("Making API call to {} to get all employees.", apiUrl);
+
+        Mono<ApiResponse<List<Employee>>> call = upstreamMetrics
+                .attempts(UpstreamMetrics.Endpoint.GET_ALL)
+                .record(webClient
+                        .get()
+                        .uri(apiUrl)
+                        .retrieve()
+                        .toEntity(new ParameterizedTypeReference<ApiResponse<List<Employee>>>() {}))
+                .mapNotNull(ResponseEntity::getBody);
+
+        return withRetry("Get all employees", call)
+                .map(body -> {
+                    if (body.getData() == null) {
+                        logger.error("API response had no employees, status: {}", body.getStatus());
+                        return ResponseEntity.internalServerError().<List<Employee>>build();
+                    }
+                    addEmployeesToCache(body.getData());
+                    employeeIndex.sync(body.getData());
+                    if (logger.isDebugEnabled()) {
+                        logger.debug(
+                                "Successfully retrieved {} employees from API",
+                                body.getData().size());
+                    }
+                    return ResponseEntity.ok(body.getData());
+                })
+                .onErrorResume(e -> internalServerError("Get all employees", e));
+    }
+
+    @Override
+    public Mono<ResponseEntity<Employee>> getEmployeeById(String id) {
+        return getEmployeeFromCache(id)
+                .map(ResponseEntity::ok)
+                .switchIfEmpty(coalesce(RawRedisCache.EMPLOYEE_BY_ID_PREFIX + id, () -> fetchEmployeeFromApi(id)));
+    }
+
+    private Mono<ResponseEntity<Employee>> fetchEmployeeFromApi(String id) {
+        String employeeUrl =
+                UriComponentsBuilder.fromHttpUrl(apiUrl).pathSegment(id).toUriString();
+        logger.debug("Making API call to: {}", employeeUrl);
+
+        Mono<ApiResponse<Employee>> call = upstreamMetrics
+                .attempts(UpstreamMetrics.Endpoint.GET_BY_ID)
+                .record(webClient
+                        .get()
+                        .uri(employeeUrl)
+                        .retrieve()
+                        .toEntity(new ParameterizedTypeReference<ApiResponse<Employee>>() {}))
+                .mapNotNull(ResponseEntity::getBody);
+
+        return withRetry("Get employee " + id, call)
+                .map(body -> {
+                    if (body.getData() == null) {
+                        logger.error("API response had no employee for ID: {}, status: {}", id, body.getStatus());
+                        return ResponseEntity.internalServerError().<Employee>build();
+                    }
+                    addEmployeeToCache(body.getData());
+                    logger.debug("Successfully retrieved employee id: {}", id);
+                    return ResponseEntity.ok(body.getData());
+                })
+                .onErrorResume(WebClientResponseException.NotFound.class, e -> {
+                    logger.warn("Employee not found for ID: {}", id);
+                    return Mono.just(ResponseEntity.notFound().build());
+                })
+                .onErrorResume(e -> internalServerError("Get employee " + id, e));
+    }
+
+    @Override
+    public Mono<ResponseEntity<Employee>> createEmployee(EmployeeInput employeeInput) {
+        logger.debug("Calling external API to create employee at URL: {}", apiUrl);
+
+        Mono<ResponseEntity<ApiResponse<Employee>>> call = upstreamMetrics
+                .attempts(UpstreamMetrics.Endpoint.CREATE)
+                .record(webClient
+                        .post()
+                        .uri(apiUrl)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .bodyValue(employeeInput)
+                        .retrieve()
+                        .toEntity(new ParameterizedTypeReference<ApiResponse<Employee>>() {}));
+
+        return withRetry("Create employee", call)
+                .flatMap(response -> {
+                    if (response.getBody() == null || response.getBody().getData() == null) {
+                        logger.warn("Received no employee from API, status: {}", response.getStatusCode());
+                        return Mono.just(new ResponseEntity<Employee>(response.getStatusCode()));
+                    }
+                    Employee employee = response.getBody().getData();
+                    return removeEmployeesFromCache()
+                            .doOnSuccess(ignored -> {
+                                addEmployeeToCache(employee);
+                                employeeIndex.put(employee);
+                            })
+                            .thenReturn(new ResponseEntity<>(employee, response.getStatusCode()));
+                })
+                .onErrorResume(e -> internalServerError("Create employee", e));
+    }
+
+    @Override
+    public Mono<ResponseEntity<String>> deleteEmployeeById(String id) {
+        return getEmployeeById(id).flatMap(employeeResponse -> {
+            if (!employeeResponse.getStatusCode().is2xxSuccessful() || employeeResponse.getBody() == null) {
+                return Mono.just(new ResponseEntity<>("Employee not found", HttpStatus.NOT_FOUND));
+            }
+            return deleteEmployeeByName(employeeResponse.getBody());
+        });
+    }
+
+    // Same rules as EmployeeServiceImpl: the upstream deletes by name, so refuse when the name isn't unique
+    private Mono<ResponseEntity<String>> deleteEmployeeByName(Employee employee) {
+        String employeeName = employee.getEmployee_name();
+
+        return getAllEmployees().flatMap(allEmployees -> {
+            if (allEmployees.getBody() != null
+                    && EmployeeServiceImpl.hasDuplicateName(allEmployees.getBody(), employeeName)) {
+                logger.error("Unable to delete. Duplicate name found for {}", employeeName);
+                return Mono.just(new ResponseEntity<>("Employee not found", HttpStatus.CONFLICT));
+            }
+
+            logger.debug("Calling API to delete employee at URL: {}", apiUrl);
+            Mono<ApiResponse<String>> call = upstreamMetrics
+                    .attempts(UpstreamMetrics.Endpoint.DELETE)
+                    .record(webClient
+                            .method(HttpMethod.DELETE)
+                            .uri(apiUrl)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .bodyValue(Map.of("name", employeeName))
+                            .retrieve()
+                            .toEntity(new ParameterizedTypeReference<ApiResponse<String>>() {}))
+                    .mapNotNull(ResponseEntity::getBody);
+
+            return withRetry("Delete employee " + employeeName, call)
+                    .flatMap(body -> {
+                        if (!"true".equals(body.getData())) {
+                            logger.error("API Endpoint did not return true");
+                            return Mono.just(
+                                    ResponseEntity.internalServerError().<String>build());
+                        }
+                        logger.info("Successfully deleted employee: {}", employeeName);
+                        employeeIndex.remove(employee.getId());
+                        return removeEmployeeFromCache(employee.getId())
+                                .then(removeEmployeesFromCache())
+                                .thenReturn(ResponseEntity.ok(employeeName));
+                    })
+                    .onErrorResume(WebClientResponseException.NotFound.class, e -> {
+                        logger.warn("Employee not found for deletion (API response): {}", employeeName);
+                        return Mono.just(new ResponseEntity<>("Employee not found", HttpStatus.NOT_FOUND));
+                    })
+                    .onErrorResume(e -> internalServerError("Delete employee " + employeeName, e));
+        });
+    }
+
+    /*
+     * Resubscribes to the call on 5xx and 429 with the same backoff settings as the servlet service: exponential
+     * delays capped at retry-max-delay, jittered, and the whole call bounded by retry-deadline. The delays are timer
+     * events, not sleeping threads.
+     */
+    private <T> Mono<T> withRetry(String operation, Mono<T> call) {
+        RetryBackoffSpec retry = Retry.backoff(Math.max(0, retryMaxAttempts - 1), Duration.ofMillis(retryInitialDelay))
+                .jitter(Math.min(1, Math.max(0, retryJitter)))
+                .filter(ReactiveEmployeeServiceImpl::isRetryable)
+                .doBeforeRetry(signal -> logger.warn(
+                        "{} failed (attempt {}/{}), retrying", operation, signal.totalRetries() + 1, retryMaxAttempts))
+                .onRetryExhaustedThrow((spec, signal) -> new RetryScheduler.RetriesExhaustedException(
+                        operation + " failed after " + (signal.totalRetries() + 1) + " attempts", signal.failure()));
+        if (retryMaxDelay > 0) {
+            retry = retry.maxBackoff(Duration.ofMillis(retryMaxDelay));
+        }
+        Mono<T> retried = call.retryWhen(retry);
+        return retryDeadline > 0 ? retried.timeout(Duration.ofMillis(retryDeadline)) : retried;
+    }
+
+    static boolean isRetryable(Throwable failure) {
+        return failure instanceof WebClientResponseException http
+                && (http.getStatusCode().is5xxServerError() || http.getStatusCode() == HttpStatus.TOO_MANY_REQUESTS);
+    }
+
+    private <T> Mono<ResponseEntity<T>> internalServerError(String operation, Throwable failure) {
+        if (failure instanceof RetryScheduler.RetriesExhaustedException) {
+            logger.error(failure.getMessage(), failure.getCause());
+        } else {
+            logger.error("Error during {}: {}", operation, failure.getMessage(), failure);
+        }
+        return Mono.just(ResponseEntity.internalServerError().build());
+    }
+
+    /*
+     * Joins the load already running for this key, or starts one. The load is cached until it completes, so every
+     * subscriber that arrives meanwhile gets the same response; the next miss after that starts a fresh load.
+     */
+    @SuppressWarnings("unchecked")
+    private <T> Mono<T> coalesce(String key, Supplier<Mono<T>> loader) {
+        return Mono.defer(() -> (Mono<T>) inFlight.computeIfAbsent(key, k -> {
+            AtomicReference<Mono<T>> self = new AtomicReference<>();
+            Mono<T> shared = loader.get()
+                    .doFinally(signal -> inFlight.remove(k, self.get()))
+                    .cache();
+            self.set(shared);
+            return shared;
+        }));
+    }
+
+    // Without the async client the cache's *Async methods run blocking pooled commands on the subscribing thread, which
+    // must not be an event loop, so they are moved to the bounded elastic scheduler
+    private <T> Mono<T> fromCache(Supplier<CompletableFuture<T>> command) {
+        Mono<T> reply = Mono.fromFuture(command);
+        return rawRedisCache.isAsyncEnabled() ? reply : reply.subscribeOn(Schedulers.boundedElastic());
+    }
+
+    private Mono<ResponseEntity<List<Employee>>> getEmployeesFromCache() {
+        if (this.rawRedisCache == null) {
+            return Mono.empty();
+        }
+        logger.debug("Checking cache for the list of all employees.");
+        return fromCache(rawRedisCache::getEmployeesFromCacheAsync)
+                .filter(cached -> cached.getBody() != null && !cached.getBody().isEmpty());
+    }
+
+    private Mono<Employee> getEmployeeFromCache(String employeeId) {
+        if (this.rawRedisCache == null) {
+            return Mono.empty();
+        }
+        logger.debug("Checking cache for {}", employeeId);
+        return fromCache(() -> rawRedisCache.getEmployeeFromCacheAsync(employeeId));
+    }
+
+    private void addEmployeesToCache(List<Employee> employees) {
+        if (this.rawRedisCache != null) {
+            fromCache(() -> rawRedisCache.addEmployeesToCacheAsync(ResponseEntity.ok(employees)))
+                    .subscribe(); // Fire-and-forget
+        }
+    }
+
+    private void addEmployeeToCache(Employee employee) {
+        if (this.rawRedisCache != null) {
+            fromCache(() -> rawRedisCache.addEmployeeToCacheAsync(ResponseEntity.ok(employee)))
+                    .subscribe(); // Fire-and-forget
+        }
+    }
+
+    // Evictions complete before the response so the caller's next read can't see the old entry
+    private Mono<Void> removeEmployeesFromCache() {
+        if (this.rawRedisCache == null) {
+            return Mono.empty();
+        }
+        return fromCache(rawRedisCache::removeEmployeesFromCacheAsync);
+    }
+
+    private Mono<Void> removeEmployeeFromCache(String employeeId) {
+        if (this.rawRedisCache == null) {
+            return Mono.empty();
+        }
+        return fromCache(() -> rawRedisCache.removeEmployeeFromCacheAsync(employeeId));
+    }
+}
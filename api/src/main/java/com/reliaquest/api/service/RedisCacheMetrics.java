@@ -0,0 +1,90 @@
+package com.reliaquest.api.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Meters recorded by {@link RawRedisCache}.
+ *
+ * <ul>
+ *   <li>{@code employee.cache.lookups}: reads by key family and result: {@code near_hit} (answered on-heap),
+ *       {@code hit}, {@code miss}, or {@code error} (Redis unreachable or the value unreadable)
+ *   <li>{@code redis.commands}: latency of each round trip to Redis by command and client ({@code pooled} or
+ *       {@code async}); a pipeline is one round trip, recorded under its first command
+ * </ul>
+ *
+ * Lookup counters are created up front and command timers once per command name, so the hot path never builds a meter.
+ */
+class RedisCacheMetrics {
+
+    enum Family {
+        EMPLOYEES("employees"),
+        EMPLOYEE_BY_ID("employeeById");
+
+        private final String tag;
+
+        Family(String tag) {
+            this.tag = tag;
+        }
+    }
+
+    enum Result {
+        NEAR_HIT,
+        HIT,
+        MISS,
+        ERROR
+    }
+
+    enum Client {
+        POOLED,
+        ASYNC
+    }
+
+    private final MeterRegistry registry;
+    private final Counter[][] lookups = new Counter[Family.values().length][Result.values().length];
+    private final Map<String, Timer> pooledCommands = new ConcurrentHashMap<>();
+    private final Map<String, Timer> asyncCommands = new ConcurrentHashMap<>();
+
+    RedisCacheMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        for (Family family : Family.values()) {
+            for (Result result : Result.values()) {
+                lookups[family.ordinal()][result.ordinal()] = Counter.builder("employee.cache.lookups")
+                        .description("Cache reads by key family and where they were answered")
+                        .tag("family", family.tag)
+                        .tag("result", result.name().toLowerCase())
+                        .register(registry);
+            }
+        }
+    }
+
+    void lookup(Family family, Result result) {
+        lookups[family.ordinal()][result.ordinal()].increment();
+    }
+
+    void command(Client client, Object command, long startedAt) {
+        Map<String, Timer> timers = client == Client.POOLED ? pooledCommands : asyncCommands;
+        String name = String.valueOf(command);
+        Timer timer = timers.get(name);
+        if (timer == null) {
+            timer = timers.computeIfAbsent(name, key -> newCommandTimer(client, key));
+        }
+        timer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+    }
+
+    private Timer newCommandTimer(Client client, String command) {
+        return Timer.builder("redis.commands")
+                .description("Latency of each round trip to Redis")
+                .tag("command", command)
+                .tag("client", client.name().toLowerCase())
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofNanos(50_000))
+                .maximumExpectedValue(Duration.ofSeconds(5))
+                .register(registry);
+    }
+}
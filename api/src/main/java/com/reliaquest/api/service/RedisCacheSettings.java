@@ -0,0 +1,27 @@
+package com.reliaquest.api.service;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/** Tuning knobs for {@link RawRedisCache}; the defaults match the values shipped in application.yml. */
+@Getter
+@Setter
+@NoArgsConstructor
+public class RedisCacheSettings {
+    private int timeoutMs = 2000; // Connect and read timeout for Redis sockets
+    private long employeesTtlMs = 300000; // Expiry of the all-employees list, 0 keeps it until evicted
+    private long employeeTtlMs = 900000; // Expiry of each employeeById:<id> entry, 0 keeps it until evicted
+    private double ttlJitterRatio = 0.1; // employeeById expiry is randomized by +/- this fraction of the TTL
+    private int poolMaxSize = 16;
+    private long poolBorrowTimeoutMs = 2000;
+    private long poolIdleTimeoutMs = 60000;
+    private long poolValidationIntervalMs = 30000;
+    private boolean asyncEnabled = false; // Start the non-blocking transport used by the *Async methods
+    private long nearCacheMaxWeight = 32 * 1024 * 1024; // Bytes of serialized values held on-heap, 0 disables
+    private long nearCacheTtlMs = 10000;
+    private String codec = "binary"; // Format new values are written in, "json" or "binary"; both are always read
+    private int compressionThresholdBytes = 16 * 1024; // Values at least this large are deflated, 0 disables
+    private int compressionLevel = 1; // Deflater level, 1 is fastest
+    private String invalidationChannel = "employee-cache-invalidation"; // Pub/sub channel, blank disables
+}
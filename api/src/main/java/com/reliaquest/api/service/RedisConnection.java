@@ -0,0 +1,161 @@
+package com.reliaquest.api.service;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A single persistent TCP connection to Redis. Instances are handed out by {@link RedisConnectionPool} and are not
+ * thread safe; a connection belongs to exactly one borrower at a time.
+ */
+class RedisConnection implements Closeable {
+    private static final int INITIAL_READ_BUFFER_SIZE = 16 * 1024;
+    private static final int MIN_READ_SPACE = 4 * 1024;
+
+    private final Socket socket;
+    private final OutputStream outputStream;
+    private final InputStream inputStream;
+    private final long createdAt;
+    private volatile long lastUsedAt;
+
+    // Holds bytes read from the socket that have not been decoded yet, kept in read mode between calls
+    private ByteBuffer readBuffer =
+            ByteBuffer.allocate(INITIAL_READ_BUFFER_SIZE).flip();
+
+    RedisConnection(String host, int port, int timeoutMs) throws IOException {
+        this.socket = new Socket();
+        try {
+            socket.setTcpNoDelay(true);
+            socket.setKeepAlive(true);
+            socket.setSoTimeout(timeoutMs); // Never block a request thread forever on a hung Redis
+            socket.connect(new InetSocketAddress(host, port), timeoutMs);
+            this.outputStream = new BufferedOutputStream(socket.getOutputStream());
+            this.inputStream = socket.getInputStream();
+        } catch (IOException e) {
+            socket.close();
+            throw e;
+        }
+        this.createdAt = System.currentTimeMillis();
+        this.lastUsedAt = createdAt;
+    }
+
+    /** Sends one command and waits for its reply. */
+    Object execute(Object... args) throws IOException {
+        write(args);
+        return readReply();
+    }
+
+    /** Sends one command without waiting, for connections in a push mode such as pub/sub. */
+    void write(Object... args) throws IOException {
+        outputStream.write(RespCodec.encodeCommand(args));
+        outputStream.flush();
+    }
+
+    /**
+     * Writes every command with a single flush and then reads the replies, which Redis returns in the order the
+     * commands were sent.
+     */
+    List<Object> pipeline(List<Object[]> commands) throws IOException {
+        ByteArrayOutputStream encoded = new ByteArrayOutputStream(commands.size() * 64);
+        for (Object[] command : commands) {
+            RespCodec.encodeCommand(encoded, command);
+        }
+        encoded.writeTo(outputStream);
+        outputStream.flush();
+
+        List<Object> replies = new ArrayList<>(commands.size());
+        for (int i = 0; i < commands.size(); i++) {
+            replies.add(readReply());
+        }
+        return replies;
+    }
+
+    Object readReply() throws IOException {
+        while (true) {
+            Object reply;
+            try {
+                reply = RespCodec.decode(readBuffer);
+            } catch (RuntimeException e) {
+                throw new IOException("Malformed Redis reply: " + e.getMessage(), e);
+            }
+            if (reply != RespCodec.INCOMPLETE) {
+                shrinkReadBuffer();
+                return reply;
+            }
+            fillReadBuffer();
+        }
+    }
+
+    void setReadTimeout(int timeoutMs) throws IOException {
+        socket.setSoTimeout(timeoutMs);
+    }
+
+    long getCreatedAt() {
+        return createdAt;
+    }
+
+    long idleMillis(long now) {
+        return now - lastUsedAt;
+    }
+
+    void touch() {
+        lastUsedAt = System.currentTimeMillis();
+    }
+
+    int readBufferCapacity() {
+        return readBuffer.capacity();
+    }
+
+    boolean isOpen() {
+        return socket.isConnected() && !socket.isClosed() && !socket.isInputShutdown() && !socket.isOutputShutdown();
+    }
+
+    @Override
+    public void close() {
+        try {
+            socket.close();
+        } catch (IOException ignored) {
+            // Nothing useful to do, the connection is being discarded anyway
+        }
+    }
+
+    // Appends to the undecoded bytes, which are only moved when little room is left behind them, so reading a
+    // multi-megabyte reply copies it a bounded number of times instead of once per socket read
+    private void fillReadBuffer() throws IOException {
+        if (readBuffer.capacity() - readBuffer.limit() < MIN_READ_SPACE) {
+            if (readBuffer.remaining() > readBuffer.capacity() / 2) {
+                // A single reply fills most of the buffer, grow it instead of failing
+                ByteBuffer larger = ByteBuffer.allocate(readBuffer.capacity() * 2);
+                larger.put(readBuffer).flip();
+                readBuffer = larger;
+            } else {
+                readBuffer.compact().flip();
+            }
+        }
+        int limit = readBuffer.limit();
+        int read = inputStream.read(readBuffer.array(), limit, readBuffer.capacity() - limit);
+        if (read == -1) {
+            throw new IOException("Redis closed the connection");
+        }
+        readBuffer.limit(limit + read);
+    }
+
+    // A buffer grown for one large reply goes back to the default size once what's left fits in it, so a pooled
+    // connection doesn't hold on to the largest reply it has ever read
+    private void shrinkReadBuffer() {
+        if (readBuffer.capacity() > INITIAL_READ_BUFFER_SIZE
+                && readBuffer.remaining() <= INITIAL_READ_BUFFER_SIZE - MIN_READ_SPACE) {
+            readBuffer = ByteBuffer.allocate(INITIAL_READ_BUFFER_SIZE)
+                    .put(readBuffer)
+                    .flip();
+        }
+    }
+}
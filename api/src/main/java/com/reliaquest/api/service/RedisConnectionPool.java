@@ -0,0 +1,186 @@
+package com.reliaquest.api.service;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Bounded pool of persistent Redis connections.
+ *
+ * <p>Idle connections are kept in a LIFO deque so the most recently used (warmest) connection is handed out first and
+ * the oldest ones collect at the tail, where they are evicted once they have been idle longer than the idle timeout.
+ * A connection that has been idle for at least the validation interval is health checked before it is handed out.
+ */
+public class RedisConnectionPool implements Closeable {
+    private static final Logger logger = LoggerFactory.getLogger(RedisConnectionPool.class);
+
+    private final String host;
+    private final int port;
+    private final int maxSize;
+    private final long borrowTimeoutMs;
+    private final long idleTimeoutMs;
+    private final long validationIntervalMs;
+    private final int socketTimeoutMs;
+    private final Predicate<RedisConnection> healthCheck;
+
+    private final LinkedBlockingDeque<RedisConnection> idle = new LinkedBlockingDeque<>();
+    private final Semaphore permits;
+    private volatile boolean closed;
+
+    private final AtomicInteger active = new AtomicInteger();
+    private final AtomicLong created = new AtomicLong();
+    private final AtomicLong destroyed = new AtomicLong();
+    private final AtomicLong borrowed = new AtomicLong();
+    private final AtomicLong borrowTimeouts = new AtomicLong();
+    private final AtomicLong healthCheckFailures = new AtomicLong();
+
+    public record PoolStats(
+            int active,
+            int idle,
+            long created,
+            long destroyed,
+            long borrowed,
+            long borrowTimeouts,
+            long healthCheckFailures) {}
+
+    RedisConnectionPool(
+            String host,
+            int port,
+            int maxSize,
+            long borrowTimeoutMs,
+            long idleTimeoutMs,
+            long validationIntervalMs,
+            int socketTimeoutMs,
+            Predicate<RedisConnection> healthCheck) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("Redis pool size must be at least 1");
+        }
+        this.host = host;
+        this.port = port;
+        this.maxSize = maxSize;
+        this.borrowTimeoutMs = borrowTimeoutMs;
+        this.idleTimeoutMs = idleTimeoutMs;
+        this.validationIntervalMs = validationIntervalMs;
+        this.socketTimeoutMs = socketTimeoutMs;
+        this.healthCheck = healthCheck;
+        this.permits = new Semaphore(maxSize, true);
+    }
+
+    RedisConnection borrow() throws IOException {
+        if (closed) {
+            throw new IOException("Redis connection pool is closed");
+        }
+        try {
+            if (!permits.tryAcquire(borrowTimeoutMs, TimeUnit.MILLISECONDS)) {
+                borrowTimeouts.incrementAndGet();
+                throw new IOException("Timed out after " + borrowTimeoutMs + "ms waiting for a Redis connection");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for a Redis connection", e);
+        }
+
+        try {
+            RedisConnection connection;
+            while ((connection = idle.pollFirst()) != null) {
+                long now = System.currentTimeMillis();
+                if (!connection.isOpen() || connection.idleMillis(now) >= idleTimeoutMs) {
+                    destroy(connection);
+                    continue;
+                }
+                if (connection.idleMillis(now) >= validationIntervalMs && !healthCheck.test(connection)) {
+                    healthCheckFailures.incrementAndGet();
+                    destroy(connection);
+                    continue;
+                }
+                return checkout(connection);
+            }
+
+            connection = new RedisConnection(host, port, socketTimeoutMs);
+            created.incrementAndGet();
+            logger.debug("Opened new Redis connection to {}:{} ({} total)", host, port, created.get());
+            return checkout(connection);
+        } catch (IOException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /** Returns a healthy connection to the pool after use. */
+    void release(RedisConnection connection) {
+        active.decrementAndGet();
+        connection.touch();
+        if (closed) {
+            destroy(connection);
+        } else {
+            idle.offerFirst(connection);
+        }
+        permits.release();
+        evictIdle();
+    }
+
+    /** Discards a connection whose stream state can no longer be trusted (I/O error, protocol desync). */
+    void invalidate(RedisConnection connection) {
+        active.decrementAndGet();
+        destroy(connection);
+        permits.release();
+    }
+
+    /** Closes connections at the cold end of the deque that have been idle longer than the idle timeout. */
+    void evictIdle() {
+        long now = System.currentTimeMillis();
+        Iterator<RedisConnection> oldestFirst = idle.descendingIterator();
+        while (oldestFirst.hasNext()) {
+            RedisConnection connection = oldestFirst.next();
+            if (connection.idleMillis(now) < idleTimeoutMs) {
+                break;
+            }
+            if (idle.removeLastOccurrence(connection)) {
+                destroy(connection);
+            }
+        }
+    }
+
+    public PoolStats getStats() {
+        return new PoolStats(
+                active.get(),
+                idle.size(),
+                created.get(),
+                destroyed.get(),
+                borrowed.get(),
+                borrowTimeouts.get(),
+                healthCheckFailures.get());
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        RedisConnection connection;
+        while ((connection = idle.pollFirst()) != null) {
+            destroy(connection);
+        }
+    }
+
+    private RedisConnection checkout(RedisConnection connection) {
+        active.incrementAndGet();
+        borrowed.incrementAndGet();
+        return connection;
+    }
+
+    private void destroy(RedisConnection connection) {
+        connection.close();
+        destroyed.incrementAndGet();
+    }
+}
@@ -0,0 +1,127 @@
+package com.reliaquest.api.service;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.SocketTimeoutException;
+import java.util.List;
+import java.util.function.Consumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Listens for near-cache invalidation messages published by other instances.
+ *
+ * <p>Runs on its own daemon thread with a dedicated Redis connection (a subscribed connection can't serve regular
+ * commands, so it never comes from the pool). Messages have the form {@code "<instanceId> <key>"}; messages published
+ * by this instance are ignored. Because invalidations sent while we are disconnected are lost, {@code onResubscribe}
+ * is called after every (re)subscription so the caller can drop everything it has cached locally.
+ */
+class RedisInvalidationSubscriber implements Closeable {
+    private static final Logger logger = LoggerFactory.getLogger(RedisInvalidationSubscriber.class);
+    private static final int IDLE_PING_INTERVAL_MS = 30000;
+    private static final long MAX_RECONNECT_DELAY_MS = 5000;
+
+    private final String host;
+    private final int port;
+    private final int connectTimeoutMs;
+    private final String channel;
+    private final String instanceId;
+    private final Consumer<String> onInvalidate;
+    private final Runnable onResubscribe;
+    private final Thread thread;
+    private volatile boolean running = true;
+    private volatile RedisConnection connection;
+
+    RedisInvalidationSubscriber(
+            String host,
+            int port,
+            int connectTimeoutMs,
+            String channel,
+            String instanceId,
+            Consumer<String> onInvalidate,
+            Runnable onResubscribe) {
+        this.host = host;
+        this.port = port;
+        this.connectTimeoutMs = connectTimeoutMs;
+        this.channel = channel;
+        this.instanceId = instanceId;
+        this.onInvalidate = onInvalidate;
+        this.onResubscribe = onResubscribe;
+        this.thread = new Thread(this::run, "redis-invalidation-subscriber");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    static String formatMessage(String instanceId, String key) {
+        return instanceId + " " + key;
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        RedisConnection current = connection;
+        if (current != null) {
+            current.close(); // Unblocks the subscriber thread's read
+        }
+        thread.interrupt();
+    }
+
+    private void run() {
+        long reconnectDelayMs = 100;
+        while (running) {
+            try (RedisConnection subscribed = new RedisConnection(host, port, connectTimeoutMs)) {
+                connection = subscribed;
+                subscribed.setReadTimeout(IDLE_PING_INTERVAL_MS);
+                subscribed.execute("SUBSCRIBE", channel);
+                logger.debug("Subscribed to cache invalidation channel {}", channel);
+                onResubscribe.run();
+                reconnectDelayMs = 100;
+
+                while (running) {
+                    Object reply;
+                    try {
+                        reply = subscribed.readReply();
+                    } catch (SocketTimeoutException e) {
+                        subscribed.write("PING"); // Quiet channel, make sure the connection is still alive
+                        continue;
+                    }
+                    handle(reply);
+                }
+            } catch (IOException e) {
+                if (running) {
+                    logger.warn("Cache invalidation subscription lost: {}", e.getMessage());
+                }
+            } finally {
+                connection = null;
+            }
+
+            if (running) {
+                try {
+                    Thread.sleep(reconnectDelayMs);
+                } catch (InterruptedException e) {
+                    return;
+                }
+                reconnectDelayMs = Math.min(reconnectDelayMs * 2, MAX_RECONNECT_DELAY_MS);
+            }
+        }
+    }
+
+    // RESP2 delivers ["message", channel, payload]; PING replies arrive as ["pong", ""] and are ignored
+    private void handle(Object reply) {
+        if (!(reply instanceof List<?> parts)
+                || parts.size() != 3
+                || !"message".equals(RespCodec.asString(parts.get(0)))) {
+            return;
+        }
+        String payload = RespCodec.asString(parts.get(2));
+        int separator = payload == null ? -1 : payload.indexOf(' ');
+        if (separator < 0) {
+            logger.warn("Ignoring malformed cache invalidation message: {}", payload);
+            return;
+        }
+        if (payload.regionMatches(0, instanceId, 0, separator) && separator == instanceId.length()) {
+            return; // Our own write, the local cache is already up to date
+        }
+        onInvalidate.accept(payload.substring(separator + 1));
+    }
+}
@@ -0,0 +1,240 @@
+package com.reliaquest.api.service;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BooleanSupplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Hedges slow idempotent upstream calls: if the first request hasn't answered within the observed latency percentile,
+ * an identical second request is sent and whichever succeeds first wins. The other one is cancelled, which interrupts
+ * its thread; a blocking read that ignores interrupts runs to its timeout and its result is dropped.
+ *
+ * <p>The hedge delay is the {@code percentile} of the last {@value #WINDOW_SIZE} call latencies, never less than
+ * {@code minDelayMs}. Failed calls count too, so an upstream that is slow to fail (timing out, say) raises the delay
+ * instead of leaving only the fast successes in the window; requests cancelled because the other one won don't.
+ * Nothing is hedged until {@value #MIN_SAMPLES} calls have been measured. Every call earns {@code budgetRatio} of a
+ * hedge and every hedge spends a whole one, so at most that fraction of calls send a second request even when the
+ * upstream is slow for everyone.
+ *
+ * <p>A hedge is a real second request, so callers guarding the upstream pass an admission check that must grant it a
+ * slot right away; when it doesn't, the call just keeps waiting for the first request.
+ */
+public class RequestHedger {
+    private static final Logger logger = LoggerFactory.getLogger(RequestHedger.class);
+    static final int WINDOW_SIZE = 1000;
+    static final int MIN_SAMPLES = 20;
+    private static final int RECOMPUTE_EVERY = 10; // Samples between percentile recomputations
+    private static final double MAX_BUDGET = 10; // Unused hedges saved up for a burst of slow calls
+
+    private final String name;
+    private final double percentile;
+    private final long minDelayMs;
+    private final double budgetRatio;
+    private final ExecutorService executor;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    // State below is guarded by the lock
+    private final long[] latencies = new long[WINDOW_SIZE]; // Ring buffer of recent latencies in milliseconds
+    private int recorded;
+    private int next;
+    private int sinceRecompute;
+    private long hedgeDelayMs = -1; // -1 until enough samples are in
+    private double budget;
+
+    private final AtomicLong hedged = new AtomicLong();
+    private final AtomicLong hedgeWins = new AtomicLong();
+
+    /** Current hedge delay (-1 while warming up), calls hedged so far and how many of those the hedge won. */
+    public record Stats(long hedgeDelayMs, long hedged, long hedgeWins) {}
+
+    /**
+     * @param percentile latency percentile, 0-100, after which a hedge is sent
+     * @param executor runs both requests while the caller waits for the first to succeed
+     */
+    public RequestHedger(
+            String name, double percentile, long minDelayMs, double budgetRatio, ExecutorService executor) {
+        this.name = name;
+        this.percentile = Math.min(100, Math.max(0, percentile));
+        this.minDelayMs = minDelayMs;
+        this.budgetRatio = budgetRatio;
+        this.executor = executor;
+    }
+
+    public <T> T execute(Callable<T> call) throws Exception {
+        return execute(call, call, () -> true);
+    }
+
+    /**
+     * @param hedge the second request, the same call as {@code call} but free to guard itself differently
+     * @param hedgeAdmission asked once the hedge is due and budgeted; returning false skips the hedge and hands its
+     *     budget back. It must not block.
+     */
+    public <T> T execute(Callable<T> call, Callable<T> hedge, BooleanSupplier hedgeAdmission) throws Exception {
+        long delay = earnBudgetAndGetDelay();
+        Attempt<T> primary = start(call);
+        Attempt<T> second = null;
+        try {
+            if (delay < 0) {
+                return await(primary.result());
+            }
+            try {
+                return primary.result().get(delay, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                // Slower than the percentile, hedge if the budget allows
+            } catch (ExecutionException e) {
+                throw unwrap(e);
+            }
+            if (!trySpendBudget()) {
+                return await(primary.result());
+            }
+            if (!hedgeAdmission.getAsBoolean()) {
+                refundBudget();
+                logger.debug(
+                        "{} call is slower than {}ms, but the upstream guards have no room for a hedge", name, delay);
+                return await(primary.result());
+            }
+
+            hedged.incrementAndGet();
+            logger.debug("{} call is slower than {}ms, sending a hedged request", name, delay);
+            second = start(hedge);
+            CompletableFuture<Attempt<T>> winner = new CompletableFuture<>();
+            AtomicInteger failed = new AtomicInteger();
+            for (Attempt<T> attempt : List.of(primary, second)) {
+                attempt.result().whenComplete((value, error) -> settle(winner, attempt, error, failed));
+            }
+            Attempt<T> won = await(winner);
+            if (won == second) {
+                hedgeWins.incrementAndGet();
+            }
+            return won.result().join();
+        } finally {
+            // Cancels the loser, or everything if the caller was interrupted; a no-op for finished requests
+            primary.task().cancel(true);
+            if (second != null) {
+                second.task().cancel(true);
+            }
+        }
+    }
+
+    /** Adds a measured latency; calls made through {@link #execute} are recorded automatically. */
+    public void recordLatency(long latencyMs) {
+        lock.lock();
+        try {
+            latencies[next] = latencyMs;
+            next = (next + 1) % latencies.length;
+            if (recorded < latencies.length) {
+                recorded++;
+            }
+            if (recorded >= MIN_SAMPLES && (hedgeDelayMs < 0 || ++sinceRecompute >= RECOMPUTE_EVERY)) {
+                sinceRecompute = 0;
+                long[] sorted = Arrays.copyOf(latencies, recorded);
+                Arrays.sort(sorted);
+                int index = (int) Math.ceil(percentile / 100 * recorded) - 1;
+                hedgeDelayMs = Math.max(minDelayMs, sorted[Math.max(0, index)]);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public Stats getStats() {
+        lock.lock();
+        try {
+            return new Stats(hedgeDelayMs, hedged.get(), hedgeWins.get());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private record Attempt<T>(CompletableFuture<T> result, Future<?> task) {}
+
+    private <T> Attempt<T> start(Callable<T> call) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        Future<?> task = executor.submit(() -> {
+            long start = System.nanoTime();
+            try {
+                T value = call.call();
+                recordLatency(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+                result.complete(value);
+            } catch (Throwable e) {
+                if (!Thread.currentThread().isInterrupted()) { // Cut short by cancellation, not a real latency
+                    recordLatency(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+                }
+                result.completeExceptionally(e);
+            }
+        });
+        return new Attempt<>(result, task);
+    }
+
+    // First success wins; the call only fails once both requests have failed
+    private static <T> void settle(
+            CompletableFuture<Attempt<T>> winner, Attempt<T> attempt, Throwable error, AtomicInteger failed) {
+        if (error == null) {
+            winner.complete(attempt);
+        } else if (failed.incrementAndGet() == 2) {
+            winner.completeExceptionally(error);
+        }
+    }
+
+    private long earnBudgetAndGetDelay() {
+        lock.lock();
+        try {
+            budget = Math.min(MAX_BUDGET, budget + budgetRatio);
+            return hedgeDelayMs;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean trySpendBudget() {
+        lock.lock();
+        try {
+            if (budget < 1) {
+                return false;
+            }
+            budget -= 1;
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void refundBudget() {
+        lock.lock();
+        try {
+            budget = Math.min(MAX_BUDGET, budget + 1);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static <T> T await(CompletableFuture<T> result) throws Exception {
+        try {
+            return result.get();
+        } catch (ExecutionException e) {
+            throw unwrap(e);
+        }
+    }
+
+    private static Exception unwrap(ExecutionException e) {
+        if (e.getCause() instanceof Exception cause) {
+            return cause;
+        }
+        if (e.getCause() instanceof Error error) {
+            throw error;
+        }
+        return e;
+    }
+}
@@ -0,0 +1,203 @@
+package com.reliaquest.api.service;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Binary-safe encoder and incremental decoder for the Redis serialization protocol (RESP2 and RESP3).
+ *
+ * <p>Commands are encoded as arrays of bulk strings with byte (not char) lengths. Replies are decoded from a
+ * {@link ByteBuffer} into plain Java values:
+ *
+ * <ul>
+ *   <li>simple string ({@code +}) - {@link String}
+ *   <li>error ({@code -}, {@code !}) - {@link ErrorReply}
+ *   <li>integer ({@code :}) - {@link Long}
+ *   <li>bulk / verbatim string ({@code $}, {@code =}) - {@code byte[]}
+ *   <li>array, set, push ({@code *}, {@code ~}, {@code >}) - {@link List}
+ *   <li>map ({@code %}) - {@link Map}
+ *   <li>null ({@code $-1}, {@code *-1}, {@code _}) - {@code null}
+ *   <li>boolean ({@code #}), double ({@code ,}), big number ({@code (}) - {@link Boolean}, {@link Double},
+ *       {@link BigInteger}
+ * </ul>
+ *
+ * When the buffer does not yet hold a complete reply, {@link #decode(ByteBuffer)} returns {@link #INCOMPLETE} and
+ * leaves the buffer position untouched so the caller can read more bytes and try again.
+ */
+public final class RespCodec {
+    /** Marker returned by {@link #decode(ByteBuffer)} when more bytes are needed. */
+    public static final Object INCOMPLETE = new Object();
+
+    private static final byte[] CRLF = {'\r', '\n'};
+
+    /** A Redis error reply, e.g. {@code -ERR unknown command}. */
+    public record ErrorReply(String message) {}
+
+    private RespCodec() {}
+
+    public static byte[] encodeCommand(Object... args) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(64);
+        encodeCommand(out, args);
+        return out.toByteArray();
+    }
+
+    /** Appends one command to {@code out}; arguments may be {@code byte[]} or anything with a useful toString(). */
+    public static void encodeCommand(ByteArrayOutputStream out, Object... args) {
+        writeHeader(out, '*', args.length);
+        for (Object arg : args) {
+            byte[] bytes = arg instanceof byte[] raw ? raw : String.valueOf(arg).getBytes(StandardCharsets.UTF_8);
+            writeHeader(out, '$', bytes.length);
+            out.writeBytes(bytes);
+            out.writeBytes(CRLF);
+        }
+    }
+
+    public static Object decode(ByteBuffer buffer) {
+        int start = buffer.position();
+        Object reply = decodeValue(buffer);
+        if (reply == INCOMPLETE) {
+            buffer.position(start);
+        }
+        return reply;
+    }
+
+    public static String asString(Object reply) {
+        if (reply instanceof byte[] bytes) {
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+        return reply == null ? null : reply.toString();
+    }
+
+    private static Object decodeValue(ByteBuffer buffer) {
+        if (!buffer.hasRemaining()) {
+            return INCOMPLETE;
+        }
+        byte type = buffer.get();
+        String line = readLine(buffer);
+        if (line == null) {
+            return INCOMPLETE;
+        }
+
+        switch (type) {
+            case '+':
+                return line;
+            case '-':
+                return new ErrorReply(line);
+            case ':':
+                return Long.parseLong(line);
+            case '_':
+                return null;
+            case '#':
+                return "t".equals(line);
+            case ',':
+                return parseDouble(line);
+            case '(':
+                return new BigInteger(line);
+            case '$':
+            case '=':
+            case '!':
+                return decodeBlob(type, Integer.parseInt(line), buffer);
+            case '*':
+            case '~':
+            case '>':
+                return decodeAggregate(Integer.parseInt(line), buffer);
+            case '%':
+                return decodeMap(Integer.parseInt(line), buffer);
+            case '|':
+                // Attributes are out-of-band metadata; skip them and return the value they annotate
+                Object attributes = decodeMap(Integer.parseInt(line), buffer);
+                return attributes == INCOMPLETE ? INCOMPLETE : decodeValue(buffer);
+            default:
+                throw new IllegalStateException("Unknown RESP type byte: " + (char) type);
+        }
+    }
+
+    private static Object decodeBlob(byte type, int length, ByteBuffer buffer) {
+        if (length < 0) {
+            return null;
+        }
+        if (buffer.remaining() < length + CRLF.length) {
+            return INCOMPLETE;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        buffer.position(buffer.position() + CRLF.length);
+
+        if (type == '!') {
+            return new ErrorReply(new String(bytes, StandardCharsets.UTF_8));
+        }
+        if (type == '=' && length >= 4) {
+            // Verbatim strings carry a three letter format prefix, e.g. "txt:"
+            byte[] text = new byte[length - 4];
+            System.arraycopy(bytes, 4, text, 0, text.length);
+            return text;
+        }
+        return bytes;
+    }
+
+    private static Object decodeAggregate(int count, ByteBuffer buffer) {
+        if (count < 0) {
+            return null;
+        }
+        List<Object> elements = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Object element = decodeValue(buffer);
+            if (element == INCOMPLETE) {
+                return INCOMPLETE;
+            }
+            elements.add(element);
+        }
+        return elements;
+    }
+
+    private static Object decodeMap(int count, ByteBuffer buffer) {
+        Map<Object, Object> entries = new LinkedHashMap<>();
+        for (int i = 0; i < count; i++) {
+            Object key = decodeValue(buffer);
+            if (key == INCOMPLETE) {
+                return INCOMPLETE;
+            }
+            Object value = decodeValue(buffer);
+            if (value == INCOMPLETE) {
+                return INCOMPLETE;
+            }
+            entries.put(key instanceof byte[] bytes ? new String(bytes, StandardCharsets.UTF_8) : key, value);
+        }
+        return entries;
+    }
+
+    private static Double parseDouble(String line) {
+        return switch (line) {
+            case "inf" -> Double.POSITIVE_INFINITY;
+            case "-inf" -> Double.NEGATIVE_INFINITY;
+            case "nan" -> Double.NaN;
+            default -> Double.parseDouble(line);
+        };
+    }
+
+    // Reads up to the next CRLF, or returns null when the line has not fully arrived yet
+    private static String readLine(ByteBuffer buffer) {
+        int start = buffer.position();
+        for (int i = start; i < buffer.limit() - 1; i++) {
+            if (buffer.get(i) == '\r' && buffer.get(i + 1) == '\n') {
+                byte[] line = new byte[i - start];
+                buffer.get(line);
+                buffer.position(i + CRLF.length);
+                return new String(line, StandardCharsets.UTF_8);
+            }
+        }
+        return null;
+    }
+
+    private static void writeHeader(ByteArrayOutputStream out, char type, int length) {
+        out.write(type);
+        out.writeBytes(Integer.toString(length).getBytes(StandardCharsets.US_ASCII));
+        out.writeBytes(CRLF);
+    }
+}
@@ -0,0 +1,191 @@
+package com.reliaquest.api.service;
+
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.LongUnaryOperator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.HttpStatusCodeException;
+
+/**
+ * Runs upstream calls with retries, exponential backoff and jitter. Failures worth retrying (5xx and 429) are retried,
+ * waiting longer when the upstream's Retry-After header asks for it. Retries stop after the policy's maximum number
+ * of attempts, or as soon as the next attempt could not start within the total deadline. Any other exception fails the
+ * call straight away.
+ *
+ * <p>Every attempt runs on the calling thread, which sleeps through the backoff and any admission wait. That is cheap
+ * because the servlet stack serves requests on virtual threads (spring.threads.virtual.enabled), where a sleep only
+ * parks the virtual thread and hands its carrier to other requests. On platform threads each waiting call holds a
+ * request thread for the whole wait, so this design relies on virtual threads being enabled.
+ *
+ * <p>An optional admission check runs before every attempt. It is given the milliseconds left before the deadline and
+ * returns how long the attempt has to wait (a rate limiter handing out a future permit, for example). It should throw
+ * to reject the call rather than return a wait that doesn't fit, so it never reserves anything that goes unused.
+ *
+ * <p>Each attempt runs in its own {@code upstream attempt} span, a child of the span current when the call was made.
+ * The span records the attempt number and how long the attempt waited to start (backoff plus any admission wait), and
+ * spans the attempt makes, such as the HTTP client's, nest under it.
+ */
+public class RetryScheduler {
+    private static final Logger logger = LoggerFactory.getLogger(RetryScheduler.class);
+
+    private Tracer tracer = Tracer.NOOP;
+
+    /**
+     * Limits for one call. Delays double from {@code initialDelayMs} up to {@code maxDelayMs}, and each one is reduced
+     * by a random fraction of up to {@code jitterRatio}. A max delay or deadline of 0 or less means unbounded.
+     */
+    public record Policy(int maxAttempts, long initialDelayMs, long maxDelayMs, double jitterRatio, long deadlineMs) {}
+
+    /** Thrown when no attempt succeeded within the policy. */
+    public static class RetriesExhaustedException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        RetriesExhaustedException(String message, Throwable lastFailure) {
+            super(message, lastFailure);
+        }
+    }
+
+    /** The admission wait for the next attempt would run past the deadline, so the attempt was never made. */
+    public static class NotAdmittedException extends RetriesExhaustedException {
+        private static final long serialVersionUID = 1L;
+
+        NotAdmittedException(String message) {
+            super(message, null);
+        }
+    }
+
+    public void setTracer(Tracer tracer) {
+        this.tracer = tracer;
+    }
+
+    /**
+     * Runs the call and its retries on the calling thread, sleeping through backoff and admission waits, and returns
+     * its result. Throws the admission check's exception, the first failure not worth retrying, or a
+     * {@link RetriesExhaustedException}.
+     */
+    @SuppressWarnings("try")
+    public <T> T call(String operation, Policy policy, Callable<T> call, LongUnaryOperator admission) throws Exception {
+        long deadline = deadline(policy);
+        Span parent = tracer.currentSpan();
+        long waitedMs = 0;
+        for (int attempt = 1; ; attempt++) {
+            long waitMs = admission != null ? admission.applyAsLong(deadline - System.currentTimeMillis()) : 0;
+            if (waitMs > 0) {
+                if (System.currentTimeMillis() + waitMs > deadline) {
+                    throw notAdmitted(operation, policy, attempt);
+                }
+                Thread.sleep(waitMs);
+                waitedMs += waitMs;
+            }
+
+            Exception failure;
+            Span span = attemptSpan(parent, operation, attempt, waitedMs);
+            try (Tracer.SpanInScope ignoredScope = tracer.withSpan(span)) {
+                T value = call.call();
+                span.end();
+                return value;
+            } catch (Exception e) {
+                span.error(e).end();
+                if (!isRetryable(e)) {
+                    throw e;
+                }
+                failure = e;
+            }
+
+            long delay = nextDelay(policy, attempt, failure);
+            RetriesExhaustedException exhausted = giveUp(operation, policy, attempt, delay, deadline, failure);
+            if (exhausted != null) {
+                throw exhausted;
+            }
+            logger.warn("{} failed (attempt {}/{}), retrying in {}ms", operation, attempt, policy.maxAttempts(), delay);
+            Thread.sleep(delay);
+            waitedMs = delay;
+        }
+    }
+
+    private static long deadline(Policy policy) {
+        return policy.deadlineMs() > 0 ? System.currentTimeMillis() + policy.deadlineMs() : Long.MAX_VALUE;
+    }
+
+    private Span attemptSpan(Span parent, String operation, int attempt, long waitedMs) {
+        return tracer.nextSpan(parent)
+                .name("upstream attempt")
+                .tag("operation", operation)
+                .tag("retry.attempt", attempt)
+                .tag("retry.waited.ms", waitedMs)
+                .start();
+    }
+
+    private static NotAdmittedException notAdmitted(String operation, Policy policy, int attempt) {
+        return new NotAdmittedException(operation + " could not start attempt " + attempt + " within the "
+                + policy.deadlineMs() + "ms deadline");
+    }
+
+    // Null when another attempt after the delay is still allowed
+    private static RetriesExhaustedException giveUp(
+            String operation, Policy policy, int attempt, long delay, long deadline, Exception failure) {
+        if (attempt >= policy.maxAttempts()) {
+            return new RetriesExhaustedException(operation + " failed after " + attempt + " attempts", failure);
+        }
+        if (System.currentTimeMillis() + delay > deadline) {
+            return new RetriesExhaustedException(
+                    operation + " failed after " + attempt + " attempts, retrying would exceed the "
+                            + policy.deadlineMs() + "ms deadline",
+                    failure);
+        }
+        return null;
+    }
+
+    static boolean isRetryable(Throwable failure) {
+        return failure instanceof HttpServerErrorException
+                || failure instanceof HttpClientErrorException.TooManyRequests;
+    }
+
+    static long nextDelay(Policy policy, int attempt, Throwable failure) {
+        long backoff = policy.initialDelayMs() * (1L << Math.min(attempt - 1, 30));
+        if (policy.maxDelayMs() > 0) {
+            backoff = Math.min(backoff, policy.maxDelayMs());
+        }
+        if (policy.jitterRatio() > 0) {
+            // Spread callers that failed together so they don't all come back at the same moment
+            backoff -= (long) (backoff
+                    * policy.jitterRatio()
+                    * ThreadLocalRandom.current().nextDouble());
+        }
+        return Math.max(backoff, retryAfterMs(failure));
+    }
+
+    // Retry-After is either a number of seconds or an HTTP date
+    static long retryAfterMs(Throwable failure) {
+        if (!(failure instanceof HttpStatusCodeException http) || http.getResponseHeaders() == null) {
+            return 0;
+        }
+        String retryAfter = http.getResponseHeaders().getFirst(HttpHeaders.RETRY_AFTER);
+        if (retryAfter == null || retryAfter.isBlank()) {
+            return 0;
+        }
+        try {
+            return Math.max(0, Long.parseLong(retryAfter.trim()) * 1000);
+        } catch (NumberFormatException e) {
+            // Not a number of seconds, try a date
+        }
+        try {
+            long retryAt = ZonedDateTime.parse(retryAfter.trim(), DateTimeFormatter.RFC_1123_DATE_TIME)
+                    .toInstant()
+                    .toEpochMilli();
+            return Math.max(0, retryAt - System.currentTimeMillis());
+        } catch (DateTimeParseException e) {
+            logger.debug("Ignoring unparseable Retry-After header: {}", retryAfter);
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.reliaquest.api.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.TreeSet;
+
+/**
+ * The {@code k} best items of a changing collection, best first. Not thread-safe; {@link EmployeeIndex} guards it.
+ *
+ * <p>Only the top {@code k} are kept, so adding an item costs O(log k) and removing one that isn't in the top is free.
+ * Removing a member takes one pass over the remaining items to find the best one outside the top, which moves up to
+ * fill the gap. {@code order} must be a total order (no two distinct items comparing equal), since it also decides
+ * identity within the top.
+ */
+public class TopK<T> {
+    private final int k;
+    private final Comparator<? super T> order;
+    private final TreeSet<T> members; // Always the best min(k, n) items
+
+    /** @param order best first */
+    public TopK(int k, Comparator<? super T> order) {
+        this.k = Math.max(1, k);
+        this.order = order;
+        this.members = new TreeSet<>(order);
+    }
+
+    /**
+     * The {@code k} best items, best first, in O(n log k) with a bounded heap instead of sorting everything. Items that
+     * compare equal keep their encounter order, like a stable sort followed by a limit.
+     */
+    public static <T> List<T> select(Iterable<? extends T> items, int k, Comparator<? super T> order) {
+        if (k <= 0) {
+            return new ArrayList<>();
+        }
+        Comparator<Candidate<T>> rank =
+                Comparator.<Candidate<T>, T>comparing(Candidate::item, order).thenComparingLong(Candidate::position);
+        PriorityQueue<Candidate<T>> heap = new PriorityQueue<>(k + 1, rank.reversed()); // Worst of the top on top
+        long position = 0;
+        for (T item : items) {
+            Candidate<T> candidate = new Candidate<>(item, position++);
+            if (heap.size() < k) {
+                heap.add(candidate);
+            } else if (rank.compare(candidate, heap.peek()) < 0) {
+                heap.poll();
+                heap.add(candidate);
+            }
+        }
+        List<T> best = new ArrayList<>(heap.size());
+        while (!heap.isEmpty()) {
+            best.add(heap.poll().item());
+        }
+        Collections.reverse(best);
+        return best;
+    }
+
+    private record Candidate<T>(T item, long position) {}
+
+    public int getK() {
+        return k;
+    }
+
+    public void rebuild(Iterable<? extends T> items) {
+        members.clear();
+        members.addAll(select(items, k, order));
+    }
+
+    /** Takes the item into the top if it ranks there, pushing out the last member. */
+    public void offer(T item) {
+        if (members.contains(item)) {
+            return;
+        }
+        if (members.size() < k) {
+            members.add(item);
+        } else if (order.compare(item, members.last()) < 0) {
+            members.add(item);
+            members.pollLast();
+        }
+    }
+
+    /**
+     * Drops the item. If it was in the top, the best of {@code remaining} (every item still in the collection) that
+     * isn't takes its place.
+     */
+    public void remove(T item, Iterable<? extends T> remaining) {
+        if (!members.remove(item)) {
+            return;
+        }
+        // Everything outside the top ranks below every member, so the best of it is the new k-th
+        T best = null;
+        for (T candidate : remaining) {
+            if ((best == null || order.compare(candidate, best) < 0) && !members.contains(candidate)) {
+                best = candidate;
+            }
+        }
+        if (best != null) {
+            members.add(best);
+        }
+    }
+
+    /** Best item, or null when the collection is empty. */
+    public T first() {
+        return members.isEmpty() ? null : members.first();
+    }
+
+    /** The best {@code n} items, best first, for {@code n} up to {@code k}. */
+    public List<T> top(int n) {
+        List<T> best = new ArrayList<>(Math.min(n, members.size()));
+        Iterator<T> iterator = members.iterator();
+        while (best.size() < n && iterator.hasNext()) {
+            best.add(iterator.next());
+        }
+        return best;
+    }
+}
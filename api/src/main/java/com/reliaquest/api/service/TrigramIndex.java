@@ -0,0 +1,194 @@
+package com.reliaquest.api.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Substring index over short texts, keyed by an id. Not thread-safe; {@link EmployeeIndex} guards it.
+ *
+ * <p>Each text is case-folded with {@link String#toLowerCase()} and every run of three consecutive characters
+ * (trigram) gets a posting list of the texts containing it. A query of three or more characters only looks at texts
+ * that contain all of its trigrams, found by intersecting their posting lists, smallest first. Those candidates are
+ * then checked with {@link String#contains}, so results are exactly those of a case-insensitive {@code contains} scan.
+ * Shorter queries have no trigram to look up and fall back to scanning the folded texts.
+ *
+ * <p>Every id gets an ordinal in the order it was first added, and posting lists are sorted by ordinal, so new texts
+ * are appended in O(1) per trigram and results come back in insertion order.
+ */
+public class TrigramIndex {
+    private final Map<String, Integer> ordinals = new HashMap<>();
+    private final List<String> ids = new ArrayList<>(); // By ordinal, null once removed
+    private final List<String> foldedTexts = new ArrayList<>(); // By ordinal, null once removed
+    private final Map<Long, PostingList> postings = new HashMap<>();
+    private int size;
+
+    /** Indexes the text under the id, replacing the text previously indexed for it but keeping its position. */
+    public void put(String id, String text) {
+        String folded = text != null ? text.toLowerCase() : null;
+        Integer ordinal = ordinals.get(id);
+        if (ordinal == null) {
+            ordinal = ids.size();
+            ordinals.put(id, ordinal);
+            ids.add(id);
+            foldedTexts.add(folded);
+            size++;
+        } else {
+            unindex(ordinal, foldedTexts.get(ordinal));
+            foldedTexts.set(ordinal, folded);
+        }
+        if (folded != null) {
+            for (long trigram : trigrams(folded)) {
+                postings.computeIfAbsent(trigram, key -> new PostingList()).add(ordinal);
+            }
+        }
+    }
+
+    public void remove(String id) {
+        Integer ordinal = ordinals.remove(id);
+        if (ordinal == null) {
+            return;
+        }
+        unindex(ordinal, foldedTexts.get(ordinal));
+        ids.set(ordinal, null);
+        foldedTexts.set(ordinal, null);
+        size--;
+    }
+
+    public void clear() {
+        ordinals.clear();
+        ids.clear();
+        foldedTexts.clear();
+        postings.clear();
+        size = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /** Ids whose text contains {@code query}, ignoring case, in the order they were first added. */
+    public List<String> search(String query) {
+        String folded = query.toLowerCase();
+        List<String> matches = new ArrayList<>();
+        if (folded.length() < 3) {
+            for (int ordinal = 0; ordinal < ids.size(); ordinal++) {
+                String text = foldedTexts.get(ordinal);
+                if (text != null && text.contains(folded)) {
+                    matches.add(ids.get(ordinal));
+                }
+            }
+            return matches;
+        }
+
+        long[] queryTrigrams = trigrams(folded);
+        List<PostingList> lists = new ArrayList<>(queryTrigrams.length);
+        for (long trigram : queryTrigrams) {
+            PostingList list = postings.get(trigram);
+            if (list == null) {
+                return matches; // No text has this trigram
+            }
+            lists.add(list);
+        }
+        lists.sort(Comparator.comparingInt(list -> list.size));
+
+        int[] candidates = Arrays.copyOf(lists.get(0).ordinals, lists.get(0).size);
+        int count = candidates.length;
+        for (int i = 1; i < lists.size() && count > 0; i++) {
+            count = lists.get(i).retainAll(candidates, count);
+        }
+        for (int i = 0; i < count; i++) {
+            // Trigrams can all be present without the query being a substring, e.g. "abcab" has those of "bcabc"
+            if (foldedTexts.get(candidates[i]).contains(folded)) {
+                matches.add(ids.get(candidates[i]));
+            }
+        }
+        return matches;
+    }
+
+    private void unindex(int ordinal, String folded) {
+        if (folded == null) {
+            return;
+        }
+        for (long trigram : trigrams(folded)) {
+            PostingList list = postings.get(trigram);
+            if (list != null && list.remove(ordinal) && list.size == 0) {
+                postings.remove(trigram);
+            }
+        }
+    }
+
+    // Distinct trigrams of the text, each packed into a long as three 16-bit chars
+    static long[] trigrams(String text) {
+        if (text.length() < 3) {
+            return new long[0];
+        }
+        long[] trigrams = new long[text.length() - 2];
+        for (int i = 0; i < trigrams.length; i++) {
+            trigrams[i] = ((long) text.charAt(i) << 32) | ((long) text.charAt(i + 1) << 16) | text.charAt(i + 2);
+        }
+        Arrays.sort(trigrams);
+        int distinct = 0;
+        for (long trigram : trigrams) {
+            if (distinct == 0 || trigrams[distinct - 1] != trigram) {
+                trigrams[distinct++] = trigram;
+            }
+        }
+        return Arrays.copyOf(trigrams, distinct);
+    }
+
+    // Sorted array of ordinals
+    private static final class PostingList {
+        private int[] ordinals = new int[4];
+        private int size;
+
+        void add(int ordinal) {
+            if (size > 0 && ordinals[size - 1] >= ordinal) {
+                int at = Arrays.binarySearch(ordinals, 0, size, ordinal);
+                if (at >= 0) {
+                    return;
+                }
+                insertAt(-at - 1, ordinal); // A replaced text keeps its older ordinal
+                return;
+            }
+            insertAt(size, ordinal);
+        }
+
+        boolean remove(int ordinal) {
+            int at = Arrays.binarySearch(ordinals, 0, size, ordinal);
+            if (at < 0) {
+                return false;
+            }
+            System.arraycopy(ordinals, at + 1, ordinals, at, size - at - 1);
+            size--;
+            return true;
+        }
+
+        // Keeps the first count candidates that are also in this list, compacted to the front; returns how many
+        int retainAll(int[] candidates, int count) {
+            int kept = 0;
+            int from = 0;
+            for (int i = 0; i < count && from < size; i++) {
+                from = Arrays.binarySearch(ordinals, from, size, candidates[i]);
+                if (from >= 0) {
+                    candidates[kept++] = candidates[i];
+                } else {
+                    from = -from - 1;
+                }
+            }
+            return kept;
+        }
+
+        private void insertAt(int at, int ordinal) {
+            if (size == ordinals.length) {
+                ordinals = Arrays.copyOf(ordinals, size * 2);
+            }
+            System.arraycopy(ordinals, at, ordinals, at + 1, size - at);
+            ordinals[at] = ordinal;
+            size++;
+        }
+    }
+}
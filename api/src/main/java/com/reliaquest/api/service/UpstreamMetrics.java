@@ -0,0 +1,175 @@
+package com.reliaquest.api.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClientResponseException;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+/**
+ * Meters for calls to the employee API, shared by the servlet and reactive services.
+ *
+ * <ul>
+ *   <li>{@code employee.upstream.requests}: latency of every attempt by endpoint, method and response status
+ *       ({@code IO_ERROR} when no response came back)
+ *   <li>{@code employee.upstream.retries}: attempts after the first, by endpoint
+ *   <li>{@code employee.upstream.backoff}: time between a failed attempt and the next one starting, by endpoint
+ * </ul>
+ *
+ * Every meter except the per-status timers is created up front, and those are created once per status seen, so
+ * recording an attempt is two clock reads and a timer update.
+ */
+class UpstreamMetrics {
+    private static final int IO_ERROR = -1;
+    private static final int UNKNOWN = -2;
+
+    /** The calls made to the employee API; each is a fixed tag value so the number of series stays bounded. */
+    enum Endpoint {
+        GET_ALL("get_all", "GET"),
+        GET_BY_ID("get_by_id", "GET"),
+        CREATE("create", "POST"),
+        DELETE("delete", "DELETE");
+
+        private final String tag;
+        private final String method;
+
+        Endpoint(String tag, String method) {
+            this.tag = tag;
+            this.method = method;
+        }
+    }
+
+    private final MeterRegistry registry;
+    private final EndpointMeters[] endpoints = new EndpointMeters[Endpoint.values().length];
+
+    /** Records nothing, for services built outside Spring. */
+    UpstreamMetrics() {
+        this(new CompositeMeterRegistry());
+    }
+
+    UpstreamMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        for (Endpoint endpoint : Endpoint.values()) {
+            endpoints[endpoint.ordinal()] = new EndpointMeters(endpoint);
+        }
+    }
+
+    /** Starts tracking one logical call, whose attempts are then run through the returned {@link Attempts}. */
+    Attempts attempts(Endpoint endpoint) {
+        return new Attempts(endpoints[endpoint.ordinal()]);
+    }
+
+    private final class EndpointMeters {
+        private final Endpoint endpoint;
+        private final Counter retries;
+        private final Timer backoff;
+        private final Map<Integer, Timer> requestsByStatus = new ConcurrentHashMap<>();
+
+        EndpointMeters(Endpoint endpoint) {
+            this.endpoint = endpoint;
+            this.retries = Counter.builder("employee.upstream.retries")
+                    .description("Upstream attempts after the first")
+                    .tag("endpoint", endpoint.tag)
+                    .register(registry);
+            this.backoff = Timer.builder("employee.upstream.backoff")
+                    .description("Time waited between a failed upstream attempt and the next")
+                    .tag("endpoint", endpoint.tag)
+                    .register(registry);
+        }
+
+        Timer requests(int status) {
+            Timer timer = requestsByStatus.get(status);
+            return timer != null ? timer : requestsByStatus.computeIfAbsent(status, this::newRequestsTimer);
+        }
+
+        private Timer newRequestsTimer(int status) {
+            return Timer.builder("employee.upstream.requests")
+                    .description("Latency of each upstream attempt")
+                    .tag("endpoint", endpoint.tag)
+                    .tag("method", endpoint.method)
+                    .tag(
+                            "status",
+                            status == IO_ERROR ? "IO_ERROR" : status == UNKNOWN ? "UNKNOWN" : String.valueOf(status))
+                    .publishPercentileHistogram()
+                    .minimumExpectedValue(Duration.ofMillis(1))
+                    .maximumExpectedValue(Duration.ofSeconds(30))
+                    .register(registry);
+        }
+    }
+
+    /** The attempts of one call. Attempts run one after another, though not always on the same thread. */
+    static final class Attempts {
+        private final EndpointMeters meters;
+        private final AtomicInteger started = new AtomicInteger();
+        private volatile long lastFinishedAt;
+
+        private Attempts(EndpointMeters meters) {
+            this.meters = meters;
+        }
+
+        /** Runs one attempt, timing it against the status of its response or failure. */
+        <R extends ResponseEntity<?>> R record(Callable<R> attempt) throws Exception {
+            long startedAt = start();
+            try {
+                R response = attempt.call();
+                finish(startedAt, response != null ? response.getStatusCode().value() : UNKNOWN);
+                return response;
+            } catch (Exception e) {
+                finish(startedAt, statusOf(e));
+                throw e;
+            }
+        }
+
+        /** Like {@link #record(Callable)} for every subscription to {@code attempt}, so each retry is an attempt. */
+        <R extends ResponseEntity<?>> Mono<R> record(Mono<R> attempt) {
+            return Mono.defer(() -> {
+                long startedAt = start();
+                return attempt.doOnNext(response ->
+                                finish(startedAt, response.getStatusCode().value()))
+                        .doOnError(e -> finish(startedAt, statusOf(e)));
+            });
+        }
+
+        private long start() {
+            long now = System.nanoTime();
+            if (started.incrementAndGet() > 1) {
+                meters.retries.increment();
+                meters.backoff.record(now - lastFinishedAt, TimeUnit.NANOSECONDS);
+            }
+            return now;
+        }
+
+        private void finish(long startedAt, int status) {
+            long now = System.nanoTime();
+            lastFinishedAt = now;
+            meters.requests(status).record(now - startedAt, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    static int statusOf(Throwable failure) {
+        if (failure instanceof RestClientResponseException http) {
+            return http.getStatusCode().value();
+        } else if (failure instanceof WebClientResponseException http) {
+            return http.getStatusCode().value();
+        } else if (failure instanceof ResourceAccessException
+                || failure instanceof WebClientRequestException
+                || failure instanceof IOException
+                || failure instanceof TimeoutException) {
+            return IO_ERROR;
+        }
+        return UNKNOWN;
+    }
+}
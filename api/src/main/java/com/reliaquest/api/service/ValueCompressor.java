@@ -0,0 +1,137 @@
+package com.reliaquest.api.service;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Deflate-compresses cache values at or above a size threshold, which in practice is the cached roster; single
+ * employees are far below it.
+ *
+ * <p>A compressed value is {@link #MAGIC}, the uncompressed length as four bytes and a zlib stream. The magic byte is
+ * not valid UTF-8 and differs from {@link BinaryCacheCodec#MAGIC}, so compressed and plain values of either codec can
+ * sit side by side and {@link #decompress} passes plain ones through untouched. A value that doesn't get smaller is
+ * stored plain.
+ */
+public class ValueCompressor {
+    public static final byte MAGIC = (byte) 0xFD;
+    private static final int HEADER_LENGTH = 5;
+    private static final int MAX_LENGTH = 256 * 1024 * 1024; // Refuse to allocate for a corrupt length
+
+    private final int thresholdBytes;
+    private final int level;
+
+    private final AtomicLong compressed = new AtomicLong();
+    private final AtomicLong storedPlain = new AtomicLong(); // Above the threshold but not worth compressing
+    private final AtomicLong bytesSaved = new AtomicLong();
+    private final AtomicLong compressNanos = new AtomicLong();
+    private final AtomicLong decompressed = new AtomicLong();
+    private final AtomicLong decompressNanos = new AtomicLong();
+
+    /** Values compressed and kept plain, bytes saved by compressing, and CPU time spent each way. */
+    public record Stats(
+            long compressed,
+            long storedPlain,
+            long bytesSaved,
+            long compressNanos,
+            long decompressed,
+            long decompressNanos) {}
+
+    /**
+     * @param thresholdBytes values at least this large are compressed, 0 disables compression (compressed values are
+     *     still read)
+     * @param level {@link Deflater} level, 1 (fastest) to 9 (smallest)
+     */
+    public ValueCompressor(int thresholdBytes, int level) {
+        this.thresholdBytes = thresholdBytes;
+        this.level = level;
+    }
+
+    public static boolean isCompressed(byte[] value) {
+        return value.length > 0 && value[0] == MAGIC;
+    }
+
+    public byte[] compress(byte[] value) {
+        if (thresholdBytes <= 0 || value.length < thresholdBytes) {
+            return value;
+        }
+        long start = System.nanoTime();
+        Deflater deflater = new Deflater(level);
+        try {
+            deflater.setInput(value);
+            deflater.finish();
+            byte[] out = new byte[value.length]; // Anything that doesn't fit isn't worth storing compressed
+            out[0] = MAGIC;
+            out[1] = (byte) (value.length >>> 24);
+            out[2] = (byte) (value.length >>> 16);
+            out[3] = (byte) (value.length >>> 8);
+            out[4] = (byte) value.length;
+            int length = HEADER_LENGTH;
+            while (!deflater.finished() && length < out.length) {
+                length += deflater.deflate(out, length, out.length - length);
+            }
+            if (!deflater.finished()) {
+                storedPlain.incrementAndGet();
+                return value;
+            }
+            compressed.incrementAndGet();
+            bytesSaved.addAndGet(value.length - length);
+            return Arrays.copyOf(out, length);
+        } finally {
+            deflater.end();
+            compressNanos.addAndGet(System.nanoTime() - start);
+        }
+    }
+
+    /** The original value of a compressed one; plain values are returned as they are. */
+    public byte[] decompress(byte[] value) throws IOException {
+        if (!isCompressed(value)) {
+            return value;
+        }
+        if (value.length < HEADER_LENGTH) {
+            throw new IOException("Truncated compressed value");
+        }
+        int length =
+                ((value[1] & 0xFF) << 24) | ((value[2] & 0xFF) << 16) | ((value[3] & 0xFF) << 8) | (value[4] & 0xFF);
+        if (length < 0 || length > MAX_LENGTH) {
+            throw new IOException("Compressed value claims " + length + " bytes");
+        }
+        long start = System.nanoTime();
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(value, HEADER_LENGTH, value.length - HEADER_LENGTH);
+            byte[] out = new byte[length];
+            int inflated = 0;
+            while (!inflater.finished()) {
+                int count = inflater.inflate(out, inflated, length - inflated);
+                if (count == 0 && (inflater.needsInput() || inflater.needsDictionary() || inflated == length)) {
+                    throw new IOException("Compressed value is truncated or longer than its header says");
+                }
+                inflated += count;
+            }
+            if (inflated != length) {
+                throw new IOException("Compressed value inflated to " + inflated + " bytes, expected " + length);
+            }
+            decompressed.incrementAndGet();
+            return out;
+        } catch (DataFormatException e) {
+            throw new IOException("Corrupt compressed value: " + e.getMessage(), e);
+        } finally {
+            inflater.end();
+            decompressNanos.addAndGet(System.nanoTime() - start);
+        }
+    }
+
+    public Stats getStats() {
+        return new Stats(
+                compressed.get(),
+                storedPlain.get(),
+                bytesSaved.get(),
+                compressNanos.get(),
+                decompressed.get(),
+                decompressNanos.get());
+    }
+}
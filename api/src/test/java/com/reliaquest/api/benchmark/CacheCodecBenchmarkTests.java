@@ -0,0 +1,95 @@
+package com.reliaquest.api.benchmark;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.service.BinaryCacheCodec;
+import com.reliaquest.api.service.CacheCodec;
+import com.reliaquest.api.service.JsonCacheCodec;
+import com.reliaquest.api.service.ValueCompressor;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+
+/**
+ * Compares encode and decode time and value size of the cached roster in JSON and in the binary format, plain and
+ * deflated at the fastest level, for rosters
+ * shaped like the mock server's: UUID ids, a few dozen titles and a handful of email domains. Too slow for every
+ * build, run it with {@code RUN_BENCHMARKS=true gradle test --tests '*CacheCodecBenchmarkTests'}.
+ */
+@EnabledIfEnvironmentVariable(named = "RUN_BENCHMARKS", matches = "true")
+public class CacheCodecBenchmarkTests {
+    private static final int WARMUP_ROUNDS = 20;
+    private static final int ROUNDS = 20;
+
+    @Test
+    void roster_jsonVersusBinary() throws Exception {
+        Random random = new Random(7);
+        System.out.printf(
+                "%10s %8s %12s %12s %12s %12s %12s %12s%n",
+                "employees", "codec", "bytes", "encode ms", "decode ms", "deflated", "deflate ms", "inflate ms");
+        for (int size : new int[] {100, 10_000, 100_000}) {
+            List<Employee> roster = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                String first = "First" + random.nextInt(1000);
+                String last = "Last" + random.nextInt(1000);
+                roster.add(new Employee(
+                        UUID.randomUUID().toString(),
+                        first + " " + last,
+                        30_000 + random.nextInt(200_000),
+                        18 + random.nextInt(50),
+                        "Title " + random.nextInt(40),
+                        first.toLowerCase() + "." + last.toLowerCase() + "@company" + random.nextInt(5) + ".com"));
+            }
+
+            long jsonBytes = measure("json", new JsonCacheCodec(), roster);
+            long binaryBytes = measure("binary", new BinaryCacheCodec(), roster);
+            assertTrue(binaryBytes < jsonBytes, "Binary should be smaller at " + size + " employees");
+        }
+    }
+
+    // Prints one row and returns the encoded size
+    private static long measure(String name, CacheCodec codec, List<Employee> roster) throws Exception {
+        byte[] value = codec.encodeEmployees(roster);
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            codec.decodeEmployees(codec.encodeEmployees(roster));
+        }
+
+        long encodeStart = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) {
+            value = codec.encodeEmployees(roster);
+        }
+        double encodeMs = (System.nanoTime() - encodeStart) / 1e6 / ROUNDS;
+
+        List<Employee> decoded = null;
+        long decodeStart = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) {
+            decoded = codec.decodeEmployees(value);
+        }
+        double decodeMs = (System.nanoTime() - decodeStart) / 1e6 / ROUNDS;
+
+        assertEquals(roster, decoded);
+
+        // What the cache stores with compression on, and what that costs on top of the codec
+        ValueCompressor compressor = new ValueCompressor(1, 1);
+        byte[] deflated = null;
+        long deflateStart = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) {
+            deflated = compressor.compress(value);
+        }
+        double deflateMs = (System.nanoTime() - deflateStart) / 1e6 / ROUNDS;
+        long inflateStart = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) {
+            compressor.decompress(deflated);
+        }
+        double inflateMs = (System.nanoTime() - inflateStart) / 1e6 / ROUNDS;
+
+        System.out.printf(
+                "%10d %8s %12d %12.2f %12.2f %12d %12.2f %12.2f%n",
+                roster.size(), name, value.length, encodeMs, decodeMs, deflated.length, deflateMs, inflateMs);
+        return value.length;
+    }
+}
@@ -0,0 +1,76 @@
+package com.reliaquest.api.benchmark;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.service.EmployeeIndex;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+
+/**
+ * Compares the old name search, a lowercase-and-contains scan over the whole roster, with the trigram index in
+ * {@link EmployeeIndex} as the roster grows to millions of employees. Names are random first and last names, queries
+ * are fragments of names in the roster. Too slow for every build, run it with
+ * {@code RUN_BENCHMARKS=true gradle test --tests '*NameSearchBenchmarkTests'}.
+ */
+@EnabledIfEnvironmentVariable(named = "RUN_BENCHMARKS", matches = "true")
+public class NameSearchBenchmarkTests {
+    private static final int QUERIES = 50;
+
+    @Test
+    void search_linearScanVersusTrigramIndex() {
+        Random random = new Random(7);
+        System.out.printf("%10s %12s %12s %12s%n", "employees", "scan us/op", "index us/op", "build ms");
+        for (int size : new int[] {10_000, 100_000, 1_000_000}) {
+            List<Employee> roster = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                roster.add(new Employee(String.valueOf(i), randomName(random), 1000, 30, "title", "email"));
+            }
+            List<String> queries = new ArrayList<>(QUERIES);
+            for (int i = 0; i < QUERIES; i++) {
+                String name = roster.get(random.nextInt(size)).getEmployee_name();
+                int start = random.nextInt(name.length() - 5);
+                queries.add(name.substring(start, start + 5).toUpperCase());
+            }
+
+            long buildStart = System.nanoTime();
+            EmployeeIndex index = new EmployeeIndex(roster);
+            long buildMs = (System.nanoTime() - buildStart) / 1_000_000;
+
+            long matches = 0;
+            long scanStart = System.nanoTime();
+            for (String query : queries) {
+                matches += roster.stream()
+                        .filter(employee ->
+                                employee.getEmployee_name().toLowerCase().contains(query.toLowerCase()))
+                        .count();
+            }
+            double scanUs = (System.nanoTime() - scanStart) / 1e3 / QUERIES;
+
+            long indexStart = System.nanoTime();
+            for (String query : queries) {
+                matches -= index.searchByName(query).size();
+            }
+            double indexUs = (System.nanoTime() - indexStart) / 1e3 / QUERIES;
+
+            System.out.printf("%10d %12.1f %12.1f %12d%n", size, scanUs, indexUs, buildMs);
+            assertEquals(0, matches, "Index and scan must find the same employees");
+            assertTrue(indexUs < scanUs, "Index should beat the scan at " + size + " employees");
+        }
+    }
+
+    private static String randomName(Random random) {
+        return word(random) + " " + word(random);
+    }
+
+    private static String word(Random random) {
+        StringBuilder word = new StringBuilder().append((char) ('A' + random.nextInt(26)));
+        for (int length = 4 + random.nextInt(6); length > 0; length--) {
+            word.append((char) ('a' + random.nextInt(26)));
+        }
+        return word.toString();
+    }
+}
@@ -0,0 +1,112 @@
+package com.reliaquest.api.loadtest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.time.Duration;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+/**
+ * Load test of the whole application with nothing else running: {@link FakeEmployeeApi} plays the mock employee
+ * server and {@link FakeRedisServer} plays Redis, both inside this JVM, while {@link LoadGenerator} drives
+ * {@code /api/v1/employees} over real sockets and prints throughput and latency percentiles. Too slow for every build,
+ * run it with {@code RUN_BENCHMARKS=true gradle test --tests '*EmployeeApiLoadTests' -i}.
+ *
+ * <p>This runs the default servlet stack only. {@link ServerModeLoadTests} runs the servlet stack on platform and
+ * virtual threads and the reactive profile with the same requests, and prints them side by side.
+ *
+ * <p>Everything shares the machine's cores, so the default load is sized for a small one. Raise it with
+ * {@code LOADTEST_CONCURRENCY=16,64,256}, {@code LOADTEST_RATES=500,2000} and {@code LOADTEST_SECONDS=30}.
+ */
+@EnabledIfEnvironmentVariable(named = "RUN_BENCHMARKS", matches = "true")
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "logging.level.com.reliaquest.api=warn") // Logging starts before the dynamic properties below
+public class EmployeeApiLoadTests {
+    private static final int ROSTER_SIZE = 1000;
+    private static final Duration WARMUP = Duration.ofSeconds(5);
+    private static final Duration RUN = LoadTestSettings.runDuration();
+    private static final int[] CONCURRENCY = LoadTestSettings.levels("LOADTEST_CONCURRENCY", "4,16,64");
+    private static final int[] RATES = LoadTestSettings.levels("LOADTEST_RATES", "50,200");
+
+    private static FakeEmployeeApi upstream;
+    private static FakeRedisServer redis;
+
+    @LocalServerPort
+    private int port;
+
+    private final LoadGenerator generator = new LoadGenerator();
+    private RequestMix mix;
+
+    @DynamicPropertySource
+    static void fakes(DynamicPropertyRegistry registry) throws IOException {
+        upstream = new FakeEmployeeApi(ROSTER_SIZE);
+        redis = new FakeRedisServer();
+        registry.add("reliaquest.api.url", upstream::getUrl);
+        registry.add("reliaquest.api.redis-port", redis::getPort);
+        // Back off in milliseconds rather than seconds so injected failures don't dominate the run
+        registry.add("reliaquest.api.retry-initial-delay", () -> 20);
+        registry.add("reliaquest.api.retry-max-delay", () -> 200);
+        registry.add("reliaquest.api.retry-deadline", () -> 2000);
+    }
+
+    @AfterAll
+    static void stopFakes() throws IOException {
+        upstream.close();
+        redis.close();
+    }
+
+    @BeforeEach
+    void warmUp() throws InterruptedException {
+        mix = new RequestMix("http://localhost:" + port + "/api/v1/employees", upstream.getIds(), ROSTER_SIZE);
+        generator.closedLoop("warmup", 16, WARMUP, mix::readHeavy);
+    }
+
+    @AfterEach
+    void healUpstream() {
+        upstream.setLatencyMs(0);
+        upstream.setErrorRate(0);
+        upstream.setTooManyRequestsRate(0);
+    }
+
+    @Test
+    void closedLoop_healthyUpstream() throws InterruptedException {
+        upstream.setLatencyMs(20);
+
+        for (int concurrency : CONCURRENCY) {
+            LoadReport report =
+                    generator.closedLoop("closed loop, " + concurrency + " clients", concurrency, RUN, mix::readHeavy);
+            System.out.println(report.summary());
+
+            assertEquals(0, report.count(0), "Every request should get a response");
+            assertTrue(report.share(5) < 0.01, "A healthy upstream should not surface server errors");
+        }
+    }
+
+    @Test
+    void openLoop_upstreamFailuresAndThrottling() throws InterruptedException {
+        upstream.setLatencyMs(20);
+        upstream.setErrorRate(0.1);
+        upstream.setTooManyRequestsRate(0.1);
+
+        for (int rate : RATES) {
+            LoadReport report =
+                    generator.openLoop("open loop, " + rate + " req/s, faulty upstream", rate, RUN, mix::readHeavy);
+            System.out.println(report.summary());
+            System.out.println("upstream responses " + upstream.getResponseCounts() + ", redis commands "
+                    + redis.getCommandCount());
+
+            assertEquals(0, report.count(0), "Every request should get a response");
+            assertTrue(report.share(2) > 0.9, "Retries and the cache should hide most upstream failures");
+        }
+    }
+}
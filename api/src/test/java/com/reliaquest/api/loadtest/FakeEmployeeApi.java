@@ -0,0 +1,182 @@
+package com.reliaquest.api.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.model.ApiResponse;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeInput;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-process stand-in for the mock employee server at {@code /api/v1/employee}: list, get by id, create, and delete by
+ * name, with the same JSON envelope. Each request can be slowed down and failed on purpose: {@link #setLatencyMs}
+ * delays every response, {@link #setErrorRate} answers that share of requests with a 500 and
+ * {@link #setTooManyRequestsRate} with a 429, the way the real server throttles.
+ */
+public class FakeEmployeeApi implements Closeable {
+    public static final String PATH = "/api/v1/employee";
+
+    private final HttpServer server;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<String, Employee> employees = new LinkedHashMap<>(); // Guarded by itself
+    private final Map<Integer, LongAdder> responses = new ConcurrentHashMap<>();
+    private final AtomicLong requests = new AtomicLong();
+    private volatile long latencyMs;
+    private volatile double errorRate;
+    private volatile double tooManyRequestsRate;
+
+    static {
+        // The JDK server closes idle keep-alive connections past 200, which clients find as broken pipes on reuse
+        System.setProperty("sun.net.httpserver.maxIdleConnections", "4096");
+    }
+
+    /** Starts on a free port with {@code size} generated employees. */
+    public FakeEmployeeApi(int size) throws IOException {
+        for (int i = 0; i < size; i++) {
+            Employee employee = new Employee(
+                    UUID.randomUUID().toString(),
+                    "Employee " + i,
+                    30_000 + ThreadLocalRandom.current().nextInt(200_000),
+                    18 + ThreadLocalRandom.current().nextInt(50),
+                    "Title " + (i % 40),
+                    "employee" + i + "@company.com");
+            employees.put(employee.getId(), employee);
+        }
+        // Backlog and idle connections sized for the thousand concurrent clients of ServerModeLoadTests
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 1024);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.createContext(PATH, this::handle);
+        server.start();
+    }
+
+    /** The value for {@code reliaquest.api.url}. */
+    public String getUrl() {
+        return "http://localhost:" + server.getAddress().getPort() + PATH;
+    }
+
+    public void setLatencyMs(long latencyMs) {
+        this.latencyMs = latencyMs;
+    }
+
+    public void setErrorRate(double errorRate) {
+        this.errorRate = errorRate;
+    }
+
+    public void setTooManyRequestsRate(double tooManyRequestsRate) {
+        this.tooManyRequestsRate = tooManyRequestsRate;
+    }
+
+    public List<String> getIds() {
+        synchronized (employees) {
+            return new ArrayList<>(employees.keySet());
+        }
+    }
+
+    public long getRequestCount() {
+        return requests.get();
+    }
+
+    /** Responses sent so far by status code. */
+    public Map<Integer, Long> getResponseCounts() {
+        Map<Integer, Long> counts = new LinkedHashMap<>();
+        responses.forEach((status, count) -> counts.put(status, count.sum()));
+        return counts;
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        requests.incrementAndGet();
+        try (exchange) {
+            if (latencyMs > 0) {
+                Thread.sleep(latencyMs);
+            }
+            double roll = ThreadLocalRandom.current().nextDouble();
+            if (roll < errorRate) {
+                respond(exchange, 500, new ApiResponse<>("Internal server error", null));
+            } else if (roll < errorRate + tooManyRequestsRate) {
+                respond(exchange, 429, new ApiResponse<>("Too many requests", null));
+            } else {
+                route(exchange);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void route(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+        String id = path.length() > PATH.length() + 1 ? path.substring(PATH.length() + 1) : null;
+        switch (exchange.getRequestMethod()) {
+            case "GET" -> {
+                if (id == null) {
+                    List<Employee> all;
+                    synchronized (employees) {
+                        all = new ArrayList<>(employees.values());
+                    }
+                    respond(exchange, 200, new ApiResponse<>("Successfully processed request.", all));
+                } else {
+                    Employee employee;
+                    synchronized (employees) {
+                        employee = employees.get(id);
+                    }
+                    respond(
+                            exchange,
+                            employee != null ? 200 : 404,
+                            new ApiResponse<>(
+                                    employee != null ? "Successfully processed request." : "Not found", employee));
+                }
+            }
+            case "POST" -> {
+                EmployeeInput input = objectMapper.readValue(exchange.getRequestBody(), EmployeeInput.class);
+                Employee employee = new Employee(
+                        UUID.randomUUID().toString(),
+                        input.getName(),
+                        input.getSalary(),
+                        input.getAge(),
+                        input.getTitle(),
+                        input.getEmail());
+                synchronized (employees) {
+                    employees.put(employee.getId(), employee);
+                }
+                respond(exchange, 200, new ApiResponse<>("Successfully processed request.", employee));
+            }
+            case "DELETE" -> {
+                JsonNode body = objectMapper.readTree(exchange.getRequestBody());
+                String name = body.path("name").asText();
+                boolean deleted;
+                synchronized (employees) {
+                    deleted = employees.values().removeIf(employee -> name.equals(employee.getEmployee_name()));
+                }
+                respond(exchange, 200, new ApiResponse<>("Successfully processed request.", deleted));
+            }
+            default -> respond(exchange, 405, new ApiResponse<>("Method not allowed", null));
+        }
+    }
+
+    private void respond(HttpExchange exchange, int status, ApiResponse<?> body) throws IOException {
+        byte[] json = objectMapper.writeValueAsBytes(body);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, json.length);
+        exchange.getResponseBody().write(json);
+        responses.computeIfAbsent(status, key -> new LongAdder()).increment();
+    }
+}
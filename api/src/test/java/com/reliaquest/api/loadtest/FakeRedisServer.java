@@ -0,0 +1,316 @@
+package com.reliaquest.api.loadtest;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-process stand-in for Redis, speaking enough RESP2 for {@code RawRedisCache}: GET, SET with NX and PX, DEL, PTTL,
+ * PING, PUBLISH, SUBSCRIBE and the EVAL of its lock release script. Keys expire lazily on read. Every connection gets
+ * its own virtual thread, so it keeps up with a pooled client and the async event-loop client alike.
+ */
+public class FakeRedisServer implements Closeable {
+    private final ServerSocket serverSocket;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final Map<String, Set<Connection>> subscribers = new ConcurrentHashMap<>();
+    private final Set<Socket> sockets = ConcurrentHashMap.newKeySet();
+    private final AtomicLong commands = new AtomicLong();
+    private volatile boolean running = true;
+
+    private record Entry(byte[] value, long expiresAt) {} // expiresAt 0 = never
+
+    public FakeRedisServer() throws IOException {
+        serverSocket = new ServerSocket(0, 200, InetAddress.getLoopbackAddress());
+        Thread.ofPlatform().daemon().name("fake-redis-accept").start(this::acceptLoop);
+    }
+
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    public long getCommandCount() {
+        return commands.get();
+    }
+
+    /** Connections currently subscribed to {@code channel}. */
+    public int getSubscriberCount(String channel) {
+        return subscribers.getOrDefault(channel, Set.of()).size();
+    }
+
+    public byte[] get(String key) {
+        Entry entry = live(key);
+        return entry != null ? entry.value() : null;
+    }
+
+    public void flushAll() {
+        entries.clear();
+    }
+
+    @Override
+    public void close() throws IOException {
+        running = false;
+        serverSocket.close();
+        for (Socket socket : sockets) {
+            socket.close();
+        }
+    }
+
+    private void acceptLoop() {
+        while (running) {
+            try {
+                Socket socket = serverSocket.accept();
+                socket.setTcpNoDelay(true);
+                sockets.add(socket);
+                Thread.ofVirtual().start(() -> serve(socket));
+            } catch (IOException e) {
+                return; // Closed
+            }
+        }
+    }
+
+    private void serve(Socket socket) {
+        Connection connection = null;
+        try (socket) {
+            connection = new Connection(new BufferedOutputStream(socket.getOutputStream(), 64 * 1024));
+            InputStream in = new BufferedInputStream(socket.getInputStream(), 64 * 1024);
+            while (running) {
+                byte[][] command = readCommand(in);
+                commands.incrementAndGet();
+                // A pipeline arrives in one piece, answer it with one flush too
+                connection.reply(execute(command, connection), in.available() == 0);
+            }
+        } catch (IOException e) {
+            // Client went away
+        } finally {
+            sockets.remove(socket);
+            for (Set<Connection> channelSubscribers : subscribers.values()) {
+                channelSubscribers.remove(connection);
+            }
+        }
+    }
+
+    private byte[] execute(byte[][] command, Connection connection) {
+        String name = new String(command[0], StandardCharsets.US_ASCII).toUpperCase();
+        switch (name) {
+            case "PING":
+                return connection.subscribed ? array(bulk("pong"), bulk("")) : simple("PONG");
+            case "GET": {
+                Entry entry = live(key(command, 1));
+                return entry != null ? bulk(entry.value()) : nullBulk();
+            }
+            case "SET":
+                return set(command);
+            case "DEL": {
+                long deleted = 0;
+                for (int i = 1; i < command.length; i++) {
+                    if (live(key(command, i)) != null && entries.remove(key(command, i)) != null) {
+                        deleted++;
+                    }
+                }
+                return integer(deleted);
+            }
+            case "PTTL": {
+                Entry entry = live(key(command, 1));
+                if (entry == null) {
+                    return integer(-2);
+                }
+                return integer(entry.expiresAt() == 0 ? -1 : Math.max(0, entry.expiresAt() - now()));
+            }
+            case "PUBLISH": {
+                String channel = key(command, 1);
+                byte[] message = array(bulk("message"), bulk(channel), bulk(command[2]));
+                long received = 0;
+                for (Connection subscriber : subscribers.getOrDefault(channel, Set.of())) {
+                    if (subscriber.push(message)) {
+                        received++;
+                    }
+                }
+                return integer(received);
+            }
+            case "SUBSCRIBE": {
+                String channel = key(command, 1);
+                subscribers
+                        .computeIfAbsent(channel, key -> new CopyOnWriteArraySet<>())
+                        .add(connection);
+                connection.subscribed = true;
+                return array(bulk("subscribe"), bulk(channel), integer(1));
+            }
+            case "EVAL":
+                return releaseLock(command);
+            default:
+                return error("ERR unknown command '" + name + "'");
+        }
+    }
+
+    // SET key value [NX] [PX ms]
+    private byte[] set(byte[][] command) {
+        String key = key(command, 1);
+        boolean onlyIfAbsent = false;
+        long expiresAt = 0;
+        for (int i = 3; i < command.length; i++) {
+            String option = key(command, i).toUpperCase();
+            if (option.equals("NX")) {
+                onlyIfAbsent = true;
+            } else if (option.equals("PX")) {
+                expiresAt = now() + Long.parseLong(key(command, ++i));
+            }
+        }
+        Entry entry = new Entry(command[2], expiresAt);
+        if (!onlyIfAbsent) {
+            entries.put(key, entry);
+            return simple("OK");
+        }
+        boolean[] written = {false};
+        entries.compute(key, (k, current) -> {
+            if (current != null && (current.expiresAt() == 0 || current.expiresAt() > now())) {
+                return current;
+            }
+            written[0] = true;
+            return entry;
+        });
+        return written[0] ? simple("OK") : nullBulk();
+    }
+
+    // Only the lock release script: delete KEYS[1] if it still holds ARGV[1]
+    private byte[] releaseLock(byte[][] command) {
+        String script = key(command, 1);
+        if (!script.contains("redis.call('get', KEYS[1]) == ARGV[1]") || command.length != 5) {
+            return error("ERR this fake only runs the lock release script");
+        }
+        String key = key(command, 3);
+        boolean[] deleted = {false};
+        entries.computeIfPresent(key, (k, current) -> {
+            if (Arrays.equals(current.value(), command[4])) {
+                deleted[0] = true;
+                return null;
+            }
+            return current;
+        });
+        return integer(deleted[0] ? 1 : 0);
+    }
+
+    private Entry live(String key) {
+        Entry entry = entries.get(key);
+        if (entry != null && entry.expiresAt() != 0 && entry.expiresAt() <= now()) {
+            entries.remove(key, entry);
+            return null;
+        }
+        return entry;
+    }
+
+    private static long now() {
+        return System.currentTimeMillis();
+    }
+
+    private static String key(byte[][] command, int index) {
+        return new String(command[index], StandardCharsets.UTF_8);
+    }
+
+    // Commands from RespCodec are always arrays of bulk strings
+    private static byte[][] readCommand(InputStream in) throws IOException {
+        String header = readLine(in);
+        if (header.isEmpty() || header.charAt(0) != '*') {
+            throw new IOException("Expected an array, got: " + header);
+        }
+        byte[][] args = new byte[Integer.parseInt(header.substring(1))][];
+        for (int i = 0; i < args.length; i++) {
+            String length = readLine(in);
+            if (length.isEmpty() || length.charAt(0) != '$') {
+                throw new IOException("Expected a bulk string, got: " + length);
+            }
+            args[i] = in.readNBytes(Integer.parseInt(length.substring(1)));
+            readLine(in); // Trailing CRLF
+        }
+        return args;
+    }
+
+    private static String readLine(InputStream in) throws IOException {
+        StringBuilder line = new StringBuilder();
+        int b;
+        while ((b = in.read()) != '\r') {
+            if (b < 0) {
+                throw new EOFException();
+            }
+            line.append((char) b);
+        }
+        in.read(); // '\n'
+        return line.toString();
+    }
+
+    private static byte[] simple(String value) {
+        return ("+" + value + "\r\n").getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static byte[] error(String message) {
+        return ("-" + message + "\r\n").getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static byte[] integer(long value) {
+        return (":" + value + "\r\n").getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private static byte[] nullBulk() {
+        return "$-1\r\n".getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private static byte[] bulk(String value) {
+        return bulk(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static byte[] bulk(byte[] value) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(value.length + 16);
+        out.writeBytes(("$" + value.length + "\r\n").getBytes(StandardCharsets.US_ASCII));
+        out.writeBytes(value);
+        out.writeBytes(new byte[] {'\r', '\n'});
+        return out.toByteArray();
+    }
+
+    private static byte[] array(byte[]... elements) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.writeBytes(("*" + elements.length + "\r\n").getBytes(StandardCharsets.US_ASCII));
+        List.of(elements).forEach(out::writeBytes);
+        return out.toByteArray();
+    }
+
+    // Replies and pushed messages can come from different threads, so writes are serialized
+    private static final class Connection {
+        private final OutputStream out;
+        private volatile boolean subscribed;
+
+        Connection(OutputStream out) {
+            this.out = out;
+        }
+
+        synchronized void reply(byte[] reply, boolean flush) throws IOException {
+            out.write(reply);
+            if (flush) {
+                out.flush();
+            }
+        }
+
+        boolean push(byte[] message) {
+            try {
+                reply(message, true);
+                return true;
+            } catch (IOException e) {
+                return false;
+            }
+        }
+    }
+}
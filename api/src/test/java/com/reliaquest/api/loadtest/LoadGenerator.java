@@ -0,0 +1,112 @@
+package com.reliaquest.api.loadtest;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Drives HTTP requests at a server and records their latencies in an HDR histogram.
+ *
+ * <p>{@link #closedLoop} keeps a fixed number of clients busy, each sending its next request as soon as the previous
+ * one is answered, which finds the throughput ceiling. {@link #openLoop} sends requests on a fixed schedule whether or
+ * not earlier ones have finished, and measures each one from when it was due rather than when it was sent; otherwise
+ * a stalled server would hold back the very requests that should have seen the stall (coordinated omission).
+ */
+public class LoadGenerator {
+    private static final long MAX_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    private final HttpClient client;
+
+    public LoadGenerator() {
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    /** {@code concurrency} clients send requests back to back for {@code duration}. */
+    public LoadReport closedLoop(String name, int concurrency, Duration duration, Supplier<HttpRequest> requests)
+            throws InterruptedException {
+        Recorder recorder = new Recorder();
+        long start = System.nanoTime();
+        long deadline = start + duration.toNanos();
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < concurrency; i++) {
+                clients.execute(() -> {
+                    while (System.nanoTime() < deadline) {
+                        long sent = System.nanoTime();
+                        recorder.record(send(requests.get()), sent);
+                    }
+                });
+            }
+        }
+        return recorder.report(name, System.nanoTime() - start);
+    }
+
+    /** Sends {@code ratePerSecond} requests a second for {@code duration}, each on its own virtual thread. */
+    public LoadReport openLoop(String name, double ratePerSecond, Duration duration, Supplier<HttpRequest> requests)
+            throws InterruptedException {
+        Recorder recorder = new Recorder();
+        long intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / ratePerSecond);
+        long start = System.nanoTime();
+        long total = duration.toNanos() / intervalNanos;
+        try (ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long i = 0; i < total; i++) {
+                long due = start + i * intervalNanos;
+                long wait = due - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                HttpRequest request = requests.get();
+                senders.execute(() -> recorder.record(send(request), due));
+            }
+        }
+        return recorder.report(name, System.nanoTime() - start);
+    }
+
+    // The response status, 0 when the request failed without one
+    private int send(HttpRequest request) {
+        try {
+            return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        } catch (IOException e) {
+            return 0;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return 0;
+        }
+    }
+
+    private static final class Recorder {
+        private final Histogram latencies = new ConcurrentHistogram(MAX_LATENCY_MICROS, 3);
+        private final Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+        private final AtomicLong requests = new AtomicLong();
+
+        void record(int status, long startedAt) {
+            long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startedAt);
+            latencies.recordValue(Math.min(micros, MAX_LATENCY_MICROS));
+            statuses.computeIfAbsent(status, key -> new LongAdder()).increment();
+            requests.incrementAndGet();
+        }
+
+        LoadReport report(String name, long elapsedNanos) {
+            Map<Integer, Long> counts = new TreeMap<>();
+            statuses.forEach((status, count) -> counts.put(status, count.sum()));
+            return new LoadReport(name, requests.get(), elapsedNanos / 1e9, latencies.copy(), counts);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.reliaquest.api.loadtest;
+
+import java.util.List;
+import java.util.Map;
+import org.HdrHistogram.Histogram;
+
+/**
+ * What one {@link LoadGenerator} run measured. Latencies are in microseconds; status 0 counts requests that got no
+ * HTTP response at all.
+ */
+public record LoadReport(String name, long requests, double seconds, Histogram latencies, Map<Integer, Long> statuses) {
+
+    public double throughput() {
+        return requests / seconds;
+    }
+
+    public long count(int status) {
+        return statuses.getOrDefault(status, 0L);
+    }
+
+    /** Share of requests answered with a status in the given hundred, e.g. 5 for any 5xx. */
+    public double share(int statusClass) {
+        long matching = statuses.entrySet().stream()
+                .filter(entry -> entry.getKey() / 100 == statusClass)
+                .mapToLong(Map.Entry::getValue)
+                .sum();
+        return requests == 0 ? 0 : (double) matching / requests;
+    }
+
+    public double percentileMillis(double percentile) {
+        return latencies.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    public String summary() {
+        return String.format(
+                "%s: %d requests in %.1fs, %.0f req/s, p50 %.2fms p90 %.2fms p99 %.2fms p99.9 %.2fms max %.2fms, statuses %s",
+                name,
+                requests,
+                seconds,
+                throughput(),
+                percentileMillis(50),
+                percentileMillis(90),
+                percentileMillis(99),
+                percentileMillis(99.9),
+                latencies.getMaxValue() / 1000.0,
+                statuses);
+    }
+
+    /**
+     * The same load run in several modes, one row per load level and a throughput and p99 column per mode. Each
+     * mode's reports are in the order of {@code levels}.
+     */
+    public static String sideBySide(String levelName, int[] levels, Map<String, List<LoadReport>> reportsByMode) {
+        StringBuilder table = new StringBuilder(String.format("%10s", levelName));
+        reportsByMode.keySet().forEach(mode -> table.append(String.format(" | %-30s", mode)));
+        table.append(String.format("%n%10s", ""));
+        reportsByMode
+                .keySet()
+                .forEach(mode -> table.append(String.format(" | %9s %9s %10s", "req/s", "p99 ms", "non-2xx")));
+        for (int i = 0; i < levels.length; i++) {
+            table.append(String.format("%n%10d", levels[i]));
+            for (List<LoadReport> reports : reportsByMode.values()) {
+                LoadReport report = reports.get(i);
+                long failed = report.requests() - Math.round(report.share(2) * report.requests());
+                table.append(
+                        String.format(" | %9.0f %9.2f %10d", report.throughput(), report.percentileMillis(99), failed));
+            }
+        }
+        return table.toString();
+    }
+}
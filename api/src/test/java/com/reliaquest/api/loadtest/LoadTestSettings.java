@@ -0,0 +1,26 @@
+package com.reliaquest.api.loadtest;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+/** Sizes of the load tests, read from environment variables so a bigger machine can raise them. */
+final class LoadTestSettings {
+    private LoadTestSettings() {}
+
+    static String get(String name, String defaultValue) {
+        String value = System.getenv(name);
+        return value != null && !value.isBlank() ? value : defaultValue;
+    }
+
+    /** How long each measured run lasts, {@code LOADTEST_SECONDS}. */
+    static Duration runDuration() {
+        return Duration.ofSeconds(Long.parseLong(get("LOADTEST_SECONDS", "10")));
+    }
+
+    /** A comma separated list of load levels, such as client counts or request rates. */
+    static int[] levels(String name, String defaultValue) {
+        return Arrays.stream(get(name, defaultValue).split(","))
+                .mapToInt(level -> Integer.parseInt(level.trim()))
+                .toArray();
+    }
+}
@@ -0,0 +1,57 @@
+package com.reliaquest.api.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/** Traffic the load tests send to {@code /api/v1/employees}, shared so every run is measured with the same requests. */
+public class RequestMix {
+    private final String baseUrl;
+    private final List<String> ids;
+    private final int rosterSize;
+
+    /**
+     * @param baseUrl the API's {@code /api/v1/employees} URL
+     * @param ids employee ids that exist upstream, for lookups by id
+     */
+    public RequestMix(String baseUrl, List<String> ids, int rosterSize) {
+        this.baseUrl = baseUrl;
+        this.ids = ids;
+        this.rosterSize = rosterSize;
+    }
+
+    /** Mostly reads answered from the cache and index, with the occasional create that invalidates them. */
+    public HttpRequest readHeavy() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int roll = random.nextInt(100);
+        if (roll < 30) {
+            return get(baseUrl);
+        } else if (roll < 60) {
+            return get(baseUrl + "/" + ids.get(random.nextInt(ids.size())));
+        } else if (roll < 80) {
+            return get(baseUrl + "/search/" + random.nextInt(rosterSize));
+        } else if (roll < 89) {
+            return get(baseUrl + "/highestSalary");
+        } else if (roll < 98) {
+            return get(baseUrl + "/topTenHighestEarningEmployeeNames");
+        }
+        return create();
+    }
+
+    /** A create, which always goes to the upstream and holds its request for the upstream's latency. */
+    public HttpRequest create() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String body = String.format(
+                "{\"name\":\"Load %d\",\"salary\":%d,\"age\":30,\"title\":\"Tester\",\"email\":\"load@company.com\"}",
+                random.nextInt(1_000_000), 40_000 + random.nextInt(100_000));
+        return HttpRequest.newBuilder(URI.create(baseUrl))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private static HttpRequest get(String url) {
+        return HttpRequest.newBuilder(URI.create(url)).GET().build();
+    }
+}
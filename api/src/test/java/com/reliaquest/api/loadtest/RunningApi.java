@@ -0,0 +1,41 @@
+package com.reliaquest.api.loadtest;
+
+import com.reliaquest.api.ApiApplication;
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * The whole application started on a free port against {@link FakeEmployeeApi} and {@link FakeRedisServer}, for load
+ * tests that compare configurations one after another in the same JVM. {@code args} are command line arguments such as
+ * {@code --spring.threads.virtual.enabled=false}, so they override application.yml.
+ */
+public class RunningApi implements Closeable {
+    private final ConfigurableApplicationContext context;
+
+    public RunningApi(FakeEmployeeApi upstream, FakeRedisServer redis, String... args) {
+        List<String> all = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--reliaquest.api.url=" + upstream.getUrl(),
+                "--reliaquest.api.redis-port=" + redis.getPort(),
+                "--logging.level.com.reliaquest.api=warn",
+                // Back off in milliseconds rather than seconds so injected failures don't dominate the run
+                "--reliaquest.api.retry-initial-delay=20",
+                "--reliaquest.api.retry-max-delay=200",
+                "--reliaquest.api.retry-deadline=2000"));
+        all.addAll(List.of(args));
+        this.context = new SpringApplicationBuilder(ApiApplication.class).run(all.toArray(new String[0]));
+    }
+
+    /** The {@code /api/v1/employees} URL on the port the server picked. */
+    public String getUrl() {
+        return "http://localhost:" + context.getEnvironment().getProperty("local.server.port") + "/api/v1/employees";
+    }
+
+    @Override
+    public void close() {
+        context.close();
+    }
+}
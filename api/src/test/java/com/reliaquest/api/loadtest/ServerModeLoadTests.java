@@ -0,0 +1,119 @@
+package com.reliaquest.api.loadtest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+
+/**
+ * Runs the same load against the application once per server mode: servlet on platform threads, servlet on virtual
+ * threads, and the reactive profile. Each is started fresh by {@link RunningApi} against the same
+ * {@link FakeEmployeeApi} and {@link FakeRedisServer}, and the results are printed side by side. Too slow for every
+ * build, run it with {@code RUN_BENCHMARKS=true gradle test --tests '*ServerModeLoadTests' -i}.
+ *
+ * <p>The upstream-bound run sends only creates, which hold their request for the upstream's
+ * {@value #UPSTREAM_LATENCY_MS}ms, so on Tomcat's 200 platform threads throughput stops at about 200 / latency once
+ * there are more clients than threads. Virtual threads, and the reactive stack's few event-loop threads that hold
+ * nothing while they wait, should not stop there. The upstream guards and the upstream connection pool are lifted for
+ * these runs, which leaves the request threads as the only limit. The read-heavy run is the mix of
+ * {@link EmployeeApiLoadTests}, mostly answered from the cache. Client counts default to {@code 100,400,1000}, raise
+ * them with {@code LOADTEST_MODE_CONCURRENCY}.
+ */
+@EnabledIfEnvironmentVariable(named = "RUN_BENCHMARKS", matches = "true")
+public class ServerModeLoadTests {
+    private static final int ROSTER_SIZE = 1000;
+    private static final int UPSTREAM_LATENCY_MS = 50;
+    private static final Duration WARMUP = Duration.ofSeconds(5);
+    private static final Duration RUN = LoadTestSettings.runDuration();
+    private static final int[] CONCURRENCY = LoadTestSettings.levels("LOADTEST_MODE_CONCURRENCY", "100,400,1000");
+
+    // Mode name and the command line arguments that select it, in the order they are run and printed
+    private static final Map<String, List<String>> MODES = new LinkedHashMap<>();
+
+    static {
+        MODES.put("servlet, platform threads", List.of("--spring.threads.virtual.enabled=false"));
+        MODES.put("servlet, virtual threads", List.of("--spring.threads.virtual.enabled=true"));
+        MODES.put("reactive", List.of("--spring.profiles.active=reactive"));
+    }
+
+    private static final List<String> UNGUARDED = List.of(
+            "--reliaquest.api.upstream-max-concurrency=0",
+            "--reliaquest.api.upstream-rate-limit-max=0",
+            "--reliaquest.api.http-pool-max-total=4096",
+            "--reliaquest.api.http-pool-max-per-route=4096");
+
+    private static FakeEmployeeApi upstream;
+    private static FakeRedisServer redis;
+
+    private final LoadGenerator generator = new LoadGenerator();
+
+    @BeforeAll
+    static void startFakes() throws IOException {
+        upstream = new FakeEmployeeApi(ROSTER_SIZE);
+        redis = new FakeRedisServer();
+    }
+
+    @AfterAll
+    static void stopFakes() throws IOException {
+        upstream.close();
+        redis.close();
+    }
+
+    @Test
+    void upstreamBound_sideBySide() throws InterruptedException {
+        upstream.setLatencyMs(UPSTREAM_LATENCY_MS);
+
+        Map<String, List<LoadReport>> reports = runEveryMode("upstream-bound", mix -> mix::create);
+
+        System.out.println("Creates, " + UPSTREAM_LATENCY_MS + "ms upstream\n"
+                + LoadReport.sideBySide("clients", CONCURRENCY, reports));
+    }
+
+    @Test
+    void readHeavy_sideBySide() throws InterruptedException {
+        upstream.setLatencyMs(20);
+
+        Map<String, List<LoadReport>> reports = runEveryMode("read-heavy", mix -> mix::readHeavy);
+
+        System.out.println("Read-heavy mix, 20ms upstream\n" + LoadReport.sideBySide("clients", CONCURRENCY, reports));
+    }
+
+    // Starts each mode on a cold cache, warms it up, then runs a closed loop at every concurrency level
+    private Map<String, List<LoadReport>> runEveryMode(
+            String name, Function<RequestMix, Supplier<HttpRequest>> requests) throws InterruptedException {
+        Map<String, List<LoadReport>> reports = new LinkedHashMap<>();
+        for (Map.Entry<String, List<String>> mode : MODES.entrySet()) {
+            redis.flushAll();
+            List<String> args = new ArrayList<>(mode.getValue());
+            args.addAll(UNGUARDED);
+            try (RunningApi api = new RunningApi(upstream, redis, args.toArray(new String[0]))) {
+                RequestMix mix = new RequestMix(api.getUrl(), upstream.getIds(), ROSTER_SIZE);
+                generator.closedLoop("warmup", 16, WARMUP, mix::readHeavy);
+                List<LoadReport> levels = new ArrayList<>();
+                for (int concurrency : CONCURRENCY) {
+                    LoadReport report = generator.closedLoop(
+                            name + ", " + mode.getKey() + ", " + concurrency + " clients",
+                            concurrency,
+                            RUN,
+                            requests.apply(mix));
+                    System.out.println(report.summary());
+                    assertEquals(0, report.count(0), "Every request should get a response");
+                    levels.add(report);
+                }
+                reports.put(mode.getKey(), levels);
+            }
+        }
+        return reports;
+    }
+}
@@ -0,0 +1,185 @@
+package com.reliaquest.api.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Runs {@link RedisConnectionPool} against a socket that answers every command with {@code +PONG}, which is all the
+ * pool needs to open, validate and reuse connections. In this package so the pool's internals can stay
+ * package-private.
+ */
+public class RedisConnectionPoolTests {
+    private ServerSocket server;
+    private final List<RedisConnectionPool> pools = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+        Thread.ofVirtual().start(() -> {
+            while (!server.isClosed()) {
+                try {
+                    Socket client = server.accept();
+                    Thread.ofVirtual().start(() -> answerPong(client));
+                } catch (IOException e) {
+                    return; // Closed by tearDown
+                }
+            }
+        });
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        pools.forEach(RedisConnectionPool::close);
+        server.close();
+    }
+
+    // Replies +PONG to each PING; the other lines of a RESP command are its framing
+    private static void answerPong(Socket client) {
+        try (client;
+                BufferedReader in =
+                        new BufferedReader(new InputStreamReader(client.getInputStream(), StandardCharsets.UTF_8));
+                OutputStream out = client.getOutputStream()) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                if (line.equalsIgnoreCase("PING")) {
+                    out.write("+PONG\r\n".getBytes(StandardCharsets.UTF_8));
+                    out.flush();
+                }
+            }
+        } catch (IOException ignored) {
+            // The client went away
+        }
+    }
+
+    private static boolean ping(RedisConnection connection) throws IOException {
+        return "PONG".equals(connection.execute("PING"));
+    }
+
+    private RedisConnectionPool pool(
+            int maxSize, long idleTimeoutMs, long validationIntervalMs, Predicate<RedisConnection> healthCheck) {
+        RedisConnectionPool pool = new RedisConnectionPool(
+                "localhost",
+                server.getLocalPort(),
+                maxSize,
+                50,
+                idleTimeoutMs,
+                validationIntervalMs,
+                2000,
+                healthCheck);
+        pools.add(pool);
+        return pool;
+    }
+
+    private RedisConnectionPool pool(int maxSize) {
+        return pool(maxSize, 60_000, 30_000, connection -> true);
+    }
+
+    @Test
+    void borrow_poolExhausted_timesOutAndCountsIt() throws IOException {
+        RedisConnectionPool pool = pool(1);
+        RedisConnection borrowed = pool.borrow();
+
+        IOException timeout = assertThrows(IOException.class, pool::borrow);
+
+        assertTrue(timeout.getMessage().contains("Timed out"), timeout.getMessage());
+        assertEquals(1, pool.getStats().borrowTimeouts());
+        pool.release(borrowed);
+        assertSame(borrowed, pool.borrow()); // The permit came back with the connection
+    }
+
+    @Test
+    void release_nextBorrowGetsMostRecentlyReturnedConnection() throws IOException {
+        RedisConnectionPool pool = pool(2);
+        RedisConnection first = pool.borrow();
+        RedisConnection second = pool.borrow();
+
+        pool.release(first);
+        pool.release(second);
+
+        assertSame(second, pool.borrow());
+        assertSame(first, pool.borrow());
+        assertEquals(2, pool.getStats().created());
+        assertTrue(ping(first));
+    }
+
+    @Test
+    void evictIdle_closesConnectionsIdleLongerThanTimeout() throws Exception {
+        RedisConnectionPool pool = pool(2, 30, 30_000, connection -> true);
+        RedisConnection connection = pool.borrow();
+        pool.release(connection);
+
+        Thread.sleep(60);
+        pool.evictIdle();
+
+        assertEquals(0, pool.getStats().idle());
+        assertEquals(1, pool.getStats().destroyed());
+        assertFalse(connection.isOpen());
+        assertNotSame(connection, pool.borrow());
+        assertEquals(2, pool.getStats().created());
+    }
+
+    @Test
+    void borrow_idlePastValidationInterval_reusesOnlyIfPingSucceeds() throws Exception {
+        AtomicInteger checks = new AtomicInteger();
+        AtomicBoolean healthy = new AtomicBoolean(true);
+        RedisConnectionPool pool = pool(1, 60_000, 20, connection -> {
+            checks.incrementAndGet();
+            try {
+                return healthy.get() && ping(connection);
+            } catch (IOException e) {
+                return false;
+            }
+        });
+        RedisConnection connection = pool.borrow();
+        pool.release(connection);
+        assertSame(connection, pool.borrow()); // Not idle long enough to be checked
+        pool.release(connection);
+        assertEquals(0, checks.get());
+
+        Thread.sleep(40);
+        assertSame(connection, pool.borrow());
+        pool.release(connection);
+        assertEquals(1, checks.get());
+
+        healthy.set(false);
+        Thread.sleep(40);
+        RedisConnection replacement = pool.borrow();
+
+        assertNotSame(connection, replacement);
+        assertFalse(connection.isOpen());
+        assertEquals(1, pool.getStats().healthCheckFailures());
+    }
+
+    @Test
+    void invalidate_afterIOException_discardsSocketAndFreesPermit() throws IOException {
+        RedisConnectionPool pool = pool(1);
+        RedisConnection connection = pool.borrow();
+        connection.close(); // Stands in for a socket that broke mid-command
+        assertThrows(IOException.class, () -> ping(connection));
+
+        pool.invalidate(connection);
+        RedisConnection replacement = pool.borrow();
+
+        assertNotSame(connection, replacement);
+        assertTrue(ping(replacement));
+        assertEquals(1, pool.getStats().destroyed());
+        assertEquals(0, pool.getStats().idle());
+        assertEquals(1, pool.getStats().active());
+    }
+}
@@ -0,0 +1,65 @@
+package com.reliaquest.api.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.api.loadtest.FakeRedisServer;
+import java.io.IOException;
+import java.util.Arrays;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Runs {@link RedisConnection} and {@link AsyncRedisClient} against {@link FakeRedisServer}. In this package so their
+ * read buffers can be looked at without widening either class.
+ */
+public class RedisConnectionTests {
+    private static final int LARGE_VALUE_SIZE = 1024 * 1024;
+
+    private FakeRedisServer redis;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        redis = new FakeRedisServer();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        redis.close();
+    }
+
+    private static byte[] largeValue() {
+        byte[] value = new byte[LARGE_VALUE_SIZE];
+        Arrays.fill(value, (byte) 'x');
+        return value;
+    }
+
+    @Test
+    void readReply_afterLargeReply_shrinksReadBufferBack() throws IOException {
+        try (RedisConnection connection = new RedisConnection("localhost", redis.getPort(), 2000)) {
+            int initialCapacity = connection.readBufferCapacity();
+            assertEquals("OK", connection.execute("SET", "large", largeValue()));
+
+            byte[] reply = (byte[]) connection.execute("GET", "large");
+
+            assertEquals(LARGE_VALUE_SIZE, reply.length);
+            assertEquals(initialCapacity, connection.readBufferCapacity());
+            assertEquals("PONG", connection.execute("PING"));
+        }
+    }
+
+    @Test
+    void send_afterLargeReply_shrinksReadBufferBack() throws Exception {
+        try (AsyncRedisClient client = new AsyncRedisClient("localhost", redis.getPort(), 2000)) {
+            assertEquals("PONG", client.send("PING").get());
+            int initialCapacity = client.readBufferCapacity();
+            assertEquals("OK", client.send("SET", "large", largeValue()).get());
+
+            byte[] reply = (byte[]) client.send("GET", "large").get();
+
+            assertEquals(LARGE_VALUE_SIZE, reply.length);
+            assertEquals(initialCapacity, client.readBufferCapacity());
+            assertEquals("PONG", client.send("PING").get());
+        }
+    }
+}
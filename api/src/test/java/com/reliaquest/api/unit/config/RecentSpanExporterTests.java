@@ -0,0 +1,61 @@
+package com.reliaquest.api.unit.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.api.config.RecentSpanExporter;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+public class RecentSpanExporterTests {
+
+    private final RecentSpanExporter exporter = new RecentSpanExporter(3);
+    private final SdkTracerProvider tracerProvider = SdkTracerProvider.builder()
+            .addSpanProcessor(SimpleSpanProcessor.create(exporter))
+            .build();
+    private final Tracer tracer = tracerProvider.get("test");
+
+    @AfterEach
+    void tearDown() {
+        tracerProvider.close();
+    }
+
+    @Test
+    void export_keepsFinishedSpansWithTheirParent() {
+        Span request = tracer.spanBuilder("request").startSpan();
+        tracer.spanBuilder("GET")
+                .setParent(Context.current().with(request))
+                .setAttribute("db.system", "redis")
+                .startSpan()
+                .end();
+        request.end();
+
+        List<RecentSpanExporter.RecentSpan> spans = exporter.spans();
+
+        assertEquals(2, spans.size());
+        RecentSpanExporter.RecentSpan command = spans.get(0);
+        assertEquals("GET", command.name());
+        assertEquals(request.getSpanContext().getSpanId(), command.parentSpanId());
+        assertEquals("redis", command.attributes().get("db.system"));
+        assertNull(spans.get(1).parentSpanId());
+        assertEquals(spans, exporter.trace(request.getSpanContext().getTraceId()));
+    }
+
+    @Test
+    void export_overCapacity_dropsOldestSpans() {
+        for (int i = 0; i < 5; i++) {
+            tracer.spanBuilder("span-" + i).startSpan().end();
+        }
+
+        List<String> names = exporter.spans().stream()
+                .map(RecentSpanExporter.RecentSpan::name)
+                .toList();
+
+        assertEquals(List.of("span-2", "span-3", "span-4"), names);
+    }
+}
@@ -0,0 +1,83 @@
+package com.reliaquest.api.unit.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import com.reliaquest.api.config.RequestLogSampler;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+public class RequestLogSamplerTests {
+
+    private final Logger requestLog = (Logger) LoggerFactory.getLogger("com.reliaquest.api.requests");
+    private final ListAppender<ILoggingEvent> events = new ListAppender<>();
+    private Level previousLevel;
+
+    @BeforeEach
+    void setUp() {
+        previousLevel = requestLog.getLevel();
+        requestLog.setLevel(Level.INFO);
+        events.start();
+        requestLog.addAppender(events);
+    }
+
+    @AfterEach
+    void tearDown() {
+        requestLog.detachAppender(events);
+        requestLog.setLevel(previousLevel);
+    }
+
+    @Test
+    void completed_serverErrorOrSlow_alwaysLoggedAtWarn() {
+        RequestLogSampler sampler = new RequestLogSampler(0, 100);
+
+        sampler.completed("GET", "/api/v1/employees/{id}", "/api/v1/employees/42", 503, 1_000);
+        sampler.completed("GET", null, "/api/v1/employees", 200, TimeUnit.MILLISECONDS.toNanos(150));
+        sampler.completed("GET", null, "/api/v1/employees", 200, TimeUnit.MILLISECONDS.toNanos(50));
+
+        assertEquals(2, events.list.size());
+        assertEquals(Level.WARN, events.list.get(0).getLevel());
+        assertEquals(
+                "GET /api/v1/employees/{id} status=503 micros=1",
+                events.list.get(0).getFormattedMessage());
+        assertEquals(
+                "GET /api/v1/employees status=200 micros=150000",
+                events.list.get(1).getFormattedMessage());
+    }
+
+    @Test
+    void completed_sampleRate_logsThatShareAtInfo() {
+        RequestLogSampler everyRequest = new RequestLogSampler(1, 0);
+        RequestLogSampler noRequest = new RequestLogSampler(0, 0);
+        RequestLogSampler someRequests = new RequestLogSampler(0.25, 0);
+
+        everyRequest.completed("POST", "/api/v1/employees", "/api/v1/employees", 200, 1_000);
+        noRequest.completed("POST", "/api/v1/employees", "/api/v1/employees", 200, 1_000);
+        assertEquals(1, events.list.size());
+        assertEquals(Level.INFO, events.list.get(0).getLevel());
+
+        events.list.clear();
+        for (int i = 0; i < 4000; i++) {
+            someRequests.completed("GET", "/api/v1/employees", "/api/v1/employees", 200, 1_000);
+        }
+        assertTrue(events.list.size() > 800 && events.list.size() < 1200, "logged " + events.list.size());
+    }
+
+    @Test
+    void completed_loggerAtWarn_skipsSampledRequests() {
+        requestLog.setLevel(Level.WARN);
+        RequestLogSampler sampler = new RequestLogSampler(1, 0);
+
+        sampler.completed("GET", "/api/v1/employees", "/api/v1/employees", 200, 1_000);
+        sampler.completed("GET", "/api/v1/employees", "/api/v1/employees", 500, 1_000);
+
+        assertEquals(1, events.list.size());
+        assertEquals(Level.WARN, events.list.get(0).getLevel());
+    }
+}
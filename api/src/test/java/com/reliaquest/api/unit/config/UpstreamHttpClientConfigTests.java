@@ -0,0 +1,80 @@
+package com.reliaquest.api.unit.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.api.config.UpstreamHttpClientConfig;
+import com.reliaquest.api.config.UpstreamPoolMonitor;
+import io.micrometer.observation.ObservationRegistry;
+import java.net.http.HttpClient;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.RestTemplate;
+
+public class UpstreamHttpClientConfigTests {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withUserConfiguration(UpstreamHttpClientConfig.class, UpstreamPoolMonitor.class)
+            .withPropertyValues(
+                    "spring.web.client.connection-timeout=500",
+                    "spring.web.client.read-timeout=1000",
+                    "reliaquest.api.url=http://localhost:8112/api/v1/employee",
+                    "reliaquest.api.http-pool-max-total=8",
+                    "reliaquest.api.http-pool-max-per-route=4",
+                    "reliaquest.api.http-pool-acquire-timeout=100",
+                    "reliaquest.api.http-pool-idle-timeout=1000");
+
+    @Test
+    void restTemplate_defaultsToPooledApacheClient() {
+        contextRunner.run(context -> {
+            RestTemplate restTemplate = context.getBean(RestTemplate.class);
+
+            assertInstanceOf(HttpComponentsClientHttpRequestFactory.class, restTemplate.getRequestFactory());
+            UpstreamPoolMonitor.PoolStats stats =
+                    context.getBean(UpstreamPoolMonitor.class).getPoolStats();
+            assertEquals(8, stats.max());
+            assertEquals(0, stats.leased());
+        });
+    }
+
+    @Test
+    void restTemplate_observationRegistryPresent_observesRequests() {
+        ObservationRegistry registry = ObservationRegistry.create();
+        contextRunner.withBean(ObservationRegistry.class, () -> registry).run(context -> {
+            assertSame(registry, context.getBean(RestTemplate.class).getObservationRegistry());
+        });
+    }
+
+    @Test
+    void restTemplate_jdkClientSelected_hasNoPoolStats() {
+        contextRunner.withPropertyValues("reliaquest.api.http-client=jdk").run(context -> {
+            RestTemplate restTemplate = context.getBean(RestTemplate.class);
+
+            assertInstanceOf(JdkClientHttpRequestFactory.class, restTemplate.getRequestFactory());
+            assertNull(context.getBean(UpstreamPoolMonitor.class).getPoolStats());
+        });
+    }
+
+    @Test
+    void jdkRequestFactory_asksForHttp2OnlyOverHttps() {
+        contextRunner.withPropertyValues("reliaquest.api.http-client=jdk").run(context -> {
+            assertEquals(
+                    HttpClient.Version.HTTP_1_1,
+                    jdkClient(context.getBean(RestTemplate.class)).version());
+        });
+        contextRunner
+                .withPropertyValues(
+                        "reliaquest.api.http-client=jdk", "reliaquest.api.url=https://employees.example.com/api")
+                .run(context -> {
+                    assertEquals(
+                            HttpClient.Version.HTTP_2,
+                            jdkClient(context.getBean(RestTemplate.class)).version());
+                });
+    }
+
+    private static HttpClient jdkClient(RestTemplate restTemplate) {
+        return (HttpClient) ReflectionTestUtils.getField(restTemplate.getRequestFactory(), "httpClient");
+    }
+}
@@ -9,6 +9,7 @@ import static org.mockito.Mockito.when;
 import com.reliaquest.api.controller.EmployeeController;
 import com.reliaquest.api.model.Employee;
 import com.reliaquest.api.model.EmployeeInput;
+import com.reliaquest.api.service.EmployeeIndex;
 import com.reliaquest.api.service.EmployeeService;
 import java.util.Collections;
 import java.util.List;
@@ -32,6 +33,10 @@ public class EmployeeControllerTests {
     @InjectMocks
     private EmployeeController employeeController;
 
+    private static ResponseEntity<EmployeeIndex> indexResponse(ResponseEntity<List<Employee>> employees) {
+        return ResponseEntity.ok(new EmployeeIndex(employees.getBody()));
+    }
+
     @Test
     void getAllEmployees_success() {
         List<Employee> mockEmployees = List.of(new Employee(), new Employee());
@@ -77,7 +82,7 @@ public class EmployeeControllerTests {
                 new Employee("125", "Another Test Employee", 3000, 25, "", "3"));
         ResponseEntity<List<Employee>> mockServiceResponse = new ResponseEntity<>(mockEmployees, HttpStatus.OK);
 
-        when(employeeService.getAllEmployees()).thenReturn(mockServiceResponse);
+        when(employeeService.getEmployeeIndex()).thenReturn(indexResponse(mockServiceResponse));
 
         ResponseEntity<List<Employee>> response = employeeController.getEmployeesByNameSearch(searchString);
 
@@ -85,7 +90,6 @@ public class EmployeeControllerTests {
         assertNotNull(response.getBody());
         assertEquals(2, response.getBody().size()); // Two employees match "test"
 
-
         List<String> filteredNames =
                 response.getBody().stream().map(Employee::getEmployee_name).collect(Collectors.toList());
         assertTrue(filteredNames.contains("Test Employee 1"));
@@ -101,7 +105,7 @@ public class EmployeeControllerTests {
                 new Employee("125", "Another Test Employee", 3000, 25, "title3", "3@email"));
         ResponseEntity<List<Employee>> mockServiceResponse = new ResponseEntity<>(mockEmployees, HttpStatus.OK);
 
-        when(employeeService.getAllEmployees()).thenReturn(mockServiceResponse);
+        when(employeeService.getEmployeeIndex()).thenReturn(indexResponse(mockServiceResponse));
 
         ResponseEntity<List<Employee>> response = employeeController.getEmployeesByNameSearch(searchString);
 
@@ -114,7 +118,7 @@ public class EmployeeControllerTests {
     void getEmployeesByNameSearch_serverError() {
         String searchString = "test";
 
-        when(employeeService.getAllEmployees()).thenReturn(new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR));
+        when(employeeService.getEmployeeIndex()).thenReturn(new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR));
 
         ResponseEntity<List<Employee>> response = employeeController.getEmployeesByNameSearch(searchString);
 
@@ -171,7 +175,7 @@ public class EmployeeControllerTests {
                 new Employee("111", "Employee 1", 50000, 30, "title 111", "111@email.com"),
                 new Employee("222", "Employee 2", 60000, 35, "title 222", "222@email.com"),
                 new Employee("333", "Employee 3", 75000, 40, "title 333", "333@email.com"));
-        when(employeeService.getAllEmployees()).thenReturn(new ResponseEntity<>(mockEmployees, HttpStatus.OK));
+        when(employeeService.getEmployeeIndex()).thenReturn(ResponseEntity.ok(new EmployeeIndex(mockEmployees)));
 
         ResponseEntity<Integer> response = employeeController.getHighestSalaryOfEmployees();
 
@@ -181,8 +185,8 @@ public class EmployeeControllerTests {
 
     @Test
     void getHighestSalaryOfEmployees_emptyList() {
-        when(employeeService.getAllEmployees())
-                .thenReturn(new ResponseEntity<>(Collections.emptyList(), HttpStatus.OK));
+        when(employeeService.getEmployeeIndex())
+                .thenReturn(ResponseEntity.ok(new EmployeeIndex(Collections.emptyList())));
 
         ResponseEntity<Integer> response = employeeController.getHighestSalaryOfEmployees();
 
@@ -192,7 +196,7 @@ public class EmployeeControllerTests {
 
     @Test
     void getHighestSalaryOfEmployees_serverError() {
-        when(employeeService.getAllEmployees()).thenReturn(new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR));
+        when(employeeService.getEmployeeIndex()).thenReturn(new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR));
 
         ResponseEntity<Integer> response = employeeController.getHighestSalaryOfEmployees();
 
@@ -216,7 +220,7 @@ public class EmployeeControllerTests {
                 new Employee("11", "Emp11", 28000, 36, "title", "email") // More than 10 employees
                 );
 
-        when(employeeService.getAllEmployees()).thenReturn(new ResponseEntity<>(mockEmployees, HttpStatus.OK));
+        when(employeeService.getEmployeeIndex()).thenReturn(ResponseEntity.ok(new EmployeeIndex(mockEmployees)));
 
         ResponseEntity<List<String>> response = employeeController.getTopTenHighestEarningEmployeeNames();
 
@@ -232,8 +236,8 @@ public class EmployeeControllerTests {
 
     @Test
     void getTopTenHighestEarningEmployeeNames_emptyList() {
-        when(employeeService.getAllEmployees())
-                .thenReturn(new ResponseEntity<>(Collections.emptyList(), HttpStatus.OK));
+        when(employeeService.getEmployeeIndex())
+                .thenReturn(ResponseEntity.ok(new EmployeeIndex(Collections.emptyList())));
 
         ResponseEntity<List<String>> response = employeeController.getTopTenHighestEarningEmployeeNames();
 
@@ -244,7 +248,7 @@ public class EmployeeControllerTests {
 
     @Test
     void getTopTenHighestEarningEmployeeNames_serverError() {
-        when(employeeService.getAllEmployees()).thenReturn(new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR));
+        when(employeeService.getEmployeeIndex()).thenReturn(new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR));
 
         ResponseEntity<List<String>> response = employeeController.getTopTenHighestEarningEmployeeNames();
 
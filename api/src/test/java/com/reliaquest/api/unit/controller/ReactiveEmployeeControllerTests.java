@@ -0,0 +1,75 @@
+package com.reliaquest.api.unit.controller;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+import com.reliaquest.api.controller.ReactiveEmployeeController;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.service.EmployeeIndex;
+import com.reliaquest.api.service.ReactiveEmployeeService;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Mono;
+
+@ExtendWith(MockitoExtension.class)
+public class ReactiveEmployeeControllerTests {
+    @Mock
+    private ReactiveEmployeeService employeeService;
+
+    @InjectMocks
+    private ReactiveEmployeeController employeeController;
+
+    private final List<Employee> employees = List.of(
+            new Employee("1", "Alice Smith", 1000, 30, "title", "email"),
+            new Employee("2", "Bob Jones", 3000, 40, "title", "email"),
+            new Employee("3", "Carol Smith", 2000, 50, "title", "email"));
+
+    @Test
+    void getEmployeesByNameSearch_filtersIgnoringCase() {
+        when(employeeService.getEmployeeIndex()).thenReturn(Mono.just(ResponseEntity.ok(new EmployeeIndex(employees))));
+
+        ResponseEntity<List<Employee>> response =
+                employeeController.getEmployeesByNameSearch("smith").block();
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(2, response.getBody().size());
+    }
+
+    @Test
+    void getHighestSalaryOfEmployees_success() {
+        when(employeeService.getEmployeeIndex()).thenReturn(Mono.just(ResponseEntity.ok(new EmployeeIndex(employees))));
+
+        ResponseEntity<Integer> response =
+                employeeController.getHighestSalaryOfEmployees().block();
+
+        assertEquals(3000, response.getBody());
+    }
+
+    @Test
+    void getTopTenHighestEarningEmployeeNames_sortedBySalary() {
+        when(employeeService.getEmployeeIndex()).thenReturn(Mono.just(ResponseEntity.ok(new EmployeeIndex(employees))));
+
+        ResponseEntity<List<String>> response =
+                employeeController.getTopTenHighestEarningEmployeeNames().block();
+
+        assertEquals(List.of("Bob Jones", "Carol Smith", "Alice Smith"), response.getBody());
+    }
+
+    @Test
+    void getHighestSalaryOfEmployees_internalServerError() {
+        when(employeeService.getEmployeeIndex())
+                .thenReturn(Mono.just(ResponseEntity.internalServerError().build()));
+
+        ResponseEntity<Integer> response =
+                employeeController.getHighestSalaryOfEmployees().block();
+
+        assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, response.getStatusCode());
+        assertNull(response.getBody());
+    }
+}
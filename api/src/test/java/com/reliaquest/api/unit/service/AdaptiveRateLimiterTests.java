@@ -0,0 +1,73 @@
+package com.reliaquest.api.unit.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.api.service.AdaptiveRateLimiter;
+import com.reliaquest.api.service.AdaptiveRateLimiter.Priority;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+public class AdaptiveRateLimiterTests {
+    private final AtomicLong clock = new AtomicLong(1000);
+
+    @Test
+    void reserve_burstThenSpacedByRate() {
+        AdaptiveRateLimiter limiter = new AdaptiveRateLimiter(1, 10, 2, 1000, 1000, clock::get);
+
+        assertEquals(0, limiter.reserve(Priority.READ)); // Two saved-up permits
+        assertEquals(0, limiter.reserve(Priority.READ));
+        assertEquals(0, limiter.reserve(Priority.READ));
+        assertEquals(100, limiter.reserve(Priority.READ)); // 10 req/s, one permit every 100ms
+        assertEquals(200, limiter.reserve(Priority.READ));
+    }
+
+    @Test
+    void onThrottled_halvesRateAtMostOncePerSecond() {
+        AdaptiveRateLimiter limiter = new AdaptiveRateLimiter(2, 10, 1, 1000, 1000, clock::get);
+
+        limiter.onThrottled(0);
+        limiter.onThrottled(0); // Same overload, no second cut
+        assertEquals(5, limiter.getRate(), 0.001);
+
+        clock.addAndGet(1000);
+        limiter.onThrottled(0);
+        clock.addAndGet(1000);
+        limiter.onThrottled(0);
+        assertEquals(2, limiter.getRate(), 0.001); // Never below the minimum
+        assertEquals(4, limiter.getStats().throttled());
+    }
+
+    @Test
+    void onSuccess_raisesRateAdditivelyUpToMax() {
+        AdaptiveRateLimiter limiter = new AdaptiveRateLimiter(1, 4, 1, 1000, 1000, clock::get);
+        limiter.onThrottled(0);
+        assertEquals(2, limiter.getRate(), 0.001);
+
+        limiter.onSuccess();
+        assertEquals(2.5, limiter.getRate(), 0.001);
+        for (int i = 0; i < 100; i++) {
+            limiter.onSuccess();
+        }
+        assertEquals(4, limiter.getRate(), 0.001);
+    }
+
+    @Test
+    void reserve_readsShedBeforeWrites() {
+        AdaptiveRateLimiter limiter = new AdaptiveRateLimiter(1, 10, 1, 50, 500, clock::get);
+        limiter.onThrottled(200); // Upstream asked us to back off for 200ms
+
+        assertThrows(AdaptiveRateLimiter.RateLimitedException.class, () -> limiter.reserve(Priority.READ));
+        assertEquals(200, limiter.reserve(Priority.WRITE));
+        assertEquals(1, limiter.getStats().rejected());
+    }
+
+    @Test
+    void reserve_waitPastCallersBudget_rejectsWithoutTakingPermit() {
+        AdaptiveRateLimiter limiter = new AdaptiveRateLimiter(1, 10, 1, 1000, 1000, clock::get);
+        limiter.reserve(Priority.WRITE); // The stored burst permit
+        assertEquals(0, limiter.reserve(Priority.WRITE));
+
+        assertThrows(AdaptiveRateLimiter.RateLimitedException.class, () -> limiter.reserve(Priority.WRITE, 50));
+        assertEquals(100, limiter.reserve(Priority.WRITE, 100)); // Still the next permit, not the one after it
+    }
+}
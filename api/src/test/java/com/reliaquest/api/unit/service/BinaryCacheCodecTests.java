@@ -0,0 +1,66 @@
+package com.reliaquest.api.unit.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.service.BinaryCacheCodec;
+import com.reliaquest.api.service.CacheCodec;
+import com.reliaquest.api.service.JsonCacheCodec;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+public class BinaryCacheCodecTests {
+    private final BinaryCacheCodec codec = new BinaryCacheCodec();
+
+    private final List<Employee> roster = List.of(
+            new Employee(
+                    "4a3a170b-22cd-4ac2-aad1-36f9e2a6f2c0", "Alice Smith", 5000, 30, "Engineer", "alice@company.com"),
+            new Employee("2", "Bøb Jönes 日本", -1, 0, "Engineer", "bob@company.com"),
+            new Employee("4A3A170B-22CD-4AC2-AAD1-36F9E2A6F2C0", "Upper Case Id", Integer.MAX_VALUE, 99, null, "no-at"),
+            new Employee(null, null, Integer.MIN_VALUE, 40, "Manager", null),
+            new Employee("5", "", 1, 1, "", "a@b@company.com"));
+
+    @Test
+    void employees_roundTrip() throws IOException {
+        assertEquals(roster, codec.decodeEmployees(codec.encodeEmployees(roster)));
+        assertEquals(
+                roster,
+                new BinaryCacheCodec(false).decodeEmployees(new BinaryCacheCodec(false).encodeEmployees(roster)));
+        assertEquals(List.of(), codec.decodeEmployees(codec.encodeEmployees(List.of())));
+    }
+
+    @Test
+    void employee_roundTrip() throws IOException {
+        for (Employee employee : roster) {
+            assertEquals(employee, codec.decodeEmployee(codec.encodeEmployee(employee)));
+        }
+    }
+
+    @Test
+    void encodeEmployees_smallerThanJsonAndTellsFormatsApart() throws IOException {
+        CacheCodec json = new JsonCacheCodec();
+        byte[] binary = codec.encodeEmployees(roster);
+        byte[] text = json.encodeEmployees(roster);
+
+        assertTrue(binary.length * 2 < text.length, binary.length + " vs " + text.length + " bytes");
+        assertTrue(BinaryCacheCodec.isBinary(binary));
+        assertFalse(BinaryCacheCodec.isBinary(text));
+        assertFalse(BinaryCacheCodec.isBinary(json.encodeEmployee(roster.get(0))));
+    }
+
+    @Test
+    void decode_rejectsUnknownVersionWrongKindAndCorruptValues() {
+        byte[] value = codec.encodeEmployees(roster);
+
+        byte[] newerVersion = value.clone();
+        newerVersion[1] = BinaryCacheCodec.VERSION + 1;
+        assertThrows(IOException.class, () -> codec.decodeEmployees(newerVersion));
+
+        assertThrows(IOException.class, () -> codec.decodeEmployee(value)); // A list, not one employee
+        assertThrows(IOException.class, () -> codec.decodeEmployees(Arrays.copyOf(value, value.length - 3)));
+        assertThrows(IOException.class, () -> codec.decodeEmployees(Arrays.copyOf(value, value.length + 1)));
+        assertThrows(IOException.class, () -> codec.decodeEmployees("[]".getBytes()));
+    }
+}
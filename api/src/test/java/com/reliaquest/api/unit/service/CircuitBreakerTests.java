@@ -0,0 +1,121 @@
+package com.reliaquest.api.unit.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.api.service.CircuitBreaker;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+public class CircuitBreakerTests {
+    private final AtomicLong clock = new AtomicLong(1000);
+
+    // Window of 4 calls, opens at 50% failures once 4 calls are in, stays open 100ms, needs 2 good trial calls
+    private final CircuitBreaker breaker = new CircuitBreaker("test", 4, 4, 0.5, 100, 2, clock::get);
+
+    private void call(boolean fails) {
+        assertTrue(breaker.tryAcquirePermission());
+        if (fails) {
+            breaker.onFailure();
+        } else {
+            breaker.onSuccess();
+        }
+    }
+
+    @Test
+    void onFailure_staysClosedUntilMinimumCallsRecorded() {
+        call(true);
+        call(true);
+        call(true);
+
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        call(false); // 3 of 4 failed
+
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertFalse(breaker.tryAcquirePermission());
+    }
+
+    @Test
+    void onFailure_oldOutcomesRollOutOfTheWindow() {
+        call(true);
+        call(false);
+        call(false);
+        call(false);
+        call(false); // The failure has rolled out, window is 4 successes
+        call(true);
+
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    void tryAcquirePermission_halfOpenAfterWaitThenClosesOnSuccessfulTrials() {
+        call(false);
+        call(false);
+        call(true);
+        call(true);
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+
+        clock.addAndGet(100);
+        assertTrue(breaker.tryAcquirePermission());
+        assertTrue(breaker.tryAcquirePermission());
+        assertFalse(breaker.tryAcquirePermission()); // Only 2 trial calls at a time
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+
+        breaker.onSuccess();
+        breaker.onSuccess();
+
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        assertTrue(breaker.tryAcquirePermission());
+    }
+
+    @Test
+    void onFailure_failedTrialReopens() {
+        call(true);
+        call(true);
+        call(true);
+        call(true);
+        clock.addAndGet(100);
+
+        assertTrue(breaker.tryAcquirePermission());
+        breaker.onFailure();
+
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        clock.addAndGet(99);
+        assertFalse(breaker.tryAcquirePermission());
+    }
+
+    @Test
+    void releasePermission_trialWithoutOutcomeFreesItsSlot() {
+        call(true);
+        call(true);
+        call(true);
+        call(true);
+        clock.addAndGet(100);
+        assertTrue(breaker.tryAcquirePermission());
+        assertTrue(breaker.tryAcquirePermission());
+        assertFalse(breaker.tryAcquirePermission());
+
+        breaker.releasePermission(); // One trial died without reporting back
+
+        assertTrue(breaker.tryAcquirePermission());
+        breaker.onSuccess();
+        breaker.onSuccess();
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    void isCallPermitted_reflectsStateWithoutTakingATrialSlot() {
+        call(true);
+        call(true);
+        call(true);
+        call(true);
+        assertFalse(breaker.isCallPermitted());
+
+        clock.addAndGet(100);
+        assertTrue(breaker.isCallPermitted());
+        assertTrue(breaker.isCallPermitted());
+        assertTrue(breaker.tryAcquirePermission());
+        assertTrue(breaker.isCallPermitted()); // One of two trial slots left
+        assertTrue(breaker.tryAcquirePermission());
+        assertFalse(breaker.isCallPermitted());
+    }
+}
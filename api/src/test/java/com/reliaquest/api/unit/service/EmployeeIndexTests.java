@@ -0,0 +1,103 @@
+package com.reliaquest.api.unit.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.service.EmployeeIndex;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+public class EmployeeIndexTests {
+    private final List<Employee> roster = List.of(
+            new Employee("1", "Alice Smith", 5000, 30, "title", "email"),
+            new Employee("2", "Bob Jones", 9000, 40, "title", "email"),
+            new Employee("3", "Carol Smith", 7000, 50, "title", "email"));
+
+    private final EmployeeIndex index = new EmployeeIndex(roster);
+
+    @Test
+    void sync_buildsLookupsFromRoster() {
+        assertEquals(3, index.size());
+        assertEquals("Bob Jones", index.get("2").getEmployee_name());
+        assertEquals(9000, index.getHighestSalary());
+        assertEquals(List.of("Bob Jones", "Carol Smith", "Alice Smith"), index.getTopEarnerNames(10));
+        assertEquals(List.of("Bob Jones"), index.getTopEarnerNames(1));
+    }
+
+    @Test
+    void put_newTopEarnerUpdatesAggregates() {
+        index.put(new Employee("4", "Dave Brown", 12000, 35, "title", "email"));
+
+        assertEquals(12000, index.getHighestSalary());
+        assertEquals(List.of("Dave Brown", "Bob Jones"), index.getTopEarnerNames(2));
+        assertEquals(4, index.size());
+    }
+
+    @Test
+    void put_sameIdReplacesEmployee() {
+        index.put(new Employee("2", "Bob Jones", 1000, 40, "title", "email")); // Pay cut
+
+        assertEquals(3, index.size());
+        assertEquals(7000, index.getHighestSalary());
+        assertEquals(List.of("Carol Smith", "Alice Smith", "Bob Jones"), index.getTopEarnerNames(10));
+    }
+
+    @Test
+    void remove_highestEarnerFallsBackToNext() {
+        assertTrue(index.remove("2"));
+        assertFalse(index.remove("2"));
+
+        assertNull(index.get("2"));
+        assertEquals(7000, index.getHighestSalary());
+        assertEquals(0, new EmployeeIndex(List.of()).getHighestSalary());
+    }
+
+    @Test
+    void getTopEarnerNames_equalSalariesKeepRosterOrder() {
+        EmployeeIndex tied = new EmployeeIndex(List.of(
+                new Employee("1", "Alice", 5000, 30, "title", "email"),
+                new Employee("2", "Bob", 9000, 40, "title", "email"),
+                new Employee("3", "Carol", 5000, 50, "title", "email")));
+        tied.put(new Employee("4", "Dave", 5000, 35, "title", "email"));
+        tied.put(new Employee("1", "Alice", 5000, 31, "title", "email")); // Replaced, keeps its place
+
+        assertEquals(List.of("Bob", "Alice", "Carol", "Dave"), tied.getTopEarnerNames(10));
+    }
+
+    @Test
+    void remove_topEarnerRefillsTrackedTop() {
+        EmployeeIndex small = new EmployeeIndex(2);
+        small.sync(roster);
+
+        assertTrue(small.remove("2"));
+        assertEquals(List.of("Carol Smith", "Alice Smith"), small.getTopEarnerNames(2));
+
+        small.put(new Employee("4", "Dave Brown", 6000, 35, "title", "email"));
+        assertEquals(List.of("Carol Smith", "Dave Brown"), small.getTopEarnerNames(2));
+        assertEquals(List.of("Carol Smith", "Dave Brown", "Alice Smith"), small.getTopEarnerNames(5)); // Beyond 2
+        assertEquals(7000, small.getHighestSalary());
+    }
+
+    @Test
+    void searchByName_ignoresCaseAndKeepsRosterOrder() {
+        assertEquals(
+                List.of("Alice Smith", "Carol Smith"),
+                index.searchByName("SMITH").stream()
+                        .map(Employee::getEmployee_name)
+                        .toList());
+        assertTrue(index.searchByName("xyz").isEmpty());
+    }
+
+    @Test
+    void sync_sameListKeepsIncrementalUpdates() {
+        index.put(new Employee("4", "Dave Brown", 12000, 35, "title", "email"));
+
+        index.sync(roster); // Same cached list the index was built from
+        assertEquals(4, index.size());
+        assertTrue(index.isFresh(60000));
+
+        index.sync(new ArrayList<>(roster)); // A newly fetched roster replaces everything
+        assertEquals(3, index.size());
+    }
+}
@@ -0,0 +1,156 @@
+package com.reliaquest.api.unit.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+import com.reliaquest.api.model.ApiResponse;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.service.EmployeeServiceImpl;
+import com.reliaquest.api.service.RawRedisCache;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.RestTemplate;
+
+@ExtendWith(MockitoExtension.class)
+public class EmployeeServiceCacheTests {
+
+    @Mock
+    private RestTemplate restTemplate;
+
+    @Mock
+    private RawRedisCache rawRedisCache;
+
+    @InjectMocks
+    private EmployeeServiceImpl employeeService;
+
+    private final List<Employee> cachedEmployees =
+            List.of(new Employee("1", "Cached Employee", 1000, 30, "title", "email"));
+
+    @BeforeEach
+    void setUp() {
+        employeeService.setRetryMaxAttemps(3);
+        employeeService.setApiUrl("http://localhost:8080/api/v1/employees");
+        employeeService.setRetryInitialDelayMS(10);
+        employeeService.setEmployeesSoftTtl(60000);
+    }
+
+    private void stubSlowUpstream() {
+        ResponseEntity<ApiResponse<List<Employee>>> upstreamResponse =
+                new ResponseEntity<>(new ApiResponse<>("success", List.of(new Employee())), HttpStatus.OK);
+        when(restTemplate.exchange(
+                        anyString(),
+                        any(HttpMethod.class),
+                        any(),
+                        ArgumentMatchers.<ParameterizedTypeReference<ApiResponse<List<Employee>>>>any()))
+                .thenAnswer(invocation -> {
+                    Thread.sleep(200); // Keep the call in flight while other requests arrive
+                    return upstreamResponse;
+                });
+    }
+
+    private void verifyUpstreamCalls(int times) {
+        verify(restTemplate, timeout(1000).times(times))
+                .exchange(
+                        anyString(),
+                        any(HttpMethod.class),
+                        any(),
+                        ArgumentMatchers.<ParameterizedTypeReference<ApiResponse<List<Employee>>>>any());
+    }
+
+    @Test
+    void getAllEmployees_freshCache_servedWithoutUpstreamCall() {
+        when(rawRedisCache.getEmployeesEntryFromCache())
+                .thenReturn(new RawRedisCache.CachedEmployees(cachedEmployees, System.currentTimeMillis()));
+
+        ResponseEntity<List<Employee>> response = employeeService.getAllEmployees();
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(cachedEmployees, response.getBody());
+        verifyNoInteractions(restTemplate);
+    }
+
+    @Test
+    void getAllEmployees_softExpiredCache_servedImmediatelyAndRefreshedOnce() {
+        stubSlowUpstream();
+        when(rawRedisCache.getEmployeesEntryFromCache())
+                .thenReturn(new RawRedisCache.CachedEmployees(cachedEmployees, System.currentTimeMillis() - 120000));
+
+        ResponseEntity<List<Employee>> first = employeeService.getAllEmployees();
+        ResponseEntity<List<Employee>> second = employeeService.getAllEmployees();
+
+        assertEquals(cachedEmployees, first.getBody());
+        assertEquals(cachedEmployees, second.getBody());
+        verifyUpstreamCalls(1);
+        verify(rawRedisCache, timeout(1000)).addEmployeesToCache(any());
+    }
+
+    @Test
+    void getAllEmployees_cacheMiss_fetchesFromUpstream() {
+        stubSlowUpstream();
+
+        ResponseEntity<List<Employee>> response = employeeService.getAllEmployees();
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(1, response.getBody().size());
+        verifyUpstreamCalls(1);
+    }
+
+    @Test
+    void getAllEmployees_concurrentCacheMisses_shareOneUpstreamCall() throws Exception {
+        stubSlowUpstream();
+        int callers = 8;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+        try {
+            List<Future<ResponseEntity<List<Employee>>>> responses = new ArrayList<>();
+            for (int i = 0; i < callers; i++) {
+                responses.add(executor.submit(() -> {
+                    start.await();
+                    return employeeService.getAllEmployees();
+                }));
+            }
+            start.countDown();
+
+            for (Future<ResponseEntity<List<Employee>>> response : responses) {
+                assertEquals(HttpStatus.OK, response.get().getStatusCode());
+                assertEquals(1, response.get().getBody().size());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        verifyUpstreamCalls(1);
+    }
+
+    @Test
+    void getAllEmployees_fetchLockHeldElsewhere_waitsForOtherInstanceResult() {
+        employeeService.setRedisFetchLockTtl(1000);
+        when(rawRedisCache.tryLock(anyString(), anyString(), anyLong())).thenReturn(false);
+        when(rawRedisCache.getEmployeesEntryFromCache())
+                .thenReturn(null, null, new RawRedisCache.CachedEmployees(cachedEmployees, System.currentTimeMillis()));
+
+        ResponseEntity<List<Employee>> response = employeeService.getAllEmployees();
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(cachedEmployees, response.getBody());
+        verifyNoInteractions(restTemplate);
+        verify(rawRedisCache, never()).unlock(anyString(), anyString());
+    }
+}
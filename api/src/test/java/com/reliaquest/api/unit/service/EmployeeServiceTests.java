@@ -11,10 +11,18 @@ import static org.mockito.Mockito.*;
 import com.reliaquest.api.model.ApiResponse;
 import com.reliaquest.api.model.Employee;
 import com.reliaquest.api.model.EmployeeInput;
+import com.reliaquest.api.service.AdaptiveRateLimiter;
+import com.reliaquest.api.service.CircuitBreaker;
 import com.reliaquest.api.service.EmployeeServiceImpl;
+import com.reliaquest.api.service.RequestHedger;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.util.Collections;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -129,6 +137,47 @@ public class EmployeeServiceTests {
                         ArgumentMatchers.<ParameterizedTypeReference<ApiResponse<List<Employee>>>>any());
     }
 
+    @Test
+    void getAllEmployees_recoveredFailure_recordsAttemptsRetriesAndBackoff() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        employeeService.setMeterRegistry(registry);
+        employeeService.setRetryInitialDelayMS(20);
+        when(restTemplate.exchange(
+                        anyString(),
+                        any(HttpMethod.class),
+                        any(),
+                        ArgumentMatchers.<ParameterizedTypeReference<ApiResponse<List<Employee>>>>any()))
+                .thenThrow(new HttpServerErrorException(HttpStatus.SERVICE_UNAVAILABLE))
+                .thenReturn(ResponseEntity.ok(new ApiResponse<>("success", List.of(new Employee()))));
+
+        ResponseEntity<List<Employee>> response = employeeService.getAllEmployees();
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(
+                1,
+                registry.get("employee.upstream.requests")
+                        .tags("endpoint", "get_all", "method", "GET", "status", "503")
+                        .timer()
+                        .count());
+        assertEquals(
+                1,
+                registry.get("employee.upstream.requests")
+                        .tags("endpoint", "get_all", "status", "200")
+                        .timer()
+                        .count());
+        assertEquals(
+                1,
+                registry.get("employee.upstream.retries")
+                        .tag("endpoint", "get_all")
+                        .counter()
+                        .count());
+        Timer backoff = registry.get("employee.upstream.backoff")
+                .tag("endpoint", "get_all")
+                .timer();
+        assertEquals(1, backoff.count());
+        assertTrue(backoff.totalTime(TimeUnit.MILLISECONDS) >= 10, "Jitter shortens the 20ms delay by at most half");
+    }
+
     @Test
     void getAllEmployees_nullResponse_returnsInternalServerError() {
         when(restTemplate.exchange(
@@ -520,4 +569,220 @@ public class EmployeeServiceTests {
                         any(HttpEntity.class),
                         ArgumentMatchers.<ParameterizedTypeReference<ApiResponse<String>>>any());
     }
+
+    @Test
+    void getAllEmployees_circuitOpen_failsFastWithServiceUnavailable() {
+        employeeService.setCircuitBreaker(new CircuitBreaker("test", 2, 2, 0.5, 60000, 1));
+        when(restTemplate.exchange(
+                        anyString(),
+                        any(HttpMethod.class),
+                        any(),
+                        ArgumentMatchers.<ParameterizedTypeReference<ApiResponse<List<Employee>>>>any()))
+                .thenThrow(new HttpServerErrorException(HttpStatus.INTERNAL_SERVER_ERROR));
+
+        ResponseEntity<List<Employee>> response = employeeService.getAllEmployees();
+
+        // Two failed attempts open the breaker, the third is rejected without calling the API
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        assertEquals(
+                HttpStatus.SERVICE_UNAVAILABLE,
+                employeeService.getAllEmployees().getStatusCode());
+        verify(restTemplate, times(2))
+                .exchange(
+                        anyString(),
+                        any(HttpMethod.class),
+                        any(),
+                        ArgumentMatchers.<ParameterizedTypeReference<ApiResponse<List<Employee>>>>any());
+    }
+
+    @Test
+    void createEmployee_errorDuringHalfOpenTrial_releasesTrialPermission() {
+        AtomicLong clock = new AtomicLong(1000);
+        CircuitBreaker breaker = new CircuitBreaker("test", 2, 2, 0.5, 100, 1, clock::get);
+        employeeService.setCircuitBreaker(breaker);
+        breaker.tryAcquirePermission();
+        breaker.onFailure();
+        breaker.tryAcquirePermission();
+        breaker.onFailure();
+        clock.addAndGet(100); // The next call is the one trial allowed through
+        Employee created = new Employee("new-employee-id", "Trial", 1000, 30, "title", "email");
+        when(restTemplate.exchange(
+                        anyString(),
+                        eq(HttpMethod.POST),
+                        any(HttpEntity.class),
+                        ArgumentMatchers.<ParameterizedTypeReference<ApiResponse<Employee>>>any()))
+                .thenThrow(new StackOverflowError())
+                .thenReturn(new ResponseEntity<>(new ApiResponse<>("success", created), HttpStatus.CREATED));
+
+        assertThrows(StackOverflowError.class, () -> employeeService.createEmployee(new EmployeeInput()));
+        ResponseEntity<Employee> response = employeeService.createEmployee(new EmployeeInput());
+
+        assertEquals(HttpStatus.CREATED, response.getStatusCode()); // Not rejected by a breaker stuck half-open
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    void getAllEmployees_circuitOpen_servesLastKnownEmployees() {
+        employeeService.setCircuitBreaker(new CircuitBreaker("test", 2, 2, 0.5, 60000, 1));
+        List<Employee> mockEmployees = List.of(new Employee(), new Employee());
+        when(restTemplate.exchange(
+                        anyString(),
+                        any(HttpMethod.class),
+                        any(),
+                        ArgumentMatchers.<ParameterizedTypeReference<ApiResponse<List<Employee>>>>any()))
+                .thenReturn(new ResponseEntity<>(new ApiResponse<>("success", mockEmployees), HttpStatus.OK))
+                .thenThrow(new HttpServerErrorException(HttpStatus.INTERNAL_SERVER_ERROR));
+        employeeService.getAllEmployees();
+
+        ResponseEntity<List<Employee>> response = employeeService.getAllEmployees();
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(mockEmployees, response.getBody());
+    }
+
+    @Test
+    void createEmployee_rateLimitWaitPastDeadline_failsFastWithServiceUnavailable() {
+        AdaptiveRateLimiter rateLimiter = new AdaptiveRateLimiter(1, 1, 1, 5000, 5000);
+        employeeService.setRateLimiter(rateLimiter);
+        employeeService.setRetryDeadlineMS(500);
+        rateLimiter.reserve(AdaptiveRateLimiter.Priority.WRITE); // The stored burst permit
+        rateLimiter.reserve(AdaptiveRateLimiter.Priority.WRITE); // The one due now, the next is a second away
+        long start = System.currentTimeMillis();
+
+        ResponseEntity<Employee> response = employeeService.createEmployee(new EmployeeInput());
+
+        // Within the limiter's own max wait, but not within the deadline: shed like the limiter would, not a 500
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        assertTrue(System.currentTimeMillis() - start < 500);
+        verifyNoInteractions(restTemplate);
+        // The rejected call left the next permit alone
+        assertTrue(rateLimiter.reserve(AdaptiveRateLimiter.Priority.WRITE) <= 1000);
+    }
+
+    @Test
+    void createEmployee_circuitOpen_rejectedBeforeTakingRateLimitPermit() {
+        CircuitBreaker breaker = new CircuitBreaker("test", 2, 2, 0.5, 60000, 1);
+        employeeService.setCircuitBreaker(breaker);
+        AdaptiveRateLimiter rateLimiter = new AdaptiveRateLimiter(1, 1, 1, 5000, 5000);
+        employeeService.setRateLimiter(rateLimiter);
+        breaker.tryAcquirePermission();
+        breaker.onFailure();
+        breaker.tryAcquirePermission();
+        breaker.onFailure();
+
+        ResponseEntity<Employee> response = employeeService.createEmployee(new EmployeeInput());
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        verifyNoInteractions(restTemplate);
+        assertEquals(0, rateLimiter.reserve(AdaptiveRateLimiter.Priority.WRITE)); // The burst permit is still stored
+    }
+
+    @Test
+    void getAllEmployees_tooManyRequests_lowersPermittedRate() {
+        AdaptiveRateLimiter rateLimiter = new AdaptiveRateLimiter(1, 50, 10, 5000, 5000);
+        employeeService.setRateLimiter(rateLimiter);
+        when(restTemplate.exchange(
+                        anyString(),
+                        any(HttpMethod.class),
+                        any(),
+                        ArgumentMatchers.<ParameterizedTypeReference<ApiResponse<List<Employee>>>>any()))
+                .thenThrow(HttpClientErrorException.TooManyRequests.create(
+                        HttpStatus.TOO_MANY_REQUESTS, "Too Many Requests", HttpHeaders.EMPTY, null, null));
+
+        employeeService.getAllEmployees();
+
+        assertEquals(3, employeeService.getRateLimiterStats().throttled());
+        assertTrue(employeeService.getRateLimiterStats().rate() < 50);
+    }
+
+    @Test
+    void getEmployeeById_slowUpstream_hedgedRequestWins() {
+        RequestHedger hedger = new RequestHedger("test", 95, 20, 1.0, Executors.newCachedThreadPool());
+        for (int i = 0; i < 20; i++) {
+            hedger.recordLatency(5); // Hedge anything slower than 20ms
+        }
+        employeeService.setRequestHedger(hedger);
+        Employee employee = new Employee("123", "Hedged Employee", 1000, 30, "title", "email");
+        ResponseEntity<ApiResponse<Employee>> upstreamResponse =
+                new ResponseEntity<>(new ApiResponse<>("success", employee), HttpStatus.OK);
+        when(restTemplate.exchange(
+                        contains("123"),
+                        any(HttpMethod.class),
+                        any(),
+                        ArgumentMatchers.<ParameterizedTypeReference<ApiResponse<Employee>>>any()))
+                .thenAnswer(invocation -> {
+                    Thread.sleep(5000); // The first request stalls
+                    return upstreamResponse;
+                })
+                .thenReturn(upstreamResponse);
+
+        long start = System.currentTimeMillis();
+        ResponseEntity<Employee> response = employeeService.getEmployeeById("123");
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("Hedged Employee", response.getBody().getEmployee_name());
+        assertTrue(System.currentTimeMillis() - start < 2000);
+        assertEquals(1, employeeService.getHedgeStats().hedgeWins());
+    }
+
+    @Test
+    void getEmployeeById_noConcurrencySlotForHedge_waitsForFirstRequest() {
+        RequestHedger hedger = new RequestHedger("test", 95, 20, 1.0, Executors.newCachedThreadPool());
+        for (int i = 0; i < 20; i++) {
+            hedger.recordLatency(5); // Hedge anything slower than 20ms
+        }
+        employeeService.setRequestHedger(hedger);
+        employeeService.setUpstreamMaxConcurrency(1); // Held by the first request
+        Employee employee = new Employee("123", "Unhedged Employee", 1000, 30, "title", "email");
+        when(restTemplate.exchange(
+                        contains("123"),
+                        any(HttpMethod.class),
+                        any(),
+                        ArgumentMatchers.<ParameterizedTypeReference<ApiResponse<Employee>>>any()))
+                .thenAnswer(invocation -> {
+                    Thread.sleep(100);
+                    return new ResponseEntity<>(new ApiResponse<>("success", employee), HttpStatus.OK);
+                });
+
+        ResponseEntity<Employee> response = employeeService.getEmployeeById("123");
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(0, employeeService.getHedgeStats().hedged());
+        verify(restTemplate, times(1))
+                .exchange(
+                        contains("123"),
+                        any(HttpMethod.class),
+                        any(),
+                        ArgumentMatchers.<ParameterizedTypeReference<ApiResponse<Employee>>>any());
+    }
+
+    @Test
+    void getEmployeeIndex_builtOnceThenUpdatedByCreate() {
+        employeeService.setEmployeeIndexMaxAge(60000);
+        List<Employee> roster = List.of(new Employee("1", "Existing Employee", 5000, 30, "title", "email"));
+        when(restTemplate.exchange(
+                        anyString(),
+                        eq(HttpMethod.GET),
+                        isNull(),
+                        ArgumentMatchers.<ParameterizedTypeReference<ApiResponse<List<Employee>>>>any()))
+                .thenReturn(new ResponseEntity<>(new ApiResponse<>("success", roster), HttpStatus.OK));
+        Employee created = new Employee("2", "New Employee", 9000, 25, "title", "email");
+        when(restTemplate.exchange(
+                        anyString(),
+                        eq(HttpMethod.POST),
+                        any(HttpEntity.class),
+                        ArgumentMatchers.<ParameterizedTypeReference<ApiResponse<Employee>>>any()))
+                .thenReturn(new ResponseEntity<>(new ApiResponse<>("success", created), HttpStatus.OK));
+
+        assertEquals(5000, employeeService.getEmployeeIndex().getBody().getHighestSalary());
+        employeeService.createEmployee(new EmployeeInput("New Employee", 9000, 25, "title", "email"));
+
+        assertEquals(9000, employeeService.getEmployeeIndex().getBody().getHighestSalary());
+        verify(restTemplate, times(1))
+                .exchange(
+                        anyString(),
+                        eq(HttpMethod.GET),
+                        isNull(),
+                        ArgumentMatchers.<ParameterizedTypeReference<ApiResponse<List<Employee>>>>any());
+    }
 }
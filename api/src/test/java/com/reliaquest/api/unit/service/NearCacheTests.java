@@ -0,0 +1,116 @@
+package com.reliaquest.api.unit.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.api.service.NearCache;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+public class NearCacheTests {
+    private final AtomicLong clock = new AtomicLong(1000);
+
+    @Test
+    void get_returnsValueUntilTtlExpires() {
+        NearCache<String, String> cache = new NearCache<>(100, 50, clock::get);
+        cache.put("employees", "value", 10);
+
+        assertEquals("value", cache.get("employees"));
+        clock.addAndGet(50);
+        assertNull(cache.get("employees"));
+        assertEquals(0, cache.getStats().weight());
+    }
+
+    @Test
+    void put_evictsLeastRecentlyUsedWhenOverWeight() {
+        NearCache<String, String> cache = new NearCache<>(30, 1000, clock::get);
+        cache.put("a", "A", 10);
+        cache.put("b", "B", 10);
+        cache.put("c", "C", 10);
+        cache.get("a"); // "b" is now the least recently used entry
+
+        cache.put("d", "D", 10);
+
+        assertEquals("A", cache.get("a"));
+        assertNull(cache.get("b"));
+        assertEquals("C", cache.get("c"));
+        assertEquals("D", cache.get("d"));
+        assertEquals(1, cache.getStats().evictions());
+    }
+
+    @Test
+    void put_expiredEntriesAreEvictedBeforeLiveOnes() {
+        NearCache<String, String> cache = new NearCache<>(20, 1000, clock::get);
+        cache.put("live", "L", 10);
+        cache.put("shortLived", "S", 10, 5);
+        cache.get("shortLived");
+        clock.addAndGet(10);
+
+        cache.put("new", "N", 10);
+
+        assertEquals("L", cache.get("live"));
+        assertEquals("N", cache.get("new"));
+        assertEquals(0, cache.getStats().evictions());
+    }
+
+    @Test
+    void put_valueHeavierThanCacheIsNotStoredAndDropsOldCopy() {
+        NearCache<String, String> cache = new NearCache<>(10, 1000, clock::get);
+        cache.put("employees", "small", 5);
+
+        cache.put("employees", "huge", 11);
+
+        assertNull(cache.get("employees"));
+    }
+
+    @Test
+    void invalidate_removesEntry() {
+        NearCache<String, String> cache = new NearCache<>(100, 1000, clock::get);
+        cache.put("employeeById:1", "one", 10);
+
+        cache.invalidate("employeeById:1");
+
+        assertNull(cache.get("employeeById:1"));
+        assertEquals(0, cache.getStats().size());
+    }
+
+    @Test
+    void put_replacingEntryCountsOnlyLatestWeight() {
+        NearCache<String, String> cache = new NearCache<>(30, 1000, clock::get);
+        for (int i = 0; i < 1000; i++) {
+            cache.put("employees", "v" + i, 10);
+        }
+        cache.put("b", "B", 10);
+        cache.put("c", "C", 10);
+
+        assertEquals("v999", cache.get("employees"));
+        assertEquals(new NearCache.Stats(3, 30, 1, 0, 0), cache.getStats());
+    }
+
+    @Test
+    void get_recentlyReadEntrySurvivesLaterPuts() {
+        NearCache<String, String> cache = new NearCache<>(30, 1000, clock::get);
+        cache.put("employees", "roster", 10);
+        for (int i = 0; i < 100; i++) {
+            assertEquals("roster", cache.get("employees"));
+            cache.put("employeeById:" + i, "employee", 10);
+        }
+
+        assertEquals("roster", cache.get("employees"));
+        assertEquals(30, cache.getStats().weight());
+    }
+
+    @Test
+    void invalidateIf_removesOnlyMatchingKeys() {
+        NearCache<String, String> cache = new NearCache<>(100, 1000, clock::get);
+        cache.put("employees", "roster", 10);
+        cache.put("employeeById:1", "one", 10);
+        cache.put("employeeById:2", "two", 10);
+
+        cache.invalidateIf(key -> key.startsWith("employeeById:"));
+
+        assertEquals("roster", cache.get("employees"));
+        assertNull(cache.get("employeeById:1"));
+        assertNull(cache.get("employeeById:2"));
+        assertEquals(10, cache.getStats().weight());
+    }
+}
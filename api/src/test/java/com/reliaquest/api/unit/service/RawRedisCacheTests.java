@@ -0,0 +1,256 @@
+package com.reliaquest.api.unit.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.api.loadtest.FakeRedisServer;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.service.RawRedisCache;
+import com.reliaquest.api.service.RedisCacheSettings;
+import com.reliaquest.api.service.ValueCompressor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+
+/** Runs {@link RawRedisCache} against the in-process {@link FakeRedisServer}, so no real Redis is needed. */
+public class RawRedisCacheTests {
+    private FakeRedisServer redis;
+    private final List<RawRedisCache> caches = new ArrayList<>();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        redis = new FakeRedisServer();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        caches.forEach(RawRedisCache::close);
+        redis.close();
+    }
+
+    private RawRedisCache cache(long nearCacheMaxWeight, boolean asyncEnabled) {
+        RedisCacheSettings settings = new RedisCacheSettings();
+        settings.setNearCacheMaxWeight(nearCacheMaxWeight);
+        settings.setAsyncEnabled(asyncEnabled);
+        RawRedisCache cache = new RawRedisCache("localhost", redis.getPort(), settings, registry);
+        caches.add(cache);
+        return cache;
+    }
+
+    private List<Employee> roster(int size) {
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            employees.add(new Employee("id-" + i, "Employee " + i, 1000 + i, 30, "Engineer", i + "@company.com"));
+        }
+        return employees;
+    }
+
+    @Test
+    void addEmployeesToCache_roundTripsThroughRedisCompressed() {
+        RawRedisCache cache = cache(0, false);
+        List<Employee> employees = roster(2000);
+
+        cache.addEmployeesToCache(ResponseEntity.ok(employees));
+
+        assertTrue(ValueCompressor.isCompressed(redis.get("employees")));
+        assertEquals(1, cache.getCompressionStats().compressed());
+        assertEquals(employees, cache.getEmployeesFromCache().getBody());
+        assertEquals(employees.get(1234), cache.getEmployeeFromCache("id-1234"));
+
+        cache.removeEmployeeFromCache("id-1234");
+        cache.removeEmployeesFromCache();
+
+        assertNull(cache.getEmployeeFromCache("id-1234"));
+        assertNull(cache.getEmployeesFromCache());
+    }
+
+    @Test
+    void getEmployeesFromCache_multiMegabyteValue_readsAcrossManySocketReads() {
+        RedisCacheSettings settings = new RedisCacheSettings();
+        settings.setNearCacheMaxWeight(0);
+        settings.setAsyncEnabled(false);
+        settings.setCompressionThresholdBytes(0);
+        RawRedisCache cache = new RawRedisCache("localhost", redis.getPort(), settings, registry);
+        caches.add(cache);
+        List<Employee> employees = roster(100_000);
+
+        cache.addEmployeesToCache(ResponseEntity.ok(employees));
+
+        assertTrue(redis.get("employees").length > 2 * 1024 * 1024, redis.get("employees").length + " bytes");
+        assertEquals(employees, cache.getEmployeesFromCache().getBody());
+        assertEquals(employees.get(99_999), cache.getEmployeeFromCache("id-99999"));
+    }
+
+    @Test
+    void getEmployeesEntryFromCache_jitteredTtl_reportsTheRosterAge() throws InterruptedException {
+        RedisCacheSettings settings = new RedisCacheSettings();
+        settings.setNearCacheMaxWeight(0); // Every read goes to Redis and derives the age from the remaining TTL
+        settings.setEmployeesTtlMs(600_000);
+        settings.setTtlJitterRatio(0.5); // A jittered roster TTL would be off by up to five minutes
+        RawRedisCache cache = new RawRedisCache("localhost", redis.getPort(), settings, registry);
+        caches.add(cache);
+        long softTtlMs = 1000;
+
+        cache.addEmployeesToCache(ResponseEntity.ok(roster(10)));
+        long writtenAt = cache.getEmployeesEntryFromCache().writtenAt();
+        long age = System.currentTimeMillis() - writtenAt;
+        assertTrue(age >= 0 && age < softTtlMs, "Fresh roster aged " + age + " ms");
+
+        Thread.sleep(softTtlMs);
+        writtenAt = cache.getEmployeesEntryFromCache().writtenAt();
+        age = System.currentTimeMillis() - writtenAt;
+        // Millisecond rounding between the client's clock and the PTTL reply allows a little slack
+        assertTrue(age >= softTtlMs - 10 && age < 2 * softTtlMs, "Roster written a second ago aged " + age + " ms");
+    }
+
+    @Test
+    void addEmployeesToCacheAsync_roundTripsThroughEventLoopClient() throws Exception {
+        RawRedisCache cache = cache(0, true);
+        List<Employee> employees = roster(50);
+
+        cache.addEmployeesToCacheAsync(ResponseEntity.ok(employees)).get(5, TimeUnit.SECONDS);
+
+        assertEquals(
+                employees,
+                cache.getEmployeesFromCacheAsync().get(5, TimeUnit.SECONDS).getBody());
+        assertEquals(employees.get(7), cache.getEmployeeFromCacheAsync("id-7").get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void getEmployeesFromCacheAsync_multiMegabyteValue_readsAcrossManySocketReads() throws Exception {
+        RedisCacheSettings settings = new RedisCacheSettings();
+        settings.setNearCacheMaxWeight(0);
+        settings.setAsyncEnabled(true);
+        settings.setCompressionThresholdBytes(0);
+        RawRedisCache cache = new RawRedisCache("localhost", redis.getPort(), settings, registry);
+        caches.add(cache);
+        List<Employee> employees = roster(100_000);
+
+        cache.addEmployeesToCacheAsync(ResponseEntity.ok(employees)).get(10, TimeUnit.SECONDS);
+
+        assertEquals(
+                employees,
+                cache.getEmployeesFromCacheAsync().get(10, TimeUnit.SECONDS).getBody());
+        assertEquals(
+                employees.get(99_999),
+                cache.getEmployeeFromCacheAsync("id-99999").get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void addEmployeesToCache_nearCacheFullOfEmployees_keepsRoster() throws InterruptedException {
+        RawRedisCache cache = cache(128 * 1024, false);
+        awaitSubscribers(1); // Subscribing clears the near cache
+        List<Employee> employees = roster(2000); // About 65 KB for the list, 118 KB for the employees
+
+        cache.addEmployeesToCache(ResponseEntity.ok(employees));
+
+        assertEquals(employees, cache.getEmployeesFromCache().getBody());
+        assertEquals(1, lookups("employees", "near_hit"));
+        assertTrue(cache.getNearCacheStats().evictions() > 0);
+    }
+
+    private double lookups(String family, String result) {
+        return registry.get("employee.cache.lookups")
+                .tags("family", family, "result", result)
+                .counter()
+                .count();
+    }
+
+    @Test
+    void getEmployeeFromCache_countsLookupsAndTimesCommands() throws IOException, InterruptedException {
+        RawRedisCache cache = cache(1024 * 1024, false);
+        awaitSubscribers(1); // Subscribing clears the near cache
+        Employee employee = roster(1).get(0);
+
+        assertNull(cache.getEmployeeFromCache(employee.getId()));
+        cache.addEmployeeToCache(ResponseEntity.ok(employee)); // Also fills the near cache
+        assertEquals(employee, cache.getEmployeeFromCache(employee.getId()));
+        redis.close(); // Nothing cached anywhere for this one, and Redis is gone
+        assertNull(cache.getEmployeeFromCache("id-unknown"));
+
+        assertEquals(1, lookups("employeeById", "miss"));
+        assertEquals(1, lookups("employeeById", "near_hit"));
+        assertEquals(1, lookups("employeeById", "error"));
+        assertEquals(0, lookups("employeeById", "hit"));
+        assertEquals(
+                1,
+                registry.get("redis.commands")
+                        .tags("command", "GET", "client", "pooled")
+                        .timer()
+                        .count());
+    }
+
+    @Test
+    void tryLock_heldUntilUnlockedByItsOwner() {
+        RawRedisCache cache = cache(0, false);
+
+        assertTrue(cache.tryLock("employees", "first", 10000));
+        assertFalse(cache.tryLock("employees", "second", 10000));
+
+        cache.unlock("employees", "second"); // Not the holder, the lock stays
+        assertFalse(cache.tryLock("employees", "second", 10000));
+
+        cache.unlock("employees", "first");
+        assertTrue(cache.tryLock("employees", "second", 10000));
+    }
+
+    @Test
+    void removeEmployeeFromCache_evictsOtherInstancesNearCache() throws InterruptedException {
+        RawRedisCache writer = cache(1024 * 1024, false);
+        RawRedisCache reader = cache(1024 * 1024, false);
+        awaitSubscribers(2);
+        Employee employee = roster(1).get(0);
+        writer.addEmployeeToCache(ResponseEntity.ok(employee));
+        assertEquals(employee, reader.getEmployeeFromCache(employee.getId())); // Now in the reader's near cache
+
+        writer.removeEmployeeFromCache(employee.getId());
+
+        long deadline = System.currentTimeMillis() + 5000;
+        while (reader.getEmployeeFromCache(employee.getId()) != null && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertNull(reader.getEmployeeFromCache(employee.getId()));
+    }
+
+    @Test
+    void addEmployeesToCache_evictsOtherInstancesNearCachedEmployees() throws Exception {
+        RawRedisCache writer = cache(1024 * 1024, true);
+        RawRedisCache reader = cache(1024 * 1024, false);
+        awaitSubscribers(2);
+        List<Employee> employees = roster(3);
+        writer.addEmployeesToCache(ResponseEntity.ok(employees));
+        assertEquals(employees.get(1), reader.getEmployeeFromCache("id-1")); // Now in the reader's near cache
+
+        List<Employee> renamed = roster(3);
+        renamed.set(1, new Employee("id-1", "Renamed", 1001, 30, "Engineer", "1@company.com"));
+        writer.addEmployeesToCache(ResponseEntity.ok(renamed));
+
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!renamed.get(1).equals(reader.getEmployeeFromCache("id-1")) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(renamed.get(1), reader.getEmployeeFromCache("id-1"));
+
+        writer.addEmployeesToCacheAsync(ResponseEntity.ok(employees)).get(5, TimeUnit.SECONDS);
+
+        deadline = System.currentTimeMillis() + 5000;
+        while (!employees.get(1).equals(reader.getEmployeeFromCache("id-1")) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(employees.get(1), reader.getEmployeeFromCache("id-1"));
+    }
+
+    private void awaitSubscribers(int count) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (redis.getSubscriberCount("employee-cache-invalidation") < count
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+}
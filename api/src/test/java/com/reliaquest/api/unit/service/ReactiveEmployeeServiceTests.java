@@ -0,0 +1,177 @@
+package com.reliaquest.api.unit.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeInput;
+import com.reliaquest.api.service.EmployeeIndex;
+import com.reliaquest.api.service.RawRedisCache;
+import com.reliaquest.api.service.ReactiveEmployeeServiceImpl;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public class ReactiveEmployeeServiceTests {
+    private static final String EMPLOYEES_JSON = "{\"status\":\"success\",\"data\":["
+            + "{\"id\":\"1\",\"employee_name\":\"Alice\",\"employee_salary\":1000},"
+            + "{\"id\":\"2\",\"employee_name\":\"Bob\",\"employee_salary\":2000}]}";
+
+    private final AtomicInteger upstreamCalls = new AtomicInteger();
+    private final ReactiveEmployeeServiceImpl employeeService = new ReactiveEmployeeServiceImpl();
+
+    @BeforeEach
+    void setUp() {
+        employeeService.setRetryMaxAttempts(3);
+        employeeService.setApiUrl("http://localhost:8080/api/v1/employees");
+        employeeService.setRetryInitialDelayMS(10);
+    }
+
+    // Answers every upstream request with the given status and JSON body after the given delay
+    private void stubUpstream(HttpStatus status, String json, Duration delay) {
+        employeeService.setWebClient(WebClient.builder()
+                .exchangeFunction(request -> {
+                    upstreamCalls.incrementAndGet();
+                    return Mono.just(ClientResponse.create(status)
+                                    .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                                    .body(json)
+                                    .build())
+                            .delayElement(delay);
+                })
+                .build());
+    }
+
+    @Test
+    void getAllEmployees_success() {
+        stubUpstream(HttpStatus.OK, EMPLOYEES_JSON, Duration.ZERO);
+
+        ResponseEntity<List<Employee>> response =
+                employeeService.getAllEmployees().block();
+
+        assertNotNull(response);
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(2, response.getBody().size());
+        assertEquals("Bob", response.getBody().get(1).getEmployee_name());
+    }
+
+    @Test
+    void getAllEmployees_serverErrorRetriedThenInternalServerError() {
+        stubUpstream(HttpStatus.SERVICE_UNAVAILABLE, "{}", Duration.ZERO);
+
+        ResponseEntity<List<Employee>> response =
+                employeeService.getAllEmployees().block();
+
+        assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, response.getStatusCode());
+        assertEquals(3, upstreamCalls.get());
+    }
+
+    @Test
+    void getEmployeeById_notFoundIsNotRetried() {
+        stubUpstream(HttpStatus.NOT_FOUND, "{}", Duration.ZERO);
+
+        ResponseEntity<Employee> response =
+                employeeService.getEmployeeById("missing").block();
+
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+        assertEquals(1, upstreamCalls.get());
+    }
+
+    @Test
+    void getAllEmployees_concurrentMissesShareOneUpstreamCall() {
+        stubUpstream(HttpStatus.OK, EMPLOYEES_JSON, Duration.ofMillis(200));
+
+        List<ResponseEntity<List<Employee>>> responses = Flux.range(0, 8)
+                .flatMap(i -> employeeService.getAllEmployees())
+                .collectList()
+                .block();
+
+        assertEquals(8, responses.size());
+        responses.forEach(response -> assertEquals(2, response.getBody().size()));
+        assertEquals(1, upstreamCalls.get());
+    }
+
+    @Test
+    void createEmployee_sendsInputAndReturnsCreatedEmployee() {
+        employeeService.setWebClient(WebClient.builder()
+                .exchangeFunction(request -> {
+                    assertEquals(HttpMethod.POST, request.method());
+                    return Mono.just(ClientResponse.create(HttpStatus.OK)
+                            .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                            .body("{\"status\":\"success\",\"data\":{\"id\":\"3\",\"employee_name\":\"Carol\"}}")
+                            .build());
+                })
+                .build());
+
+        ResponseEntity<Employee> response = employeeService
+                .createEmployee(new EmployeeInput("Carol", 3000, 30, "Engineer", "carol@example.com"))
+                .block();
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("3", response.getBody().getId());
+    }
+
+    @Test
+    void getEmployeeIndex_freshIndexAppliesCreatesWithoutRereadingRoster() {
+        employeeService.setEmployeeIndexMaxAge(60_000);
+        employeeService.setWebClient(WebClient.builder()
+                .exchangeFunction(request -> {
+                    upstreamCalls.incrementAndGet();
+                    String json = request.method() == HttpMethod.POST
+                            ? "{\"status\":\"success\",\"data\":"
+                                    + "{\"id\":\"3\",\"employee_name\":\"Carol\",\"employee_salary\":3000}}"
+                            : EMPLOYEES_JSON;
+                    return Mono.just(ClientResponse.create(HttpStatus.OK)
+                            .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                            .body(json)
+                            .build());
+                })
+                .build());
+
+        EmployeeIndex index = employeeService.getEmployeeIndex().block().getBody();
+        assertEquals(2000, index.getHighestSalary());
+
+        employeeService
+                .createEmployee(new EmployeeInput("Carol", 3000, 30, "Engineer", "carol@example.com"))
+                .block();
+        index = employeeService.getEmployeeIndex().block().getBody();
+
+        assertEquals(3000, index.getHighestSalary());
+        assertEquals(List.of("Carol", "Bob", "Alice"), index.getTopEarnerNames(10));
+        assertEquals("3", index.searchByName("carol").get(0).getId());
+        assertEquals(2, upstreamCalls.get()); // The roster once, then the create
+    }
+
+    @Test
+    void getEmployeeById_asyncRedisDisabled_blockingCacheReadRunsOffTheSubscribingThread() {
+        RawRedisCache cache = mock(RawRedisCache.class);
+        AtomicReference<Thread> readOn = new AtomicReference<>();
+        Employee cached = new Employee("1", "Alice", 1000, 30, "title", "email");
+        when(cache.isAsyncEnabled()).thenReturn(false);
+        when(cache.getEmployeeFromCacheAsync("1")).thenAnswer(invocation -> {
+            readOn.set(Thread.currentThread()); // Stands in for the blocking pooled GET
+            return CompletableFuture.completedFuture(cached);
+        });
+        employeeService.setRawRedisCache(cache);
+
+        ResponseEntity<Employee> response = employeeService.getEmployeeById("1").block();
+
+        assertEquals(cached, response.getBody());
+        assertNotSame(Thread.currentThread(), readOn.get());
+        // boundedElastic, or loomBoundedElastic once Reactor runs it on virtual threads
+        assertTrue(
+                readOn.get().getName().contains("oundedElastic"), readOn.get().getName());
+    }
+}
@@ -0,0 +1,146 @@
+package com.reliaquest.api.unit.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.api.service.RequestHedger;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpServerErrorException;
+
+public class RequestHedgerTests {
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    // Hedges after 20ms, every call earns a whole hedge
+    private RequestHedger warmedUpHedger(double budgetRatio) {
+        RequestHedger hedger = new RequestHedger("test", 95, 20, budgetRatio, executor);
+        for (int i = 0; i < 20; i++) {
+            hedger.recordLatency(5);
+        }
+        return hedger;
+    }
+
+    @Test
+    void execute_noHedgeUntilEnoughLatenciesRecorded() throws Exception {
+        RequestHedger hedger = new RequestHedger("test", 95, 20, 1.0, executor);
+        AtomicInteger calls = new AtomicInteger();
+
+        String result = hedger.execute(() -> {
+            calls.incrementAndGet();
+            Thread.sleep(100);
+            return "slow";
+        });
+
+        assertEquals("slow", result);
+        assertEquals(1, calls.get());
+        assertEquals(-1, hedger.getStats().hedgeDelayMs());
+    }
+
+    @Test
+    void execute_slowPrimaryIsHedgedAndCancelled() throws Exception {
+        RequestHedger hedger = warmedUpHedger(1.0);
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch primaryInterrupted = new CountDownLatch(1);
+
+        String result = hedger.execute(() -> {
+            if (calls.incrementAndGet() == 1) {
+                try {
+                    Thread.sleep(5000);
+                } catch (InterruptedException e) {
+                    primaryInterrupted.countDown();
+                    throw e;
+                }
+                return "primary";
+            }
+            return "hedge";
+        });
+
+        assertEquals("hedge", result);
+        assertTrue(primaryInterrupted.await(1, TimeUnit.SECONDS));
+        assertEquals(1, hedger.getStats().hedged());
+        assertEquals(1, hedger.getStats().hedgeWins());
+    }
+
+    @Test
+    void execute_noHedgeWithoutBudget() throws Exception {
+        RequestHedger hedger = warmedUpHedger(0.5); // The first call only earns half a hedge
+        AtomicInteger calls = new AtomicInteger();
+
+        String result = hedger.execute(() -> {
+            calls.incrementAndGet();
+            Thread.sleep(100);
+            return "slow";
+        });
+
+        assertEquals("slow", result);
+        assertEquals(1, calls.get());
+        assertEquals(0, hedger.getStats().hedged());
+    }
+
+    @Test
+    void execute_failsOnlyWhenBothRequestsFail() {
+        RequestHedger hedger = warmedUpHedger(1.0);
+        AtomicInteger calls = new AtomicInteger();
+
+        assertThrows(
+                HttpServerErrorException.class,
+                () -> hedger.execute(() -> {
+                    calls.incrementAndGet();
+                    Thread.sleep(50);
+                    throw new HttpServerErrorException(HttpStatus.BAD_GATEWAY);
+                }));
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void execute_failedCallLatenciesCountTowardsDelay() {
+        RequestHedger hedger = new RequestHedger("test", 95, 1, 0, executor);
+
+        for (int i = 0; i < 20; i++) {
+            assertThrows(
+                    HttpServerErrorException.class,
+                    () -> hedger.execute(() -> {
+                        Thread.sleep(30); // Slow to fail, like a gateway timing out
+                        throw new HttpServerErrorException(HttpStatus.GATEWAY_TIMEOUT);
+                    }));
+        }
+
+        assertTrue(
+                hedger.getStats().hedgeDelayMs() >= 30,
+                String.valueOf(hedger.getStats().hedgeDelayMs()));
+    }
+
+    @Test
+    void execute_hedgeNotAdmitted_waitsForPrimaryAndKeepsBudget() throws Exception {
+        RequestHedger hedger = warmedUpHedger(0.5);
+        AtomicInteger hedges = new AtomicInteger();
+        Callable<String> slow = () -> {
+            Thread.sleep(60);
+            return "primary";
+        };
+        Callable<String> hedge = () -> {
+            hedges.incrementAndGet();
+            return "hedge";
+        };
+
+        assertEquals("primary", hedger.execute(slow, hedge, () -> false));
+        assertEquals("primary", hedger.execute(slow, hedge, () -> false));
+        assertEquals(0, hedges.get());
+        assertEquals(0, hedger.getStats().hedged());
+
+        // The two skipped calls earned a whole hedge between them and spent none of it
+        assertEquals("hedge", hedger.execute(slow, hedge, () -> true));
+        assertEquals(1, hedges.get());
+    }
+}
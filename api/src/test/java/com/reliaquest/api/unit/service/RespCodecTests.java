@@ -0,0 +1,77 @@
+package com.reliaquest.api.unit.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.api.service.RespCodec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+public class RespCodecTests {
+
+    private static ByteBuffer buffer(String resp) {
+        return ByteBuffer.wrap(resp.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void encodeCommand_usesByteLengthsForMultiByteValues() {
+        byte[] encoded = RespCodec.encodeCommand("SET", "key", "Zoë");
+
+        // "Zoë" is 3 chars but 4 UTF-8 bytes
+        assertEquals("*3\r\n$3\r\nSET\r\n$3\r\nkey\r\n$4\r\nZoë\r\n", new String(encoded, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void decode_bulkStringIsBinarySafe() {
+        Object reply = RespCodec.decode(buffer("$7\r\nab\r\ncd\r\n\r\n"));
+
+        assertArrayEquals("ab\r\ncd\r".getBytes(StandardCharsets.UTF_8), (byte[]) reply);
+    }
+
+    @Test
+    void decode_resp2Types() {
+        assertEquals("OK", RespCodec.decode(buffer("+OK\r\n")));
+        assertEquals(3L, RespCodec.decode(buffer(":3\r\n")));
+        assertNull(RespCodec.decode(buffer("$-1\r\n")));
+        assertNull(RespCodec.decode(buffer("*-1\r\n")));
+        assertEquals(new RespCodec.ErrorReply("ERR wrong"), RespCodec.decode(buffer("-ERR wrong\r\n")));
+
+        List<?> array = (List<?>) RespCodec.decode(buffer("*3\r\n$1\r\na\r\n:2\r\n$-1\r\n"));
+        assertEquals(3, array.size());
+        assertEquals("a", RespCodec.asString(array.get(0)));
+        assertEquals(2L, array.get(1));
+        assertNull(array.get(2));
+    }
+
+    @Test
+    void decode_resp3Types() {
+        assertNull(RespCodec.decode(buffer("_\r\n")));
+        assertEquals(true, RespCodec.decode(buffer("#t\r\n")));
+        assertEquals(1.5, RespCodec.decode(buffer(",1.5\r\n")));
+        assertEquals("some", RespCodec.asString(RespCodec.decode(buffer("=8\r\ntxt:some\r\n"))));
+        assertEquals(new RespCodec.ErrorReply("SYNTAX bad"), RespCodec.decode(buffer("!10\r\nSYNTAX bad\r\n")));
+
+        Map<?, ?> map = (Map<?, ?>) RespCodec.decode(buffer("%1\r\n+server\r\n$5\r\nredis\r\n"));
+        assertEquals("redis", RespCodec.asString(map.get("server")));
+    }
+
+    @Test
+    void decode_incompleteReplyLeavesBufferUntouched() {
+        ByteBuffer partial = buffer("*2\r\n$5\r\nhello\r\n$5\r\nwor");
+
+        assertSame(RespCodec.INCOMPLETE, RespCodec.decode(partial));
+        assertEquals(0, partial.position());
+    }
+
+    @Test
+    void decode_pipelinedRepliesInOrder() {
+        ByteBuffer replies = buffer("+OK\r\n$2\r\nhi\r\n:1\r\n");
+
+        assertEquals("OK", RespCodec.decode(replies));
+        assertEquals("hi", RespCodec.asString(RespCodec.decode(replies)));
+        assertEquals(1L, RespCodec.decode(replies));
+        assertSame(RespCodec.INCOMPLETE, RespCodec.decode(replies));
+    }
+}
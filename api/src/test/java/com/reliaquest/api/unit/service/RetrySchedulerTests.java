@@ -0,0 +1,180 @@
+package com.reliaquest.api.unit.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.api.service.RetryScheduler;
+import io.micrometer.tracing.Tracer;
+import io.micrometer.tracing.test.simple.SimpleSpan;
+import io.micrometer.tracing.test.simple.SimpleTracer;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+
+public class RetrySchedulerTests {
+
+    private final RetryScheduler retryScheduler = new RetryScheduler();
+
+    @Test
+    void call_retryableFailures_retriedOnTheCallingThreadUntilSuccess() throws Exception {
+        AtomicInteger attempts = new AtomicInteger();
+        Thread caller = Thread.currentThread();
+        AtomicInteger attemptsOffCaller = new AtomicInteger();
+
+        String result = retryScheduler.call(
+                "test",
+                new RetryScheduler.Policy(3, 10, 0, 0, 0),
+                () -> {
+                    if (Thread.currentThread() != caller) {
+                        attemptsOffCaller.incrementAndGet();
+                    }
+                    if (attempts.incrementAndGet() < 3) {
+                        throw new HttpServerErrorException(HttpStatus.SERVICE_UNAVAILABLE);
+                    }
+                    return "ok";
+                },
+                null);
+
+        assertEquals("ok", result);
+        assertEquals(3, attempts.get());
+        assertEquals(0, attemptsOffCaller.get());
+    }
+
+    @Test
+    void call_maxAttemptsReached_throwsWithLastError() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        RetryScheduler.RetriesExhaustedException e = assertThrows(
+                RetryScheduler.RetriesExhaustedException.class,
+                () -> retryScheduler.call(
+                        "test",
+                        new RetryScheduler.Policy(3, 10, 0, 0.5, 0),
+                        () -> {
+                            attempts.incrementAndGet();
+                            throw new HttpServerErrorException(HttpStatus.INTERNAL_SERVER_ERROR);
+                        },
+                        null));
+
+        assertInstanceOf(HttpServerErrorException.class, e.getCause());
+        assertEquals(3, attempts.get());
+    }
+
+    @Test
+    void call_admissionWaitPastDeadline_throwsWithoutWaiting() {
+        AtomicInteger attempts = new AtomicInteger();
+        long start = System.currentTimeMillis();
+
+        assertThrows(
+                RetryScheduler.RetriesExhaustedException.class,
+                () -> retryScheduler.call(
+                        "test",
+                        new RetryScheduler.Policy(3, 10, 0, 0, 1000),
+                        () -> {
+                            attempts.incrementAndGet();
+                            return "ok";
+                        },
+                        remainingMs -> 5000)); // An admission check that ignores the budget it was given
+
+        assertEquals(0, attempts.get());
+        assertTrue(System.currentTimeMillis() - start < 1000);
+    }
+
+    @Test
+    @SuppressWarnings("try")
+    void call_tracer_spanPerAttemptUnderCallersSpan() throws Exception {
+        SimpleTracer tracer = new SimpleTracer();
+        retryScheduler.setTracer(tracer);
+        AtomicInteger attempts = new AtomicInteger();
+        SimpleSpan request = tracer.nextSpan().name("request").start();
+
+        try (Tracer.SpanInScope ignoredScope = tracer.withSpan(request)) {
+            retryScheduler.call(
+                    "test",
+                    new RetryScheduler.Policy(3, 20, 0, 0, 0),
+                    () -> {
+                        if (attempts.incrementAndGet() < 3) {
+                            throw new HttpServerErrorException(HttpStatus.SERVICE_UNAVAILABLE);
+                        }
+                        return "ok";
+                    },
+                    null);
+        }
+
+        List<SimpleSpan> spans = tracer.getSpans().stream()
+                .filter(span -> span.getName().equals("upstream attempt"))
+                .toList();
+        assertEquals(3, spans.size());
+        for (int i = 0; i < 3; i++) {
+            SimpleSpan span = spans.get(i);
+            assertEquals(request.getSpanId(), span.getParentId());
+            assertEquals(String.valueOf(i + 1), span.getTags().get("retry.attempt"));
+            assertEquals(i < 2, span.getError() != null);
+        }
+        assertEquals("0", spans.get(0).getTags().get("retry.waited.ms"));
+        assertEquals("20", spans.get(1).getTags().get("retry.waited.ms"));
+        assertEquals("40", spans.get(2).getTags().get("retry.waited.ms"));
+    }
+
+    @Test
+    void call_nonRetryableFailure_throwsWithoutRetry() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThrows(
+                IllegalStateException.class,
+                () -> retryScheduler.call(
+                        "test",
+                        new RetryScheduler.Policy(3, 10, 0, 0, 0),
+                        () -> {
+                            attempts.incrementAndGet();
+                            throw new IllegalStateException("broken");
+                        },
+                        null));
+
+        assertEquals(1, attempts.get());
+    }
+
+    @Test
+    void call_nextDelayPastDeadline_givesUpWithoutWaiting() {
+        AtomicInteger attempts = new AtomicInteger();
+        long start = System.currentTimeMillis();
+
+        assertThrows(
+                RetryScheduler.RetriesExhaustedException.class,
+                () -> retryScheduler.call(
+                        "test",
+                        new RetryScheduler.Policy(10, 5000, 0, 0, 1000),
+                        () -> {
+                            attempts.incrementAndGet();
+                            throw new HttpServerErrorException(HttpStatus.INTERNAL_SERVER_ERROR);
+                        },
+                        null));
+
+        assertEquals(1, attempts.get());
+        assertTrue(System.currentTimeMillis() - start < 1000);
+    }
+
+    @Test
+    void call_retryAfterHeader_stretchesDelayBeyondBackoff() {
+        AtomicInteger attempts = new AtomicInteger();
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, "5");
+
+        // A 10ms backoff fits the 1s deadline, but the 5s the upstream asked for doesn't
+        assertThrows(
+                RetryScheduler.RetriesExhaustedException.class,
+                () -> retryScheduler.call(
+                        "test",
+                        new RetryScheduler.Policy(3, 10, 0, 0, 1000),
+                        () -> {
+                            attempts.incrementAndGet();
+                            throw HttpClientErrorException.TooManyRequests.create(
+                                    HttpStatus.TOO_MANY_REQUESTS, "Too Many Requests", headers, null, null);
+                        },
+                        null));
+
+        assertEquals(1, attempts.get());
+    }
+}
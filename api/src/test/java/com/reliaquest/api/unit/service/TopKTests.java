@@ -0,0 +1,99 @@
+package com.reliaquest.api.unit.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.api.service.TopK;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+public class TopKTests {
+    private static final Comparator<Integer> DESCENDING = Comparator.reverseOrder();
+
+    // Salary and a unique id, like a ranked employee
+    private record Item(int salary, int id) {}
+
+    private static final Comparator<Item> BY_SALARY_THEN_ID =
+            Comparator.comparingInt(Item::salary).reversed().thenComparingInt(Item::id);
+
+    @Test
+    void select_returnsBestFirst() {
+        assertEquals(List.of(9, 7, 5), TopK.select(List.of(5, 1, 9, 3, 7), 3, DESCENDING));
+        assertEquals(List.of(9, 5, 1), TopK.select(List.of(5, 1, 9), 10, DESCENDING));
+        assertTrue(TopK.select(List.of(5, 1, 9), 0, DESCENDING).isEmpty());
+    }
+
+    @Test
+    void select_matchesStableSortWithTies() {
+        Random random = new Random(7);
+        for (int round = 0; round < 200; round++) {
+            List<Item> items = new ArrayList<>();
+            for (int i = 0; i < random.nextInt(50); i++) {
+                items.add(new Item(random.nextInt(5), i)); // Few salaries, many ties
+            }
+            Comparator<Item> bySalary = Comparator.comparingInt(Item::salary).reversed();
+            int k = random.nextInt(12);
+
+            assertEquals(
+                    items.stream().sorted(bySalary).limit(k).toList(),
+                    TopK.select(items, k, bySalary),
+                    "items " + items + ", k " + k);
+        }
+    }
+
+    @Test
+    void offer_keepsOnlyBestK() {
+        TopK<Integer> top = new TopK<>(2, DESCENDING);
+        top.offer(5);
+        top.offer(9);
+        top.offer(1);
+        top.offer(7);
+
+        assertEquals(List.of(9, 7), top.top(10));
+        assertEquals(9, top.first());
+    }
+
+    @Test
+    void remove_member_refillsFromRemaining() {
+        List<Integer> all = new ArrayList<>(List.of(5, 1, 9, 3, 7));
+        TopK<Integer> top = new TopK<>(2, DESCENDING);
+        top.rebuild(all);
+
+        all.remove(Integer.valueOf(3));
+        top.remove(3, all); // Not in the top, nothing to refill
+        assertEquals(List.of(9, 7), top.top(2));
+
+        all.remove(Integer.valueOf(9));
+        top.remove(9, all);
+        assertEquals(List.of(7, 5), top.top(2));
+
+        all.clear();
+        top.remove(7, all);
+        top.remove(5, all);
+        assertNull(top.first());
+    }
+
+    @Test
+    void randomUpdates_matchFullSort() {
+        Random random = new Random(11);
+        List<Item> all = new ArrayList<>();
+        TopK<Item> top = new TopK<>(5, BY_SALARY_THEN_ID);
+        int nextId = 0;
+        for (int step = 0; step < 2000; step++) {
+            if (all.isEmpty() || random.nextInt(3) > 0) {
+                Item item = new Item(random.nextInt(20), nextId++);
+                all.add(item);
+                top.offer(item);
+            } else {
+                // Bias removals towards the current top to exercise refills
+                Item item = random.nextBoolean() ? all.remove(random.nextInt(all.size())) : top.first();
+                all.remove(item);
+                top.remove(item, all);
+            }
+
+            assertEquals(all.stream().sorted(BY_SALARY_THEN_ID).limit(5).toList(), top.top(5), "step " + step);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.reliaquest.api.unit.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.api.service.TrigramIndex;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+public class TrigramIndexTests {
+    private final TrigramIndex index = new TrigramIndex();
+
+    // What the controller used to do: a case-insensitive contains over every name
+    private static List<String> scan(Map<String, String> names, String query) {
+        List<String> matches = new ArrayList<>();
+        names.forEach((id, name) -> {
+            if (name.toLowerCase().contains(query.toLowerCase())) {
+                matches.add(id);
+            }
+        });
+        return matches;
+    }
+
+    @Test
+    void search_matchesSubstringsIgnoringCase() {
+        index.put("1", "Alice Smith");
+        index.put("2", "Bob Smithers");
+        index.put("3", "Carol Jones");
+
+        assertEquals(List.of("1", "2"), index.search("SMITH"));
+        assertEquals(List.of("2"), index.search("thers"));
+        assertEquals(List.of("1", "3"), index.search("c")); // Shorter than a trigram
+        assertEquals(List.of("1", "2", "3"), index.search(""));
+        assertTrue(index.search("smyth").isEmpty());
+    }
+
+    @Test
+    void search_trigramsPresentButNotASubstringIsNoMatch() {
+        index.put("1", "abcab");
+
+        assertTrue(index.search("bcabc").isEmpty()); // Every trigram of the query is in the name
+        assertEquals(List.of("1"), index.search("bcab"));
+    }
+
+    @Test
+    void put_replaceAndRemoveUpdatePostings() {
+        index.put("1", "Alice Smith");
+        index.put("2", "Bob Jones");
+        index.put("1", "Alice Jones"); // Renamed, keeps its place
+
+        assertEquals(List.of("1", "2"), index.search("jones"));
+        assertTrue(index.search("smith").isEmpty());
+
+        index.remove("1");
+        assertEquals(List.of("2"), index.search("jones"));
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    void search_sameResultsAsLinearScan() {
+        Random random = new Random(42);
+        String alphabet = "abcdeABCDE İı";
+        Map<String, String> names = new LinkedHashMap<>();
+        for (int i = 0; i < 2000; i++) {
+            StringBuilder name = new StringBuilder();
+            for (int length = 3 + random.nextInt(10); length > 0; length--) {
+                name.append(alphabet.charAt(random.nextInt(alphabet.length())));
+            }
+            names.put(String.valueOf(i), name.toString());
+            index.put(String.valueOf(i), name.toString());
+        }
+        for (int i = 0; i < 500; i += 3) { // Churn like creates and deletes
+            names.remove(String.valueOf(i));
+            index.remove(String.valueOf(i));
+        }
+
+        for (int i = 0; i < 500; i++) {
+            String name = new ArrayList<>(names.values()).get(random.nextInt(names.size()));
+            int start = random.nextInt(name.length());
+            String query = name.substring(start, Math.min(name.length(), start + 1 + random.nextInt(5)));
+            assertEquals(scan(names, query), index.search(query), "query '" + query + "'");
+        }
+    }
+}
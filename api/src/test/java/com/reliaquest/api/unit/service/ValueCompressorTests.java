@@ -0,0 +1,77 @@
+package com.reliaquest.api.unit.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.service.BinaryCacheCodec;
+import com.reliaquest.api.service.ValueCompressor;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+public class ValueCompressorTests {
+    private final ValueCompressor compressor = new ValueCompressor(1024, 1);
+
+    private byte[] roster(int size) {
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            employees.add(
+                    new Employee(String.valueOf(i), "Employee " + i, 1000 + i, 30, "Engineer", i + "@company.com"));
+        }
+        return new BinaryCacheCodec().encodeEmployees(employees);
+    }
+
+    @Test
+    void compress_largeValueRoundTrips() throws IOException {
+        byte[] value = roster(500);
+
+        byte[] stored = compressor.compress(value);
+
+        assertTrue(ValueCompressor.isCompressed(stored));
+        assertTrue(stored.length < value.length / 2, stored.length + " vs " + value.length + " bytes");
+        assertArrayEquals(value, compressor.decompress(stored));
+        ValueCompressor.Stats stats = compressor.getStats();
+        assertEquals(1, stats.compressed());
+        assertEquals(1, stats.decompressed());
+        assertEquals(value.length - stored.length, stats.bytesSaved());
+    }
+
+    @Test
+    void compress_smallOrIncompressibleValuesStayPlain() throws IOException {
+        byte[] small = roster(2);
+        byte[] random = new byte[4096];
+        new Random(7).nextBytes(random);
+        random[0] = 0; // Not mistaken for a compressed value
+
+        assertSame(small, compressor.compress(small));
+        assertSame(random, compressor.compress(random));
+        assertSame(small, compressor.decompress(small)); // Plain values pass through
+        assertEquals(1, compressor.getStats().storedPlain());
+        assertEquals(0, compressor.getStats().compressed());
+    }
+
+    @Test
+    void compress_disabledStillReadsCompressedValues() throws IOException {
+        ValueCompressor disabled = new ValueCompressor(0, 1);
+        byte[] value = roster(500);
+
+        assertSame(value, disabled.compress(value));
+        assertArrayEquals(value, disabled.decompress(compressor.compress(value)));
+    }
+
+    @Test
+    void decompress_rejectsCorruptValues() {
+        byte[] stored = compressor.compress(roster(500));
+
+        assertThrows(IOException.class, () -> compressor.decompress(Arrays.copyOf(stored, stored.length / 2)));
+        byte[] wrongLength = stored.clone();
+        wrongLength[4]++;
+        assertThrows(IOException.class, () -> compressor.decompress(wrongLength));
+        byte[] garbage = stored.clone();
+        Arrays.fill(garbage, 5, garbage.length, (byte) 0x55);
+        assertThrows(IOException.class, () -> compressor.decompress(garbage));
+    }
+}